@@ -42,6 +42,20 @@ const Calendar = () => {
     return <EventCard eventInfo={eventInfo} />;
   };
 
+  React.useEffect(() => {
+    if (!calendarId) return;
+    return calendarsApi.subscribeToAvailability(
+      calendarId,
+      (delta) => {
+        calendarRef.current
+          ?.getApi()
+          .getEventById(delta.eventId)
+          ?.setExtendedProp("spacesAvailable", delta.spacesAvailable);
+      },
+      () => calendarRef.current?.getApi().refetchEvents()
+    );
+  }, [calendarId]);
+
   React.useEffect(() => {
     window.addEventListener("resize", handleResize);
     return () => {
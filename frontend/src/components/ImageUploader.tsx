@@ -1,9 +1,11 @@
 import React, { useState } from "react";
 import { ControllerRenderProps } from "react-hook-form";
 import { NewCalendar } from "../models/calendar";
+import calendarsApi from "../service/calendarsApi";
 
 type ImageUploaderProps = {
   field: ControllerRenderProps<NewCalendar, "thumbnail">;
+  // url of the current thumbnail
   defaultImage: string | undefined;
 };
 
@@ -50,11 +52,7 @@ const ImageUploader = (props: ImageUploaderProps) => {
         />
       ) : (
         <img
-          src={
-            props.defaultImage
-              ? "data:image/png;base64, " + props.defaultImage
-              : "/calendar-default.jpg"
-          }
+          src={calendarsApi.thumbnailSrc(props.defaultImage)}
           alt="Placeholder"
           style={{ width: "100%", maxHeight: "300px", cursor: "pointer" }}
           onClick={openFileSelector}
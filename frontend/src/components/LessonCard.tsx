@@ -7,6 +7,7 @@ import Button from "@mui/joy/Button";
 import CardActions from "@mui/joy/CardActions";
 import { Calendar } from "../models/calendar";
 import { Link } from "react-router-dom";
+import calendarsApi from "../service/calendarsApi";
 import LocationOnIcon from "@mui/icons-material/LocationOn";
 
 type LessonCardProps = {
@@ -19,11 +20,7 @@ export default function LessonCard(props: LessonCardProps) {
       <CardOverflow>
         <AspectRatio ratio="2">
           <img
-            src={
-              props.lesson.thumbnail
-                ? "data:image/png;base64, " + props.lesson.thumbnail
-                : "/calendar-default.jpg"
-            }
+            src={calendarsApi.thumbnailSrc(props.lesson.thumbnailUrl)}
             // srcSet="https://images.unsplash.com/photo-1532614338840-ab30cf10ed36?auto=format&fit=crop&w=318&dpr=2 2x"
             loading="lazy"
             alt=""
@@ -178,7 +178,8 @@ export default function CalendarsTable() {
                                 id: row.id,
                                 name: row.name,
                                 locationId: row.location.id,
-                                thumbnail: row.thumbnail,
+                                thumbnail: "",
+                                thumbnailUrl: row.thumbnailUrl,
                               },
                             })
                           }
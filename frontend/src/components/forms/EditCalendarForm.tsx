@@ -36,7 +36,7 @@ const EditCalendarForm = (props: LessonFromProps) => {
     defaultValues: {
       id: props.calendar.id,
       name: props.calendar.name,
-      thumbnail: props.calendar.thumbnail,
+      thumbnail: "",
       locationId: props.calendar.locationId,
     },
   });
@@ -138,11 +138,11 @@ const EditCalendarForm = (props: LessonFromProps) => {
           <Controller
             name="thumbnail" // Name should match your form data field
             control={control}
-            defaultValue={props.calendar.thumbnail}
+            defaultValue=""
             render={({ field }) => (
               <ImageUploader
                 field={{ ...field }}
-                defaultImage={props.calendar.thumbnail}
+                defaultImage={props.calendar.thumbnailUrl}
               />
             )}
           />
@@ -8,13 +8,15 @@ export type NewCalendar = {
 
 export type UpdateCalendarRequest = NewCalendar & {
   id: string;
+  thumbnailUrl?: string;
 };
 
-export type Calendar = NewCalendar & {
+export type Calendar = Omit<NewCalendar, "thumbnail"> & {
   id: string;
   location: Location;
   minTime: string;
   maxTime: string;
+  thumbnailUrl?: string;
 };
 
 export type Location = {
@@ -21,7 +21,8 @@ const update = async (calendar: UpdateCalendarRequest): Promise<Calendar> => {
     {
       name: calendar.name,
       locationId: calendar.locationId,
-      thumbnail: calendar.thumbnail,
+      // an empty thumbnail keeps the current one
+      thumbnail: calendar.thumbnail || undefined,
     }
   );
   return response.data;
@@ -66,6 +67,35 @@ const deleteCalendar = async (calendarId: string): Promise<Calendar> => {
   return response.data;
 };
 
+const thumbnailSrc = (thumbnailUrl: string | undefined): string =>
+  thumbnailUrl
+    ? new URL(thumbnailUrl, axiosInstance.defaults.baseURL).toString()
+    : "/calendar-default.jpg";
+
+type AvailabilityDelta = {
+  eventId: string;
+  spacesAvailable: number;
+};
+
+// pushes changes of spaces available of the calendar, resync asks for loading the calendar again
+const subscribeToAvailability = (
+  calendarId: string,
+  onAvailability: (delta: AvailabilityDelta) => void,
+  onResync: () => void
+): (() => void) => {
+  const source = new EventSource(
+    new URL(
+      `/api/v1/calendars/${calendarId}/stream`,
+      axiosInstance.defaults.baseURL
+    ).toString()
+  );
+  source.addEventListener("availability", (event) =>
+    onAvailability(JSON.parse((event as MessageEvent).data))
+  );
+  source.addEventListener("resync", onResync);
+  return () => source.close();
+};
+
 const getAll = async (params: URLSearchParams): Promise<Page<Calendar>> => {
   import.meta.env.DEBUG && console.log(params.get("name"));
   const response = await axiosInstance.get("/api/v1/calendars", { params });
@@ -81,4 +111,6 @@ export default {
   createEvent,
   createReservation,
   deleteCalendar,
+  thumbnailSrc,
+  subscribeToAvailability,
 };
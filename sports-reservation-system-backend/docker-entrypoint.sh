@@ -0,0 +1,10 @@
+#!/bin/sh
+# Starts the backend in the startup mode the image was built with, see Dockerfile
+set -e
+case "$STARTUP_MODE" in
+  aot) STARTUP_OPTS="-Dspring.aot.enabled=true" ;;
+  cds) STARTUP_OPTS="-XX:SharedArchiveFile=app.jsa" ;;
+  *) STARTUP_OPTS="" ;;
+esac
+exec java $STARTUP_OPTS $JAVA_OPTS -Dspring.profiles.active=production \
+    -cp "BOOT-INF/classes:BOOT-INF/lib/*" com.example.sportsreservationsystembackend.Application "$@"
@@ -0,0 +1,133 @@
+package com.example.sportsreservationsystembackend;
+
+import com.example.sportsreservationsystembackend.service.config.DataGeneratorConfig;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * This class runs the application for benchmarks of services and load tests, against an in-memory H2 database
+ * migrated by Flyway and filled by the data generator of profile datagen. Benchmarks size the data by datagen.* properties,
+ * the defaults below generate uniformly busy calendars with events from today on and no refresh tokens.
+ * Emails are built but not sent and logging is reduced to warnings, so neither the mail server nor log output is measured.
+ *
+ * @Author Radim Stejskal
+ */
+public final class BenchmarkContext implements AutoCloseable {
+
+    public static final int BALANCE = 1_000_000_000;
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * This method starts the application with generated data
+     * @param properties additional properties in key=value form, datagen.* properties size the generated data
+     * @return running context
+     */
+    public static BenchmarkContext start(String... properties) {
+        List<String> configuration = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.profiles.active=datagen",
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "datagen.users=1",
+                "datagen.calendars=1",
+                "datagen.past-days=0",
+                "datagen.future-days=1",
+                "datagen.max-events-per-day=1",
+                "datagen.hot-calendar-skew=0",
+                "datagen.fill-ratio=0",
+                "datagen.max-refresh-tokens-per-user=0",
+                "logging.level.root=WARN"));
+        configuration.addAll(List.of(properties));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .properties(configuration.toArray(String[]::new))
+                .initializers(applicationContext -> ((GenericApplicationContext) applicationContext)
+                        .registerBean(JavaMailSender.class, NoopMailSender::new))
+                .run();
+        return new BenchmarkContext(context);
+    }
+
+    /**
+     * This method removes generated reservations and payments, sets capacity of all events and gives every user
+     * a balance no benchmark can spend, so every reservation is decided by the capacity of its event only
+     * @param capacity maximum capacity of every event
+     */
+    public void openBooking(int capacity) {
+        JdbcTemplate jdbcTemplate = getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM balance_transaction");
+        jdbcTemplate.update("DELETE FROM reservation");
+        jdbcTemplate.update("UPDATE event SET reserved_count = 0, maximum_capacity = ?", capacity);
+        jdbcTemplate.update("UPDATE app_user SET balance = ?", BALANCE);
+    }
+
+    /**
+     * This method returns generated events starting tomorrow or later, so none of them is already in the past
+     * @return events ordered by date, start time and id
+     */
+    public List<GeneratedEvent> getFutureEvents() {
+        return getBean(JdbcTemplate.class).query("SELECT id, calendar_id, date FROM event WHERE date > ? ORDER BY date, start_time, id",
+                (row, i) -> new GeneratedEvent(row.getString("calendar_id"), row.getString("id"), row.getDate("date").toLocalDate()),
+                LocalDate.now());
+    }
+
+    public List<String> getUserEmails() {
+        return getBean(JdbcTemplate.class).queryForList("SELECT email FROM app_user ORDER BY email", String.class);
+    }
+
+    public List<String> getCalendarIds() {
+        return getBean(JdbcTemplate.class).queryForList("SELECT id FROM calendar ORDER BY id", String.class);
+    }
+
+    /**
+     * This method returns the first day after the generated events, later days are free for new events
+     * @return first free day
+     */
+    public LocalDate getFirstFreeDay() {
+        return LocalDate.now().plusDays(getBean(DataGeneratorConfig.class).getFutureDays());
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int getPort() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    public record GeneratedEvent(String calendarId, String eventId, LocalDate date) {
+    }
+
+    /**
+     * Mail sender which drops all messages
+     */
+    private static final class NoopMailSender extends JavaMailSenderImpl {
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            // messages are built by the services, sending them is not part of the benchmarks
+        }
+    }
+}
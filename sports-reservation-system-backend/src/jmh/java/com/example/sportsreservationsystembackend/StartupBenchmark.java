@@ -0,0 +1,96 @@
+package com.example.sportsreservationsystembackend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures time from start of the application to the first successful response of /actuator/health.
+ * Cold start recreates the schema and replays the seed scripts, warm start reuses the schema seeded by the previous start.
+ * It runs against the database configured in application.yaml, other database can be set by
+ * system property spring.datasource.url in jmh jvmArgs.
+ *
+ * @Author Radim Stejskal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+
+    private static final Duration HEALTH_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"cold", "warm"})
+    private String start;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        // the first warm start needs a seeded schema
+        startToHealthy();
+        stop();
+    }
+
+    @Benchmark
+    public int startToHealthy() throws Exception {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(Application.class)
+                .properties("server.port=0", "spring.jpa.properties.hibernate.format_sql=false");
+        if ("warm".equals(start)) {
+            application.profiles("warm-start");
+        } else {
+            application.properties("database.recreate-schema=true", "database.skip-seeded-schema=false");
+        }
+        context = application.run();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return awaitHealthy(URI.create("http://localhost:" + port + "/actuator/health"));
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    private int awaitHealthy(URI health) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(1)).GET().build();
+        long deadline = System.nanoTime() + HEALTH_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return response.statusCode();
+                }
+            } catch (IOException e) {
+                // the server is not accepting connections yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IOException("Application did not become healthy within " + HEALTH_TIMEOUT);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.sportsreservationsystembackend.rest.mapper;
+
+import com.example.sportsreservationsystembackend.model.Event;
+import com.xstejsk.reservationapp.main.rest.model.EventDTO;
+import com.xstejsk.reservationapp.main.rest.model.EventsPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark compares the original reflective page mapping with the explicit page mapper,
+ * run with the gc profiler to see allocations per operation
+ *
+ * @Author Radim Stejskal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PageMapperBenchmark {
+
+    @Param({"1000"})
+    private int pageSize;
+
+    private final EventsMapper eventsMapper = new EventsMapperImpl();
+    private final PageMapper pageMapper = new PageMapper(null, eventsMapper, null, null);
+
+    private Page<Event> page;
+
+    @Setup
+    public void setUp() {
+        List<Event> events = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Event event = new Event();
+            event.setId(UUID.randomUUID().toString());
+            event.setTitle("Tenis - začátečníci");
+            event.setDescription("Lekce pro začátečníky");
+            event.setDate(LocalDate.of(2024, 1, 1).plusDays(i / 10));
+            event.setStartTime(LocalTime.of(8 + i % 10, 0));
+            event.setEndTime(LocalTime.of(9 + i % 10, 0));
+            event.setMaximumCapacity(8);
+            event.setPrice(250);
+            events.add(event);
+        }
+        page = new PageImpl<>(events, PageRequest.of(3, pageSize), 50_000);
+    }
+
+    @Benchmark
+    public EventsPage reflectiveMapper() {
+        EventsPage eventsPage = createDtoPage(page, EventsPage.class);
+        setContent(eventsPage, page.getContent().stream().map(eventsMapper::eventToEventDTO).toList());
+        return eventsPage;
+    }
+
+    @Benchmark
+    public EventsPage explicitMapper() {
+        return pageMapper.toEventsPage(page);
+    }
+
+    @Benchmark
+    public List<EventDTO> contentOnly() {
+        return page.getContent().stream().map(eventsMapper::eventToEventDTO).toList();
+    }
+
+    // copy of the reflective implementation replaced in PageMapper, kept as baseline
+    private static <T> T createDtoPage(Page<?> page, Class<T> dtoPageClass) {
+        T dtoPage;
+        try {
+            dtoPage = dtoPageClass.newInstance();
+            BeanUtils.copyProperties(page, dtoPage);
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException("Error creating DTO page instance", e);
+        }
+        return dtoPage;
+    }
+
+    private static <T> void setContent(Object dtoPage, List<T> content) {
+        try {
+            Method setContentMethod = dtoPage.getClass().getMethod("setContent", List.class);
+            setContentMethod.invoke(dtoPage, content);
+        } catch (Exception e) {
+            throw new RuntimeException("Error setting 'records' property", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.sportsreservationsystembackend.service;
+
+import com.example.sportsreservationsystembackend.BenchmarkContext;
+import com.xstejsk.reservationapp.main.rest.model.CreateEventRequest;
+import com.xstejsk.reservationapp.main.rest.model.EventDTO;
+import com.xstejsk.reservationapp.main.rest.model.Recurrence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This benchmark measures creation of an event repeated on three days of week, with stored occurrences
+ * and with virtual occurrences. Every invocation creates its series in weeks after the previous one,
+ * so series never overlap and the overlap check runs against a calendar growing with the benchmark.
+ *
+ * @Author Radim Stejskal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventBenchmark {
+
+    private static final List<Integer> DAYS_OF_WEEK = List.of(1, 3, 5);
+
+    @Param({"12"})
+    private int weeks;
+
+    @Param({"false", "true"})
+    private boolean virtualOccurrences;
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private BenchmarkContext context;
+    private EventService eventService;
+    private List<String> calendarIds;
+    private LocalDate firstFreeDay;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start("datagen.users=10", "datagen.calendars=4", "datagen.future-days=61",
+                "datagen.max-events-per-day=8", "events.recurrence.virtual-occurrences=" + virtualOccurrences);
+        eventService = context.getBean(EventService.class);
+        calendarIds = context.getCalendarIds();
+        firstFreeDay = context.getFirstFreeDay();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EventDTO> createWeeklyEvent() {
+        int invocation = invocations.getAndIncrement();
+        String calendarId = calendarIds.get(invocation % calendarIds.size());
+        LocalDate from = firstFreeDay.plusWeeks((long) invocation / calendarIds.size() * weeks);
+        return eventService.createEvent(calendarId, request(from, from.plusWeeks(weeks)));
+    }
+
+    private static CreateEventRequest request(LocalDate from, LocalDate until) {
+        Recurrence recurrence = new Recurrence();
+        recurrence.setDaysOfWeek(DAYS_OF_WEEK);
+        recurrence.setRepeatUntil(until.toString());
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle("Tenis");
+        request.setDate(from.toString());
+        request.setStartTime("18:00");
+        request.setEndTime("19:00");
+        request.setPrice(200);
+        request.setMaximumCapacity(8);
+        request.setRecurrence(recurrence);
+        return request;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.sportsreservationsystembackend.service;
+
+import com.example.sportsreservationsystembackend.BenchmarkContext;
+import com.xstejsk.reservationapp.main.rest.model.ReservationDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This benchmark measures creation of a reservation, including the capacity update, balance ledger entry
+ * and queued confirmation email. Every invocation reserves a different pair of generated user and future event,
+ * users take turns so each event fills up before the next one is used.
+ *
+ * @Author Radim Stejskal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReservationBenchmark {
+
+    @Param({"200"})
+    private int users;
+
+    @Param({"10"})
+    private int calendars;
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private BenchmarkContext context;
+    private ReservationService reservationService;
+    private List<BenchmarkContext.GeneratedEvent> events;
+    private List<String> userEmails;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start("datagen.users=" + users, "datagen.calendars=" + calendars,
+                "datagen.future-days=61", "datagen.max-events-per-day=8");
+        context.openBooking(users);
+        reservationService = context.getBean(ReservationService.class);
+        events = context.getFutureEvents();
+        userEmails = context.getUserEmails();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public ReservationDTO create() {
+        int invocation = invocations.getAndIncrement();
+        BenchmarkContext.GeneratedEvent event = events.get(invocation / users % events.size());
+        String email = userEmails.get(invocation % users);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+        return reservationService.create(event.calendarId(), event.eventId());
+    }
+}
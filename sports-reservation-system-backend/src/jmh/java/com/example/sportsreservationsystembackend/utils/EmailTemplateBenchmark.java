@@ -0,0 +1,73 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import io.micrometer.core.instrument.util.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark compares rendering of email templates by re-reading the template and running
+ * sequential replaces with rendering of a template parsed once at startup
+ *
+ * @Author Radim Stejskal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmailTemplateBenchmark {
+
+    @Param({
+            "templates/RegistrationEmailTemplate.html",
+            "templates/ReservationConfirmationTemplate.html",
+            "templates/ReservationDeletionTemplate.html",
+            "templates/ResetPasswordTemplate.html"
+    })
+    private String path;
+
+    private EmailFormatter emailFormatter;
+    private String body;
+    private EmailTemplate template;
+
+    @Setup
+    public void setUp() {
+        emailFormatter = new EmailFormatter.Builder()
+                .recipientName("Radime")
+                .link("http://localhost:5173/registration-confirmation?token=6f1c2a53-7d4e-4c5b-9a0e-3b8f2d1e4c7a")
+                .linkExpiration("30")
+                .password("n3wPassw0rd")
+                .eventName("Tenis - začátečníci")
+                .eventDate("2024-05-14")
+                .eventTime("18:00")
+                .locationName("Tenisová hala")
+                .build();
+        body = read(path);
+        template = EmailTemplate.compile(body);
+    }
+
+    @Benchmark
+    public String currentPath() {
+        return emailFormatter.formatEmail(read(path));
+    }
+
+    @Benchmark
+    public String sequentialReplace() {
+        return emailFormatter.formatEmail(body);
+    }
+
+    @Benchmark
+    public String precompiledTemplate() {
+        return emailFormatter.formatEmail(template);
+    }
+
+    private static String read(String path) {
+        return IOUtils.toString(EmailTemplateBenchmark.class.getClassLoader().getResourceAsStream(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import com.example.sportsreservationsystembackend.BenchmarkContext;
+import com.example.sportsreservationsystembackend.model.AppUser;
+import com.example.sportsreservationsystembackend.model.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures signing and verification of access tokens, done on every login and every authenticated request
+ *
+ * @Author Radim Stejskal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private BenchmarkContext context;
+    private JwtUtil jwtUtil;
+    private AppUser user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start();
+        jwtUtil = context.getBean(JwtUtil.class);
+        user = new AppUser();
+        user.setEmail("user0@datagen.test");
+        user.setRole(UserRole.USER);
+        token = jwtUtil.generateToken(user, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user, false);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        jwtUtil.isTokenValid(token);
+        return token;
+    }
+}
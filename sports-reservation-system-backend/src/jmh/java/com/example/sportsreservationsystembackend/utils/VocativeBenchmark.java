@@ -0,0 +1,43 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark compares the original vocative decision tree with the suffix trie and the cached lookup,
+ * run with the gc profiler to see allocations per operation
+ *
+ * @Author Radim Stejskal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VocativeBenchmark {
+
+    @Param({"Radim", "Kateřina", "Tomáš", "Zdeněk", "Markus"})
+    private String name;
+
+    private final VocativeSuffixTrie vocativeRules = new VocativeSuffixTrie();
+
+    @Benchmark
+    public String referenceImplementation() {
+        return VocativeReference.vocative(name);
+    }
+
+    @Benchmark
+    public String suffixTrie() {
+        return vocativeRules.vocative(name);
+    }
+
+    @Benchmark
+    public String cachedVocative() {
+        return NotificationsUtil.vocative(name);
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.sportsreservationsystembackend.loadtest;
+
+import com.example.sportsreservationsystembackend.BenchmarkContext;
+import com.example.sportsreservationsystembackend.model.AppUser;
+import com.example.sportsreservationsystembackend.utils.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class simulates release of a week of slots, when members try to book the same few events at once.
+ * It boots the application on an in-memory H2 database filled by the data generator, with generated reservations removed
+ * so all seats are free, then all users send their reservation requests at the same moment from a pool of client threads.
+ * When the storm is over, it reports latency percentiles and throughput of the requests, and checks the database
+ * for oversold events and for balances which do not match the balance ledger and the reservations.
+ * It is configured by system properties storm.*, see the defaults below, and exits with status 1 if any check fails.
+ *
+ * @Author Radim Stejskal
+ */
+public final class BookingStorm {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final int users = Integer.getInteger("storm.users", 500);
+    private final int calendars = Integer.getInteger("storm.calendars", 1);
+    private final int days = Integer.getInteger("storm.days", 7);
+    private final int eventsPerDay = Integer.getInteger("storm.eventsPerDay", 8);
+    private final int capacity = Integer.getInteger("storm.capacity", 8);
+    private final int attemptsPerUser = Integer.getInteger("storm.attemptsPerUser", 5);
+    private final int concurrency = Integer.getInteger("storm.concurrency", 200);
+    private final Path reportFile = Path.of(System.getProperty("storm.report", "build/reports/loadtest/booking-storm.json"));
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new BookingStorm().run() ? 0 : 1);
+    }
+
+    private boolean run() throws Exception {
+        // events of today may already be over, the stormed days start tomorrow
+        try (BenchmarkContext context = BenchmarkContext.start("datagen.users=" + users, "datagen.calendars=" + calendars,
+                "datagen.future-days=" + (days + 1), "datagen.max-events-per-day=" + eventsPerDay)) {
+            context.openBooking(capacity);
+            List<BenchmarkContext.GeneratedEvent> events = context.getFutureEvents();
+            List<Attempt> attempts = plan(events, context.getUserEmails(), context.getBean(JwtUtil.class), context.getPort());
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("configuration", configuration());
+            report.put("requests", storm(attempts));
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            List<String> oversold = findOversoldEvents(jdbcTemplate);
+            List<String> inconsistentBalances = findInconsistentBalances(jdbcTemplate);
+            report.put("oversoldEvents", oversold.size());
+            report.put("inconsistentBalances", inconsistentBalances.size());
+            report.put("reservations", jdbcTemplate.queryForObject("SELECT count(*) FROM reservation", Long.class));
+            report.put("seats", (long) events.size() * capacity);
+            writeReport(report);
+            oversold.forEach(problem -> System.err.println("Oversold: " + problem));
+            inconsistentBalances.forEach(problem -> System.err.println("Inconsistent balance: " + problem));
+            return oversold.isEmpty() && inconsistentBalances.isEmpty();
+        }
+    }
+
+    private List<Attempt> plan(List<BenchmarkContext.GeneratedEvent> events, List<String> userEmails, JwtUtil jwtUtil, int port) {
+        Random random = new Random(42);
+        List<Attempt> attempts = new ArrayList<>(users * attemptsPerUser);
+        for (String email : userEmails) {
+            AppUser user = new AppUser();
+            user.setEmail(email);
+            String token = "Bearer " + jwtUtil.generateToken(user, false);
+            List<BenchmarkContext.GeneratedEvent> wanted = new ArrayList<>(events);
+            Collections.shuffle(wanted, random);
+            for (BenchmarkContext.GeneratedEvent event : wanted.subList(0, Math.min(attemptsPerUser, wanted.size()))) {
+                URI uri = URI.create("http://localhost:" + port + "/api/v1/calendars/" + event.calendarId()
+                        + "/events/" + event.eventId() + "/reservations");
+                attempts.add(new Attempt(HttpRequest.newBuilder(uri)
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Authorization", token)
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build()));
+            }
+        }
+        Collections.shuffle(attempts, random);
+        return attempts;
+    }
+
+    private Map<String, Object> storm(List<Attempt> attempts) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch release = new CountDownLatch(1);
+        for (Attempt attempt : attempts) {
+            clients.execute(() -> {
+                try {
+                    release.await();
+                    long start = System.nanoTime();
+                    try {
+                        attempt.status = httpClient.send(attempt.request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        attempt.status = -1;
+                    }
+                    attempt.latencyNanos = System.nanoTime() - start;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        long start = System.nanoTime();
+        release.countDown();
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.HOURS);
+        long elapsedNanos = System.nanoTime() - start;
+
+        long[] latencies = attempts.stream().mapToLong(attempt -> attempt.latencyNanos).sorted().toArray();
+        Map<Integer, Long> statuses = new TreeMap<>();
+        attempts.forEach(attempt -> statuses.merge(attempt.status, 1L, Long::sum));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", attempts.size());
+        result.put("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        result.put("throughputPerSecond", attempts.size() * 1e9 / elapsedNanos);
+        result.put("p50Ms", percentile(latencies, 0.50) / 1e6);
+        result.put("p99Ms", percentile(latencies, 0.99) / 1e6);
+        result.put("maxMs", latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+        result.put("statuses", statuses);
+        return result;
+    }
+
+    private static List<String> findOversoldEvents(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.query("SELECT e.id, e.maximum_capacity, e.reserved_count, " +
+                        "(SELECT count(*) FROM reservation r WHERE r.event_id = e.id) AS reservations FROM event e",
+                (row, i) -> {
+                    int maximumCapacity = row.getInt("maximum_capacity");
+                    int reservedCount = row.getInt("reserved_count");
+                    long reservations = row.getLong("reservations");
+                    return reservations > maximumCapacity || reservedCount != reservations
+                            ? row.getString("id") + " capacity " + maximumCapacity + ", reserved count " + reservedCount
+                            + ", reservations " + reservations
+                            : null;
+                }).stream().filter(Objects::nonNull).toList();
+    }
+
+    private static List<String> findInconsistentBalances(JdbcTemplate jdbcTemplate) {
+        Map<String, Long> ledger = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, sum(amount) AS total FROM balance_transaction GROUP BY user_id",
+                row -> { ledger.put(row.getString("user_id"), row.getLong("total")); });
+        Map<String, Long> charged = new HashMap<>();
+        jdbcTemplate.query("SELECT r.owner_id, sum(CASE WHEN r.discount_applied THEN e.discount_price ELSE e.price END) AS total " +
+                        "FROM reservation r JOIN event e ON e.id = r.event_id GROUP BY r.owner_id",
+                row -> { charged.put(row.getString("owner_id"), row.getLong("total")); });
+        List<String> problems = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, email, balance FROM app_user", row -> {
+            String userId = row.getString("id");
+            long balance = row.getLong("balance");
+            long ledgerTotal = ledger.getOrDefault(userId, 0L);
+            long chargedTotal = charged.getOrDefault(userId, 0L);
+            if (balance != BenchmarkContext.BALANCE + ledgerTotal || ledgerTotal != -chargedTotal) {
+                problems.add(row.getString("email") + " balance " + balance + ", ledger " + ledgerTotal
+                        + ", reservations " + chargedTotal);
+            }
+        });
+        return problems;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private Map<String, Object> configuration() {
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("users", users);
+        configuration.put("calendars", calendars);
+        configuration.put("days", days);
+        configuration.put("eventsPerDay", eventsPerDay);
+        configuration.put("capacity", capacity);
+        configuration.put("attemptsPerUser", attemptsPerUser);
+        configuration.put("concurrency", concurrency);
+        return configuration;
+    }
+
+    private void writeReport(Map<String, Object> report) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String json = objectMapper.writeValueAsString(report);
+        System.out.println(json);
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        Files.writeString(reportFile, json);
+    }
+
+    /**
+     * Single reservation request with its outcome
+     */
+    private static final class Attempt {
+
+        private final HttpRequest request;
+        private volatile int status;
+        private volatile long latencyNanos;
+
+        private Attempt(HttpRequest request) {
+            this.request = request;
+        }
+    }
+}
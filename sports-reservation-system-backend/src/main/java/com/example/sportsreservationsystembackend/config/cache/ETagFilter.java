@@ -0,0 +1,232 @@
+package com.example.sportsreservationsystembackend.config.cache;
+
+import com.example.sportsreservationsystembackend.service.CalendarVersionService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Enumeration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class adds ETags to public reads of calendars and locations in two layers.
+ * All ETags are hashes of the rendered response, so every instance gives the same ETag to the same content.
+ * The shallow layer renders the response and compares its hash, which saves only the transfer.
+ * The deep layer remembers the ETag rendered for the list of calendars, a calendar with its events and the list
+ * of locations together with version counters and the date it was rendered for, because what is shown as past
+ * and future events changes with the date. A conditional request with the remembered ETag is answered by 304
+ * without touching the database while the counters and the date stay the same.
+ * Version counters live in this instance only, changes made through other instances do not move them, so
+ * a remembered ETag is trusted only for the validity window after it was rendered. After that the request is
+ * rendered again and compared by the shallow layer, which answers 304 as long as the content did not change.
+ * Other instances can serve 304 for stale data for at most the length of the window.
+ * Responses with ETag are marked for revalidation instead of the no-store default of Spring Security.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Slf4j
+public class ETagFilter extends ShallowEtagHeaderFilter {
+
+    private static final String DEEP_VERSION_ATTRIBUTE = ETagFilter.class.getName() + ".DEEP_VERSION";
+    private static final String CONTENT_SIZE_ATTRIBUTE = ETagFilter.class.getName() + ".CONTENT_SIZE";
+    private static final String CALENDARS_PATH = "/api/v1/calendars";
+    private static final String LOCATIONS_PATH = "/api/v1/locations";
+    private static final Pattern CALENDAR_PATH = Pattern.compile("^/api/v1/calendars/([^/]+)$");
+    private static final String REVALIDATE = "no-cache";
+    private static final int MAX_TRACKED_URLS = 10_000;
+
+    private final CalendarVersionService calendarVersionService;
+    private final long deepValidityMs;
+    private final Clock clock;
+    // last rendered ETag of each url with a deep version
+    private final Cache<String, RenderedETag> renderedETags = Caffeine.newBuilder().maximumSize(MAX_TRACKED_URLS).build();
+    private final Counter deepHits;
+    private final Counter deepMisses;
+    private final Counter shallowHits;
+    private final Counter shallowMisses;
+    private final Counter deepBytesSaved;
+    private final Counter shallowBytesSaved;
+
+    public ETagFilter(CalendarVersionService calendarVersionService, MeterRegistry meterRegistry, long deepValidityMs) {
+        this(calendarVersionService, meterRegistry, deepValidityMs, Clock.systemDefaultZone());
+    }
+
+    ETagFilter(CalendarVersionService calendarVersionService, MeterRegistry meterRegistry, long deepValidityMs, Clock clock) {
+        this.calendarVersionService = calendarVersionService;
+        this.deepValidityMs = deepValidityMs;
+        this.clock = clock;
+        deepHits = requests(meterRegistry, "deep", "hit");
+        deepMisses = requests(meterRegistry, "deep", "miss");
+        shallowHits = requests(meterRegistry, "shallow", "hit");
+        shallowMisses = requests(meterRegistry, "shallow", "miss");
+        deepBytesSaved = bytesSaved(meterRegistry, "deep");
+        shallowBytesSaved = bytesSaved(meterRegistry, "shallow");
+        Gauge.builder("http.etag.hit.ratio", this, ETagFilter::hitRatio)
+                .description("Share of conditional reads answered by 304")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String deepVersion = deepVersion(request.getServletPath());
+        if (deepVersion != null) {
+            RenderedETag rendered = renderedETags.getIfPresent(urlOf(request));
+            if (rendered != null && isValid(rendered, deepVersion) && matchesIfNoneMatch(request, rendered.eTag())) {
+                deepHits.increment();
+                deepBytesSaved.increment(rendered.contentSize());
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                response.setHeader(HttpHeaders.ETAG, rendered.eTag());
+                response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+                return;
+            }
+            deepMisses.increment();
+            request.setAttribute(DEEP_VERSION_ATTRIBUTE, deepVersion);
+        }
+        super.doFilterInternal(request, response, filterChain);
+        if (deepVersion == null && !request.isAsyncStarted()) {
+            countShallow(request, response);
+        }
+    }
+
+    /**
+     * This method decides whether the response gets an ETag, eligible responses are marked for revalidation.
+     * ETags of responses with a deep version are remembered together with the version for the deep layer
+     */
+    @Override
+    protected boolean isEligibleForEtag(HttpServletRequest request, HttpServletResponse response,
+                                        int responseStatusCode, InputStream inputStream) {
+        if (!super.isEligibleForEtag(request, response, responseStatusCode, inputStream)) {
+            return false;
+        }
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper != null) {
+            request.setAttribute(CONTENT_SIZE_ATTRIBUTE, wrapper.getContentSize());
+        }
+        String deepVersion = (String) request.getAttribute(DEEP_VERSION_ATTRIBUTE);
+        if (deepVersion != null && wrapper != null && response.getHeader(HttpHeaders.ETAG) == null) {
+            // the shallow layer compares the request with the ETag set here
+            String eTag = contentETag(wrapper);
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            renderedETags.put(urlOf(request), new RenderedETag(deepVersion, eTag, wrapper.getContentSize(), clock.millis()));
+        }
+        if (response.getHeader(HttpHeaders.CACHE_CONTROL) == null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        return true;
+    }
+
+    private String deepVersion(String path) {
+        String version;
+        if (CALENDARS_PATH.equals(path)) {
+            version = Long.toString(calendarVersionService.getCatalogVersion());
+        } else if (LOCATIONS_PATH.equals(path)) {
+            // locations are written only by seed scripts at startup, which the epoch covers
+            version = "0";
+        } else {
+            Matcher matcher = CALENDAR_PATH.matcher(path);
+            if (!matcher.matches()) {
+                return null;
+            }
+            version = matcher.group(1) + "." + calendarVersionService.getCalendarVersion(matcher.group(1));
+        }
+        return calendarVersionService.getEpoch() + "-" + LocalDate.now(clock).format(DateTimeFormatter.BASIC_ISO_DATE) + "-" + version;
+    }
+
+    private boolean isValid(RenderedETag rendered, String deepVersion) {
+        return rendered.version().equals(deepVersion)
+                && (deepValidityMs <= 0 || clock.millis() - rendered.renderedAt() < deepValidityMs);
+    }
+
+    private String contentETag(ContentCachingResponseWrapper wrapper) {
+        try {
+            return generateETagHeaderValue(wrapper.getContentInputStream(), isWriteWeakETag());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void countShallow(HttpServletRequest request, HttpServletResponse response) {
+        Integer contentSize = (Integer) request.getAttribute(CONTENT_SIZE_ATTRIBUTE);
+        if (contentSize == null) {
+            return;
+        }
+        if (response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            shallowHits.increment();
+            shallowBytesSaved.increment(contentSize);
+        } else {
+            shallowMisses.increment();
+        }
+    }
+
+    private double hitRatio() {
+        double hits = deepHits.count() + shallowHits.count();
+        double total = hits + deepMisses.count() + shallowMisses.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    static boolean matchesIfNoneMatch(HttpServletRequest request, String eTag) {
+        String opaqueTag = stripWeak(eTag);
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                String tag = candidate.trim();
+                if ("*".equals(tag) || stripWeak(tag).equals(opaqueTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static String urlOf(HttpServletRequest request) {
+        return request.getQueryString() == null ? request.getRequestURI() : request.getRequestURI() + "?" + request.getQueryString();
+    }
+
+    private record RenderedETag(String version, String eTag, int contentSize, long renderedAt) {
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String layer, String result) {
+        return Counter.builder("http.etag.requests")
+                .description("Reads handled by ETag layers")
+                .tag("layer", layer)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter bytesSaved(MeterRegistry meterRegistry, String layer) {
+        return Counter.builder("http.etag.bytes.saved")
+                .description("Response bytes not sent thanks to 304 responses")
+                .baseUnit("bytes")
+                .tag("layer", layer)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.sportsreservationsystembackend.config.cache;
+
+import com.example.sportsreservationsystembackend.service.CalendarVersionService;
+import com.example.sportsreservationsystembackend.service.config.ETagConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class registers ETag filter for public reads of calendars and locations
+ *
+ * @Author Radim Stejskal
+ */
+
+@Configuration
+public class HttpCacheConfig {
+
+    // after the security filter chain, so requests rejected by it are not counted
+    private static final int ETAG_FILTER_ORDER = 100;
+
+    @Bean
+    public FilterRegistrationBean<ETagFilter> eTagFilter(CalendarVersionService calendarVersionService, MeterRegistry meterRegistry,
+                                                        ETagConfig eTagConfig) {
+        FilterRegistrationBean<ETagFilter> registration = new FilterRegistrationBean<>(
+                new ETagFilter(calendarVersionService, meterRegistry, eTagConfig.getDeepValidityMs()));
+        registration.addUrlPatterns("/api/v1/calendars/*", "/api/v1/locations/*");
+        registration.setOrder(ETAG_FILTER_ORDER);
+        return registration;
+    }
+}
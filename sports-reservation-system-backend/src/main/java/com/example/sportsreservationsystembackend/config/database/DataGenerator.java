@@ -0,0 +1,330 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import com.example.sportsreservationsystembackend.service.config.DataGeneratorConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * This class generates synthetic data of a large deployment and inserts it using JDBC batches.
+ * The data is skewed like real traffic, a few hot calendars have most of the events and reservations,
+ * events are more often held and reserved at peak hours and some users book far more often than others.
+ * Identifiers are derived from sequence numbers and all random choices come from a seeded generator,
+ * so the same configuration always generates the same data.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Slf4j
+public class DataGenerator {
+
+    // bcrypt hash shared by the users of data.sql
+    private static final String PASSWORD = "$2a$12$CLEtwlGl55m68cw8VNB/D.ml2PrLrUxuocrJuAjNMsny5N/lqUPjO";
+    private static final int LOCATIONS = 6;
+    private static final int FIRST_HOUR = 6;
+    // relative popularity of one hour slots from 6:00 to 22:00, evenings and early mornings are peak hours
+    private static final double[] HOUR_WEIGHTS = {1, 2, 2, 1, 1, 1, 1.5, 1, 1, 1, 1.5, 3, 3, 3, 2, 1};
+    private static final double MAX_HOUR_WEIGHT = 3;
+    private static final String[] TITLES = {"Tenis", "Badminton", "Squash", "Volejbal", "Florbal", "Jóga"};
+    private static final int[] PRICES = {150, 200, 250, 300};
+
+    // tables filled by the generator, in order of deletion
+    private static final String[] TABLES = {"refresh_token", "balance_transaction", "reservation", "event", "calendar", "location", "app_user"};
+
+    private static final String INSERT_USER = "INSERT INTO app_user (id, balance, email, enabled, first_name, has_daily_discount, "
+            + "last_name, locked, password, role) VALUES (?, ?, ?, true, ?, ?, ?, false, ?, ?)";
+    private static final String INSERT_LOCATION = "INSERT INTO location (id, name) VALUES (?, ?)";
+    private static final String INSERT_CALENDAR = "INSERT INTO calendar (id, location_id, name) VALUES (?, ?, ?)";
+    private static final String INSERT_EVENT = "INSERT INTO event (id, calendar_id, date, day_of_week, start_time, end_time, "
+            + "maximum_capacity, price, discount_price, title, description, reserved_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RESERVATION = "INSERT INTO reservation (id, discount_applied, event_id, owner_id) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_TRANSACTION = "INSERT INTO balance_transaction (id, user_id, amount, type, reference, created_at) "
+            + "VALUES (?, ?, ?, 'RESERVATION_PAYMENT', ?, ?)";
+    private static final String INSERT_REFRESH_TOKEN = "INSERT INTO refresh_token (id, token, created_at, used_at, expires_at, user_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final DataGeneratorConfig config;
+    private final Random random;
+    private final LocalDate today = LocalDate.now();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private long events;
+    private long reservations;
+    private long refreshTokens;
+
+    public DataGenerator(DataGeneratorConfig config) {
+        if (config.getMaxEventsPerDay() > HOUR_WEIGHTS.length) {
+            throw new IllegalArgumentException("At most " + HOUR_WEIGHTS.length + " events fit into a day from " + LocalTime.of(FIRST_HOUR, 0));
+        }
+        this.config = config;
+        this.random = new Random(config.getSeed());
+    }
+
+    /**
+     * This method returns true if none of the tables filled by the generator has any rows, data is generated only into an empty schema
+     * @param connection connection to the migrated schema
+     * @return true if the tables are empty
+     */
+    public static boolean isEmpty(Connection connection) throws SQLException {
+        for (String table : TABLES) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM " + table)) {
+                statement.setMaxRows(1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method generates users, locations, calendars, events with their reservations and payments and refresh tokens.
+     * Rows are committed after every batch, so the generated data does not have to fit into a single transaction,
+     * if generation fails, the rows committed so far are deleted and the schema is left empty again.
+     * @param connection connection to the migrated schema
+     * @return number of inserted rows
+     */
+    public long generate(Connection connection) throws SQLException {
+        if (!isEmpty(connection)) {
+            throw new IllegalStateException("Data can be generated only into an empty schema");
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            long start = System.nanoTime();
+            insertUsers(connection);
+            insertCalendars(connection);
+            insertEvents(connection);
+            insertRefreshTokens(connection);
+            long rows = config.getUsers() + LOCATIONS + config.getCalendars() + events + 2 * reservations + refreshTokens;
+            log.info("Generated {} users, {} calendars, {} events, {} reservations and {} refresh tokens in {} ms",
+                    config.getUsers(), config.getCalendars(), events, reservations, refreshTokens, (System.nanoTime() - start) / 1_000_000);
+            return rows;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            deleteGenerated(connection, e);
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER)) {
+            int batched = 0;
+            for (int i = 0; i < config.getUsers(); i++) {
+                statement.setString(1, id("user", i));
+                statement.setInt(2, random.nextInt(10_000));
+                statement.setString(3, "user" + i + "@datagen.test");
+                statement.setString(4, "Uživatel");
+                statement.setBoolean(5, random.nextInt(10) == 0);
+                statement.setString(6, String.valueOf(i));
+                statement.setString(7, PASSWORD);
+                statement.setString(8, i == 0 ? "ADMIN" : "USER");
+                statement.addBatch();
+                if (++batched == config.getBatchSize()) {
+                    flush(connection, statement);
+                    batched = 0;
+                }
+            }
+            flush(connection, statement);
+        }
+    }
+
+    private void insertCalendars(Connection connection) throws SQLException {
+        try (PreparedStatement locationStatement = connection.prepareStatement(INSERT_LOCATION);
+             PreparedStatement calendarStatement = connection.prepareStatement(INSERT_CALENDAR)) {
+            for (int i = 0; i < LOCATIONS; i++) {
+                locationStatement.setString(1, id("location", i));
+                locationStatement.setString(2, "Sál " + i);
+                locationStatement.addBatch();
+            }
+            flush(connection, locationStatement);
+            for (int i = 0; i < config.getCalendars(); i++) {
+                calendarStatement.setString(1, id("calendar", i));
+                calendarStatement.setString(2, id("location", i % LOCATIONS));
+                calendarStatement.setString(3, "Kalendář " + i);
+                calendarStatement.addBatch();
+            }
+            flush(connection, calendarStatement);
+        }
+    }
+
+    private void insertEvents(Connection connection) throws SQLException {
+        try (PreparedStatement eventStatement = connection.prepareStatement(INSERT_EVENT);
+             PreparedStatement reservationStatement = connection.prepareStatement(INSERT_RESERVATION);
+             PreparedStatement transactionStatement = connection.prepareStatement(INSERT_TRANSACTION)) {
+            int batchedEvents = 0;
+            int batchedReservations = 0;
+            for (int calendar = 0; calendar < config.getCalendars(); calendar++) {
+                String calendarId = id("calendar", calendar);
+                double popularity = Math.pow(calendar + 1, -config.getHotCalendarSkew());
+                int eventsPerDay = Math.max(1, (int) Math.ceil(config.getMaxEventsPerDay() * popularity));
+                for (LocalDate date = today.minusDays(config.getPastDays()); date.isBefore(today.plusDays(config.getFutureDays())); date = date.plusDays(1)) {
+                    for (int slot : pickSlots(eventsPerDay)) {
+                        String eventId = id("event", events++);
+                        LocalTime startTime = LocalTime.of(FIRST_HOUR + slot, 0);
+                        int capacity = 4 + random.nextInt(17);
+                        int price = PRICES[random.nextInt(PRICES.length)];
+                        int discountPrice = price - 50;
+                        double demand = config.getFillRatio() * popularity * HOUR_WEIGHTS[slot] / MAX_HOUR_WEIGHT + random.nextGaussian() * 0.1;
+                        int reserved = (int) Math.round(Math.max(0, Math.min(1, demand)) * Math.min(capacity, config.getUsers()));
+
+                        eventStatement.setString(1, eventId);
+                        eventStatement.setString(2, calendarId);
+                        eventStatement.setDate(3, Date.valueOf(date));
+                        eventStatement.setInt(4, date.getDayOfWeek().getValue());
+                        eventStatement.setTime(5, Time.valueOf(startTime));
+                        eventStatement.setTime(6, Time.valueOf(startTime.plusHours(1)));
+                        eventStatement.setInt(7, capacity);
+                        eventStatement.setInt(8, price);
+                        eventStatement.setInt(9, discountPrice);
+                        eventStatement.setString(10, TITLES[calendar % TITLES.length]);
+                        eventStatement.setString(11, "Generovaná lekce");
+                        eventStatement.setInt(12, reserved);
+                        eventStatement.addBatch();
+                        batchedEvents++;
+
+                        LocalDateTime eventStart = date.atTime(startTime);
+                        for (int owner : pickOwners(reserved)) {
+                            String reservationId = id("reservation", reservations);
+                            String ownerId = id("user", owner);
+                            boolean discountApplied = random.nextInt(5) == 0;
+                            reservationStatement.setString(1, reservationId);
+                            reservationStatement.setBoolean(2, discountApplied);
+                            reservationStatement.setString(3, eventId);
+                            reservationStatement.setString(4, ownerId);
+                            reservationStatement.addBatch();
+                            transactionStatement.setString(1, id("transaction", reservations));
+                            transactionStatement.setString(2, ownerId);
+                            transactionStatement.setInt(3, -(discountApplied ? discountPrice : price));
+                            transactionStatement.setString(4, eventId);
+                            LocalDateTime paidAt = eventStart.minusMinutes(30 + random.nextInt(14 * 24 * 60));
+                            transactionStatement.setTimestamp(5, Timestamp.valueOf(paidAt.isAfter(now) ? now : paidAt));
+                            transactionStatement.addBatch();
+                            reservations++;
+                            batchedReservations++;
+                        }
+                        if (batchedEvents >= config.getBatchSize() || batchedReservations >= config.getBatchSize()) {
+                            // events go first, reservations and payments reference them
+                            flush(connection, eventStatement, reservationStatement, transactionStatement);
+                            batchedEvents = 0;
+                            batchedReservations = 0;
+                        }
+                    }
+                }
+                log.debug("Generated events of calendar {}, {} events and {} reservations so far", calendar, events, reservations);
+            }
+            flush(connection, eventStatement, reservationStatement, transactionStatement);
+        }
+    }
+
+    private void insertRefreshTokens(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_REFRESH_TOKEN)) {
+            int batched = 0;
+            for (int user = 0; user < config.getUsers(); user++) {
+                int tokens = random.nextInt(config.getMaxRefreshTokensPerUser() + 1);
+                LocalDateTime createdAt = now.minusMinutes(random.nextInt(30 * 24 * 60));
+                for (int i = 0; i < tokens; i++) {
+                    // every token but the last one of a user was already exchanged for a new one
+                    boolean used = i < tokens - 1;
+                    statement.setString(1, id("refresh-token", refreshTokens));
+                    statement.setString(2, "datagen-refresh-token-" + refreshTokens);
+                    statement.setTimestamp(3, Timestamp.valueOf(createdAt));
+                    statement.setTimestamp(4, used ? Timestamp.valueOf(createdAt.plusMinutes(10)) : null);
+                    statement.setTimestamp(5, Timestamp.valueOf(createdAt.plusDays(1)));
+                    statement.setString(6, id("user", user));
+                    statement.addBatch();
+                    refreshTokens++;
+                    createdAt = createdAt.plusMinutes(10);
+                    if (++batched == config.getBatchSize()) {
+                        flush(connection, statement);
+                        batched = 0;
+                    }
+                }
+            }
+            flush(connection, statement);
+        }
+    }
+
+    /**
+     * This method picks distinct one hour slots of a day, slots at peak hours are picked more often
+     * @param count number of slots
+     * @return indexes of the picked slots
+     */
+    private int[] pickSlots(int count) {
+        boolean[] picked = new boolean[HOUR_WEIGHTS.length];
+        int[] slots = new int[count];
+        for (int i = 0; i < count; i++) {
+            double total = 0;
+            for (int slot = 0; slot < HOUR_WEIGHTS.length; slot++) {
+                total += picked[slot] ? 0 : HOUR_WEIGHTS[slot];
+            }
+            double target = random.nextDouble() * total;
+            int chosen = -1;
+            for (int slot = 0; slot < HOUR_WEIGHTS.length && target >= 0; slot++) {
+                if (!picked[slot]) {
+                    chosen = slot;
+                    target -= HOUR_WEIGHTS[slot];
+                }
+            }
+            picked[chosen] = true;
+            slots[i] = chosen;
+        }
+        return slots;
+    }
+
+    /**
+     * This method picks distinct owners of reservations of an event, users with low sequence numbers book far more often
+     * @param count number of reservations
+     * @return sequence numbers of the owners
+     */
+    private Set<Integer> pickOwners(int count) {
+        Set<Integer> owners = new HashSet<>();
+        while (owners.size() < count) {
+            double r = random.nextDouble();
+            owners.add((int) (config.getUsers() * r * r));
+        }
+        return owners;
+    }
+
+    private static void deleteGenerated(Connection connection, Exception cause) {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                statement.executeUpdate("DELETE FROM " + table);
+            }
+            connection.commit();
+            log.warn("Data generation failed, deleted the rows generated so far");
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static void flush(Connection connection, PreparedStatement... statements) throws SQLException {
+        for (PreparedStatement statement : statements) {
+            statement.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static String id(String kind, long sequence) {
+        return UUID.nameUUIDFromBytes((kind + "-" + sequence).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import com.example.sportsreservationsystembackend.service.config.DataGeneratorConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * This class fills the schema with synthetic data of a large deployment once it is migrated, it is active in profile datagen.
+ * Data is generated before the application context reads the schema, so the event index is built from the generated events.
+ * Data is generated only into an empty schema, restarts with recreate-schema disabled reuse the generated data.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+@Slf4j
+public class DataGeneratorCallback implements Callback {
+
+    private final DataGeneratorConfig dataGeneratorConfig;
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        // the generator commits after every batch
+        return false;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        Connection connection = context.getConnection();
+        try {
+            if (!DataGenerator.isEmpty(connection)) {
+                log.info("Schema already contains data, skipping data generation");
+                return;
+            }
+            log.info("Generating data with seed {}, this can take several minutes", dataGeneratorConfig.getSeed());
+            new DataGenerator(dataGeneratorConfig).generate(connection);
+        } catch (SQLException e) {
+            throw new FlywayException("Could not generate data", e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "dataGenerator";
+    }
+}
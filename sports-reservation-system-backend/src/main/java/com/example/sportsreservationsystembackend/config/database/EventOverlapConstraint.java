@@ -0,0 +1,79 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * This class detects database constraint which prevents overlapping events of the same calendar.
+ * On PostgreSQL the event table has generated column slot of type tsrange and a GiST exclusion constraint
+ * on calendar and slot, created by schema migration, so two events can not overlap even if they are created concurrently.
+ * Other databases, such as H2 used in tests, fall back to the overlap checks of the application.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Component
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+@Slf4j
+public class EventOverlapConstraint {
+
+    public static final String CONSTRAINT_NAME = "event_no_overlap";
+    public static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Getter
+    private boolean enforced;
+
+    /**
+     * This method checks whether the exclusion constraint exists in the migrated schema
+     */
+    @PostConstruct
+    public void detect() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!POSTGRESQL.equals(database)) {
+            log.info("Overlapping events are checked by the application only, exclusion constraints are not supported by {}", database);
+            return;
+        }
+        try {
+            Integer constraints = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_constraint WHERE conname = ?", Integer.class, CONSTRAINT_NAME);
+            enforced = constraints != null && constraints > 0;
+        } catch (DataAccessException e) {
+            log.warn("Could not look up exclusion constraint {}", CONSTRAINT_NAME, e);
+        }
+        if (!enforced) {
+            log.warn("Exclusion constraint {} is missing, overlapping events are checked by the application only", CONSTRAINT_NAME);
+        }
+    }
+
+    /**
+     * This method returns true if given exception was caused by violation of the exclusion constraint
+     * @param exception exception thrown when events were written
+     * @return true if the written event overlaps another event
+     */
+    public static boolean isViolatedBy(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                for (SQLException next = sqlException; next != null; next = next.getNextException()) {
+                    if (EXCLUSION_VIOLATION.equals(next.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
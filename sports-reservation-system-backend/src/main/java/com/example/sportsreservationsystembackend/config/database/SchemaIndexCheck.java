@@ -0,0 +1,95 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class checks at startup that the tables read by hot query paths have indexes with the expected leading
+ * columns, so a schema which was not migrated or whose indexes were dropped manually is reported in the log
+ *
+ * @Author Radim Stejskal
+ */
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexCheck {
+
+    static final Map<String, List<String>> EXPECTED_INDEXES = Map.of(
+            "event", List.of("calendar_id", "date", "start_time"),
+            "reservation", List.of("owner_id", "event_id"),
+            "recurrence_group_days_of_week", List.of("recurrence_group_id", "day_of_week"),
+            "recurrence_group", List.of("calendar_id"),
+            "user_token", List.of("token"),
+            "refresh_token", List.of("token"),
+            "app_user", List.of("first_name", "id"),
+            "balance_transaction", List.of("user_id", "created_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * This method logs every expected index which is missing in the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        List<String> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            log.info("All {} indexes of hot query paths are present", EXPECTED_INDEXES.size());
+        } else {
+            missing.forEach(index -> log.warn("Missing index on {}, queries using it will scan the whole table", index));
+        }
+    }
+
+    /**
+     * This method finds expected indexes which are not present in the database
+     * @return tables and columns of missing indexes
+     */
+    public List<String> findMissingIndexes() {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            List<String> missing = new ArrayList<>();
+            for (Map.Entry<String, List<String>> expected : new TreeMap<>(EXPECTED_INDEXES).entrySet()) {
+                if (!hasIndex(metaData, expected.getKey(), expected.getValue())) {
+                    missing.add(expected.getKey() + " " + expected.getValue());
+                }
+            }
+            return missing;
+        });
+    }
+
+    private static boolean hasIndex(DatabaseMetaData metaData, String table, List<String> columns) throws SQLException {
+        Map<String, Map<Short, String>> indexes = new TreeMap<>();
+        try (ResultSet indexInfo = metaData.getIndexInfo(null, null, identifier(metaData, table), false, false)) {
+            while (indexInfo.next()) {
+                String indexName = indexInfo.getString("INDEX_NAME");
+                String column = indexInfo.getString("COLUMN_NAME");
+                if (indexName != null && column != null) {
+                    indexes.computeIfAbsent(indexName, name -> new TreeMap<>())
+                            .put(indexInfo.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes.values().stream()
+                .map(indexColumns -> new ArrayList<>(indexColumns.values()))
+                .anyMatch(indexColumns -> indexColumns.size() >= columns.size()
+                        && indexColumns.subList(0, columns.size()).equals(columns));
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import com.example.sportsreservationsystembackend.service.config.DatabaseConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class configures how the schema is migrated on startup
+ *
+ * @Author Radim Stejskal
+ */
+
+@Configuration
+@Slf4j
+public class SchemaMigrationConfig {
+
+    /**
+     * This method creates migration strategy which recreates the schema in development, so every start
+     * begins with an empty database as it did when the schema was generated by Hibernate
+     * @param databaseConfig database configuration
+     * @return migration strategy
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(DatabaseConfig databaseConfig) {
+        return flyway -> {
+            if (databaseConfig.isRecreateSchema()) {
+                log.info("Recreating database schema");
+                flyway.clean();
+            }
+            flyway.migrate();
+        };
+    }
+}
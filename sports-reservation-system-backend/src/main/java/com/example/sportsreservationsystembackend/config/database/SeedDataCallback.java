@@ -0,0 +1,119 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import com.example.sportsreservationsystembackend.service.config.DatabaseConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This class executes seed scripts once the schema is migrated, it replaces script based initialization,
+ * which does not run in a defined order with the migrations. Checksum of the executed scripts is stored
+ * in table seed_version, so warm starts can skip scripts the schema was already seeded with.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeedDataCallback implements Callback {
+
+    private static final int SEED_VERSION_ID = 1;
+
+    private final DatabaseConfig databaseConfig;
+    private final ResourceLoader resourceLoader;
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE && !databaseConfig.getSeedLocations().isEmpty();
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<Resource> scripts = databaseConfig.getSeedLocations().stream().map(resourceLoader::getResource).toList();
+        String checksum = checksum(scripts);
+        Connection connection = context.getConnection();
+        try {
+            if (databaseConfig.isSkipSeededSchema() && checksum.equals(findSeedChecksum(connection))) {
+                log.info("Schema is already seeded by {}, skipping seed scripts", databaseConfig.getSeedLocations());
+                return;
+            }
+            long start = System.nanoTime();
+            SeedScriptLoader loader = new SeedScriptLoader(databaseConfig.getSeedBatchSize());
+            int statements = 0;
+            for (Resource script : scripts) {
+                statements += loader.load(connection, new EncodedResource(script, StandardCharsets.UTF_8));
+            }
+            saveSeedChecksum(connection, checksum);
+            log.info("Executed seed scripts {} as {} statements in {} ms",
+                    databaseConfig.getSeedLocations(), statements, (System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException | IOException e) {
+            throw new FlywayException("Could not execute seed scripts " + databaseConfig.getSeedLocations(), e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "seedData";
+    }
+
+    private static String checksum(List<Resource> scripts) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (Resource script : scripts) {
+            try (InputStream inputStream = script.getInputStream()) {
+                FileCopyUtils.copy(inputStream, content);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read seed script " + script, e);
+            }
+        }
+        return DigestUtils.md5DigestAsHex(content.toByteArray());
+    }
+
+    private static String findSeedChecksum(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT checksum FROM seed_version WHERE id = ?")) {
+            statement.setInt(1, SEED_VERSION_ID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    private static void saveSeedChecksum(Connection connection, String checksum) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM seed_version WHERE id = ?");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO seed_version (id, checksum, seeded_at) VALUES (?, ?, ?)")) {
+            delete.setInt(1, SEED_VERSION_ID);
+            delete.executeUpdate();
+            insert.setInt(1, SEED_VERSION_ID);
+            insert.setString(2, checksum);
+            insert.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            insert.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class loads seed scripts in bulk. Consecutive single row inserts into the same table are merged
+ * into multi row inserts and the resulting statements are sent to the database in JDBC batches,
+ * so a script of thousands of inserts takes a few round trips instead of one per row.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Slf4j
+public class SeedScriptLoader {
+
+    private static final Pattern SINGLE_ROW_INSERT = Pattern.compile(
+            "^(INSERT\\s+INTO\\s+\\S+\\s*\\([^)]*\\)\\s+VALUES)\\s*(\\(.*\\))(\\s+ON\\s+CONFLICT\\s+DO\\s+NOTHING)?$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final int batchSize;
+
+    public SeedScriptLoader(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * This method executes statements of given script on given connection
+     * @param connection connection to execute the script on
+     * @param script script to execute
+     * @return number of executed statements
+     */
+    public int load(Connection connection, EncodedResource script) throws IOException, SQLException {
+        List<String> statements = new ArrayList<>();
+        ScriptUtils.splitSqlScript(script, FileCopyUtils.copyToString(script.getReader()), ScriptUtils.DEFAULT_STATEMENT_SEPARATOR,
+                ScriptUtils.DEFAULT_COMMENT_PREFIXES, ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+                ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER, statements);
+        List<String> merged = merge(statements);
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < merged.size(); i++) {
+                statement.addBatch(merged.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        log.debug("Loaded {} statements of {} as {} statements", statements.size(), script.getResource(), merged.size());
+        return merged.size();
+    }
+
+    /**
+     * This method merges consecutive single row inserts with the same table, columns and conflict clause
+     * into multi row inserts of at most batch size rows, other statements are kept in their place
+     * @param statements statements of a script
+     * @return statements to execute
+     */
+    List<String> merge(List<String> statements) {
+        List<String> merged = new ArrayList<>();
+        String prefix = null;
+        String suffix = null;
+        List<String> rows = new ArrayList<>();
+        for (String statement : statements) {
+            Matcher matcher = SINGLE_ROW_INSERT.matcher(statement.trim());
+            if (!matcher.matches()) {
+                flush(merged, prefix, rows, suffix);
+                prefix = null;
+                merged.add(statement);
+                continue;
+            }
+            String rowSuffix = matcher.group(3) == null ? "" : matcher.group(3);
+            if (!matcher.group(1).equals(prefix) || !rowSuffix.equals(suffix) || rows.size() == batchSize) {
+                flush(merged, prefix, rows, suffix);
+                prefix = matcher.group(1);
+                suffix = rowSuffix;
+            }
+            rows.add(matcher.group(2));
+        }
+        flush(merged, prefix, rows, suffix);
+        return merged;
+    }
+
+    private static void flush(List<String> merged, String prefix, List<String> rows, String suffix) {
+        if (!rows.isEmpty()) {
+            merged.add(prefix + " " + String.join(", ", rows) + suffix);
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.sportsreservationsystembackend.config.metrics;
+
+import com.example.sportsreservationsystembackend.service.AuthService;
+import com.example.sportsreservationsystembackend.service.CalendarService;
+import com.example.sportsreservationsystembackend.service.EventService;
+import com.example.sportsreservationsystembackend.service.NotificationService;
+import com.example.sportsreservationsystembackend.service.ReservationService;
+import com.example.sportsreservationsystembackend.service.UserService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class measures calls of the booking services, so latency of each step can be seen in production without a profiler.
+ * Every call is recorded by timer service.operation tagged by service, method and outcome, which is success
+ * or simple name of the thrown exception, e.g. EventFullException. Gauge service.operation.in.flight shows calls
+ * in progress. Percentiles and histograms are configured by management.metrics.distribution properties.
+ * Calls between methods of the same service do not pass through the proxy and are measured as part of the caller.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String TIMER_NAME = "service.operation";
+    public static final String IN_FLIGHT_NAME = "service.operation.in.flight";
+    public static final String SUCCESS = "success";
+
+    private static final List<Class<?>> SERVICES = List.of(ReservationService.class, EventService.class, CalendarService.class,
+            UserService.class, AuthService.class, NotificationService.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> serviceNames = new ConcurrentHashMap<>();
+
+    /**
+     * This method times a call of a service method and counts it as in flight until it returns
+     * @param joinPoint called method
+     * @return result of the method
+     */
+    @Around("execution(* com.example.sportsreservationsystembackend.service.ReservationService.*(..))"
+            + " || execution(* com.example.sportsreservationsystembackend.service.EventService.*(..))"
+            + " || execution(* com.example.sportsreservationsystembackend.service.CalendarService.*(..))"
+            + " || execution(* com.example.sportsreservationsystembackend.service.UserService.*(..))"
+            + " || execution(* com.example.sportsreservationsystembackend.service.AuthService.*(..))"
+            + " || execution(* com.example.sportsreservationsystembackend.service.NotificationService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = serviceName(joinPoint.getTarget().getClass());
+        String method = joinPoint.getSignature().getName();
+        AtomicInteger calls = inFlight.computeIfAbsent(service + "." + method, key -> registerInFlight(service, method));
+        calls.incrementAndGet();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            outcome = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Calls of service methods")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            calls.decrementAndGet();
+        }
+    }
+
+    private AtomicInteger registerInFlight(String service, String method) {
+        AtomicInteger calls = new AtomicInteger();
+        Gauge.builder(IN_FLIGHT_NAME, calls, AtomicInteger::get)
+                .description("Calls of service methods in progress")
+                .tag("service", service)
+                .tag("method", method)
+                .register(meterRegistry);
+        return calls;
+    }
+
+    private String serviceName(Class<?> targetClass) {
+        return serviceNames.computeIfAbsent(targetClass, type -> SERVICES.stream()
+                .filter(service -> service.isAssignableFrom(type))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(type.getSimpleName()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.sportsreservationsystembackend.config.security;
+
+import com.example.sportsreservationsystembackend.model.AppUser;
+import com.example.sportsreservationsystembackend.model.UserRole;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class represents immutable snapshot of an authenticated user kept in the principal cache,
+ * it does not hold the password hash
+ *
+ * @author Radim Stejskal
+ */
+@Getter
+public final class AuthenticatedUser implements UserDetails {
+
+    private final String id;
+    private final String username;
+    private final UserRole role;
+    private final boolean enabled;
+    private final boolean locked;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(AppUser appUser) {
+        this.id = appUser.getId();
+        this.username = appUser.getUsername();
+        this.role = appUser.getRole();
+        this.enabled = appUser.isEnabled();
+        this.locked = !appUser.isAccountNonLocked();
+        this.authorities = List.of(new SimpleGrantedAuthority(role.getName()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return !locked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+}
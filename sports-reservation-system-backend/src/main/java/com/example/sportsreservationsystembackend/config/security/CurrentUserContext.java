@@ -0,0 +1,23 @@
+package com.example.sportsreservationsystembackend.config.security;
+
+import com.example.sportsreservationsystembackend.model.AppUser;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * This class represents current user of a single request. The principal is set by the jwt filter
+ * and the user entity is loaded at most once, then it is shared by all services handling the request.
+ *
+ * @author Radim Stejskal
+ */
+@Component
+@RequestScope
+@Getter
+@Setter
+public class CurrentUserContext {
+
+    private AuthenticatedUser principal;
+    private AppUser user;
+}
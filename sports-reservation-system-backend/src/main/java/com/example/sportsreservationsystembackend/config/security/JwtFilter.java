@@ -1,7 +1,6 @@
 package com.example.sportsreservationsystembackend.config.security;
 
-import com.example.sportsreservationsystembackend.service.UserService;
-import com.example.sportsreservationsystembackend.utils.JwtUtil;
+import com.example.sportsreservationsystembackend.service.config.MetricsConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
@@ -14,15 +13,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -35,14 +37,20 @@ import java.util.Map;
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
 
-    private final UserService userService;
-    private final JwtUtil jwtUtil;
+    private static final String PROMETHEUS_PATH = "/actuator/prometheus";
+    private static final String SCRAPER = "prometheus";
+
+    private final TokenVerificationCache tokenVerificationCache;
+    private final UserPrincipalCache userPrincipalCache;
+    private final CurrentUserContext currentUserContext;
+    private final MetricsConfig metricsConfig;
 
     @Override
     public boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String path = request.getServletPath();
         log.info("Path in JWT filter: " + path);
         return path.startsWith("/api/v1/auth") || path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs") ||
+                path.startsWith("/actuator/health") ||
                 (path.startsWith("/api/v1/users") && request.getMethod().equals("POST")) ||
                 (path.startsWith("/api/v1/calendars") && request.getMethod().equals("GET")) ||
                 (path.startsWith("/api/v1/locations") && request.getMethod().equals("GET")) ||
@@ -62,11 +70,16 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
         final String token = header.split(" ")[1].trim();
+        if (isScrapeToken(request, token)) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    SCRAPER, null, List.of(new SimpleGrantedAuthority("ROLE_" + WebSecurityConfig.METRICS))));
+            chain.doFilter(request, response);
+            return;
+        }
 
-        UserDetails userDetails;
+        AuthenticatedUser userDetails;
         try {
-            jwtUtil.isTokenValid(token);
-            userDetails = userService.loadUserByUsername(jwtUtil.getUserNameFromToken(token));
+            userDetails = userPrincipalCache.getPrincipal(tokenVerificationCache.getUsername(token));
         } catch (ExpiredJwtException | MalformedJwtException e) {
             log.info("Invalid token filtered {} ", token, e);
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -96,8 +109,15 @@ public class JwtFilter extends OncePerRequestFilter {
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
+        currentUserContext.setPrincipal(userDetails);
         chain.doFilter(request, response);
     }
+
+    private boolean isScrapeToken(HttpServletRequest request, String token) {
+        String scrapeToken = metricsConfig.getScrapeToken();
+        return request.getServletPath().startsWith(PROMETHEUS_PATH) && StringUtils.hasText(scrapeToken)
+                && MessageDigest.isEqual(scrapeToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
 }
 
 
@@ -0,0 +1,91 @@
+package com.example.sportsreservationsystembackend.config.security;
+
+import com.example.sportsreservationsystembackend.service.config.AuthCacheConfig;
+import com.example.sportsreservationsystembackend.utils.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents cache of already verified jwt tokens. Tokens are keyed by their SHA-256 hash
+ * and each entry expires together with the token, so the signature of a token is checked only once.
+ *
+ * @author Radim Stejskal
+ */
+@Component
+public class TokenVerificationCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+
+    public TokenVerificationCache(JwtUtil jwtUtil, AuthCacheConfig authCacheConfig, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(authCacheConfig.getTokenMaximumSize())
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.tokens");
+    }
+
+    /**
+     * This method returns username from the token, the signature is verified only on first use of the token
+     * @param token to be verified
+     * @return username from the token
+     * @throws ExpiredJwtException
+     * @throws MalformedJwtException
+     */
+    public String getUsername(String token) throws ExpiredJwtException, MalformedJwtException {
+        return cache.get(hash(token), key -> verify(token)).username();
+    }
+
+    private VerifiedToken verify(String token) {
+        Claims claims = jwtUtil.verifyToken(token);
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(claims.getSubject(), expiration == null ? 0 : expiration.getTime());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(String username, long expiresAtMillis) {
+    }
+
+    private static class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
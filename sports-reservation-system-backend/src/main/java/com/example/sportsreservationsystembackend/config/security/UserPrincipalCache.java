@@ -0,0 +1,63 @@
+package com.example.sportsreservationsystembackend.config.security;
+
+import com.example.sportsreservationsystembackend.repository.UserRepository;
+import com.example.sportsreservationsystembackend.service.config.AuthCacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class represents cache of authenticated users used by the jwt filter, so authenticated
+ * requests do not have to load the user from database. Entries are evicted by size and ttl and
+ * are invalidated by user service whenever role, password or status of the user changes.
+ * Invalidation is local to this instance, other instances see the change once their entry expires,
+ * so the ttl is kept short, see {@link AuthCacheConfig#getPrincipalTtl()}.
+ *
+ * @author Radim Stejskal
+ */
+@Component
+@Slf4j
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public UserPrincipalCache(UserRepository userRepository, AuthCacheConfig authCacheConfig, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(authCacheConfig.getPrincipalMaximumSize())
+                .expireAfterWrite(authCacheConfig.getPrincipalTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.principals");
+    }
+
+    /**
+     * This method returns authenticated user with given username
+     * @param username email of user
+     * @return authenticated user
+     * @throws UsernameNotFoundException if user does not exist
+     */
+    public AuthenticatedUser getPrincipal(String username) {
+        return cache.get(username, this::load);
+    }
+
+    /**
+     * This method removes user from the cache, so the next request loads current state of the user
+     * @param username email of user
+     */
+    public void invalidate(String username) {
+        log.debug("Invalidating cached principal of user {}", username);
+        cache.invalidate(username);
+    }
+
+    private AuthenticatedUser load(String username) {
+        return userRepository.findByEmail(username)
+                .map(AuthenticatedUser::new)
+                .orElseThrow(() -> new UsernameNotFoundException(String.format("user with username %s not found", username)));
+    }
+}
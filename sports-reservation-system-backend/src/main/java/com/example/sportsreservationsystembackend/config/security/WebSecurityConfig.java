@@ -29,6 +29,7 @@ public class WebSecurityConfig {
 
     public static final String ADMIN = "ADMIN";
     public static final String USER = "USER";
+    public static final String METRICS = "METRICS";
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
     private final UserDetailsService userDetailsService;
     private final JwtFilter jwtFilter;
@@ -59,6 +60,10 @@ public class WebSecurityConfig {
                 .requestMatchers(HttpMethod.PUT, "/api/v1/users/{userId}/discount").hasAnyRole(USER, ADMIN)
                 .requestMatchers("/api/v1/reservations/**").hasAnyRole(USER, ADMIN)
                 .requestMatchers("/api/v1/events/**").hasRole(ADMIN)
+                .requestMatchers("/actuator/eventindex/**").hasRole(ADMIN)
+                .requestMatchers("/actuator/sqlstats/**").hasRole(ADMIN)
+                .requestMatchers("/actuator/metrics/**").hasRole(ADMIN)
+                .requestMatchers("/actuator/prometheus").hasAnyRole(METRICS, ADMIN)
                 .anyRequest().permitAll())
             .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
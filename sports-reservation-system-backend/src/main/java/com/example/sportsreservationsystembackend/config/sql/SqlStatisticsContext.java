@@ -0,0 +1,42 @@
+package com.example.sportsreservationsystembackend.config.sql;
+
+import com.example.sportsreservationsystembackend.service.model.RequestSqlStatistics;
+
+/**
+ * This class holds SQL statistics of the request handled by the current thread.
+ * Hibernate listeners add to the statistics, work done outside of a request, e.g. by schedulers, is not recorded.
+ *
+ * @Author Radim Stejskal
+ */
+public final class SqlStatisticsContext {
+
+    private static final ThreadLocal<RequestSqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private SqlStatisticsContext() {
+    }
+
+    /**
+     * This method starts recording statistics of a request on the current thread
+     * @return statistics of the request
+     */
+    public static RequestSqlStatistics begin() {
+        RequestSqlStatistics statistics = new RequestSqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * This method returns statistics of the request handled by the current thread
+     * @return statistics, null if no request is recorded
+     */
+    public static RequestSqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * This method stops recording statistics on the current thread
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.sportsreservationsystembackend.config.sql;
+
+import com.example.sportsreservationsystembackend.exceptions.QueryBudgetExceededException;
+import com.example.sportsreservationsystembackend.service.SqlStatisticsService;
+import com.example.sportsreservationsystembackend.service.config.SqlStatisticsConfig;
+import com.example.sportsreservationsystembackend.service.model.RequestSqlStatistics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * This class records SQL statistics of every request and attributes them to the controller method which handled it.
+ * It runs before the security filter chain, so statements executed during authentication are counted as well.
+ * Requests not handled by a controller of the rest api, e.g. actuator requests, are not recorded.
+ * Requests over their query budget are logged and counted. They fail only with sql.statistics.fail-on-exceeded-budget,
+ * which is meant for tests, MockMvc rethrows the exception while a servlet container has already sent the response.
+ *
+ * @Author Radim Stejskal
+ */
+@RequiredArgsConstructor
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATISTICS_ATTRIBUTE = SqlStatisticsFilter.class.getName() + ".statistics";
+    public static final String HANDLER_ATTRIBUTE = SqlStatisticsFilter.class.getName() + ".handler";
+
+    private static final String CONTROLLER_PACKAGE = "com.example.sportsreservationsystembackend.rest.api";
+
+    private final SqlStatisticsService sqlStatisticsService;
+    private final SqlStatisticsConfig sqlStatisticsConfig;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlStatistics statistics = SqlStatisticsContext.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatisticsContext.end();
+        }
+        String handler = handlerName(request);
+        if (handler == null) {
+            return;
+        }
+        request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+        request.setAttribute(HANDLER_ATTRIBUTE, handler);
+        if (!sqlStatisticsService.record(handler, statistics) && sqlStatisticsConfig.isFailOnExceededBudget()) {
+            throw new QueryBudgetExceededException("Request to " + handler + " exceeded query budget of "
+                    + sqlStatisticsConfig.getBudget(handler) + " statements: " + statistics);
+        }
+    }
+
+    /**
+     * This method returns name of the controller method which handled the request, e.g. CalendarController.getAllCalendars
+     * @param request handled request
+     * @return name of the controller method, null if the request was not handled by a controller of the rest api
+     */
+    static String handlerName(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod
+                && handlerMethod.getBeanType().getPackageName().equals(CONTROLLER_PACKAGE)) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return null;
+    }
+}
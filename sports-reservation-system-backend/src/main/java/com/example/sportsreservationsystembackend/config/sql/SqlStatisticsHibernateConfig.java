@@ -0,0 +1,42 @@
+package com.example.sportsreservationsystembackend.config.sql;
+
+import com.example.sportsreservationsystembackend.service.SqlStatisticsService;
+import com.example.sportsreservationsystembackend.service.config.SqlStatisticsConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class registers recording of SQL statistics of requests, unless it is disabled by sql.statistics.enabled
+ *
+ * @Author Radim Stejskal
+ */
+
+@Configuration
+public class SqlStatisticsHibernateConfig {
+
+    // before the security filter chain, so statements executed during authentication are counted
+    private static final int SQL_STATISTICS_FILTER_ORDER = 5;
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatisticsSessionListener(SqlStatisticsConfig sqlStatisticsConfig) {
+        return properties -> {
+            if (sqlStatisticsConfig.isEnabled()) {
+                properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatisticsSessionListener.class.getName());
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(SqlStatisticsService sqlStatisticsService,
+                                                                           SqlStatisticsConfig sqlStatisticsConfig) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatisticsFilter(sqlStatisticsService, sqlStatisticsConfig));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SQL_STATISTICS_FILTER_ORDER);
+        registration.setEnabled(sqlStatisticsConfig.isEnabled());
+        return registration;
+    }
+}
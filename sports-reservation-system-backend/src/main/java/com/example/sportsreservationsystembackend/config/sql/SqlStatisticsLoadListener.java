@@ -0,0 +1,60 @@
+package com.example.sportsreservationsystembackend.config.sql;
+
+import com.example.sportsreservationsystembackend.service.config.SqlStatisticsConfig;
+import com.example.sportsreservationsystembackend.service.model.RequestSqlStatistics;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class counts loaded entities and initialized collections into statistics of the current request
+ *
+ * @Author Radim Stejskal
+ */
+
+@Component
+@RequiredArgsConstructor
+public class SqlStatisticsLoadListener implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SqlStatisticsConfig sqlStatisticsConfig;
+
+    /**
+     * This method appends the listener to the listeners of the session factory
+     */
+    @PostConstruct
+    public void register() {
+        if (!sqlStatisticsConfig.isEnabled()) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, this);
+        registry.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestSqlStatistics statistics = SqlStatisticsContext.current();
+        if (statistics != null) {
+            statistics.entityLoaded();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestSqlStatistics statistics = SqlStatisticsContext.current();
+        if (statistics != null) {
+            statistics.collectionFetched();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.sportsreservationsystembackend.config.sql;
+
+import com.example.sportsreservationsystembackend.service.model.RequestSqlStatistics;
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * This class counts statements and measures flushes of hibernate sessions into statistics of the current request.
+ * Hibernate creates an instance for every session, it is registered through hibernate.session.events.auto.
+ *
+ * @Author Radim Stejskal
+ */
+public class SqlStatisticsSessionListener extends BaseSessionEventListener {
+
+    private long flushStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestSqlStatistics statistics = SqlStatisticsContext.current();
+        if (statistics != null) {
+            statistics.statementExecuted();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        RequestSqlStatistics statistics = SqlStatisticsContext.current();
+        if (statistics != null) {
+            statistics.statementExecuted();
+        }
+    }
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestSqlStatistics statistics = SqlStatisticsContext.current();
+        if (statistics != null) {
+            statistics.flushed(System.nanoTime() - flushStart);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.sportsreservationsystembackend.config.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class stops the application as soon as it is ready when startup.exit-when-ready is set.
+ * It is used by training runs which record classes loaded during startup into a class data sharing archive,
+ * the archive is written when the JVM exits.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Component
+@Slf4j
+public class TrainingRunExit {
+
+    @Value("${startup.exit-when-ready:false}")
+    private boolean exitWhenReady;
+
+    /**
+     * This method exits the JVM once the application is ready if the training run is enabled
+     * @param event event published when the application is ready
+     */
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (exitWhenReady) {
+            log.info("Training run finished, exiting");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.sportsreservationsystembackend.exceptions;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException() {
+        super();
+    }
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
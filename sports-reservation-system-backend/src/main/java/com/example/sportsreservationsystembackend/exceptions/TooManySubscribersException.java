@@ -0,0 +1,11 @@
+package com.example.sportsreservationsystembackend.exceptions;
+
+public class TooManySubscribersException extends RuntimeException {
+    public TooManySubscribersException() {
+        super();
+    }
+
+    public TooManySubscribersException(String message) {
+        super(message);
+    }
+}
@@ -57,7 +57,11 @@ public class AppUser implements UserDetails {
     @Column(unique = true)
     private String email;
 
-    @Column(name = "balance")
+    /**
+     * Balance is changed only through the guarded updates of the balance ledger,
+     * so it is never written back by regular entity updates.
+     */
+    @Column(name = "balance", updatable = false)
     private int balance;
 
     @NotNull
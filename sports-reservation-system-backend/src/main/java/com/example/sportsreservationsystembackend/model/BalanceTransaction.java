@@ -0,0 +1,66 @@
+package com.example.sportsreservationsystembackend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * This class represents a single entry of the append-only balance ledger.
+ * Positive amount means credit, negative amount means debit of user's balance.
+ * @author Radim Stejskal
+ */
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = {"user"})
+@Table(name = "balance_transaction")
+public class BalanceTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private AppUser user;
+
+    @NotNull
+    @Column(nullable = false, updatable = false)
+    private Integer amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private BalanceTransactionType type;
+
+    @Column(updatable = false)
+    private String reference;
+
+    @NotNull
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public BalanceTransaction(AppUser user, Integer amount, BalanceTransactionType type, String reference, LocalDateTime createdAt) {
+        this.user = user;
+        this.amount = amount;
+        this.type = type;
+        this.reference = reference;
+        this.createdAt = createdAt;
+    }
+}
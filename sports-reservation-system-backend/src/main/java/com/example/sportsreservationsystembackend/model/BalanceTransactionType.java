@@ -0,0 +1,23 @@
+package com.example.sportsreservationsystembackend.model;
+
+/**
+ * This enum represents type of balance transaction
+ * @author Radim Stejskal
+ */
+
+public enum BalanceTransactionType {
+    RESERVATION_PAYMENT("RESERVATION_PAYMENT"),
+    RESERVATION_REFUND("RESERVATION_REFUND"),
+    BALANCE_ADJUSTMENT("BALANCE_ADJUSTMENT");
+
+    private final String name;
+
+    BalanceTransactionType(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+}
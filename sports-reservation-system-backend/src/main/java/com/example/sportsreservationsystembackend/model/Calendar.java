@@ -33,8 +33,8 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = {"events", "thumbnail"})
-@EqualsAndHashCode(exclude = {"events", "thumbnail"})
+@ToString(exclude = {"events", "recurrenceGroups"})
+@EqualsAndHashCode(exclude = {"events", "recurrenceGroups"})
 public class Calendar {
 
     @Id
@@ -49,11 +49,18 @@ public class Calendar {
     @NotBlank(message = "Calendar name cannot be blank")
     private String name;
 
-//    @NotBlank(message = "Calendar description cannot be blank")
-    private byte[] thumbnail;
+    /**
+     * SHA-256 of the thumbnail stored in calendar_thumbnail, null if the calendar has no thumbnail
+     */
+    @Column(name = "thumbnail_checksum")
+    private String thumbnailChecksum;
 
     @JsonIgnore
     @OneToMany(mappedBy = "calendar",cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
     private List<Event> events;
 
+    @JsonIgnore
+    @OneToMany(mappedBy = "calendar", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
+    private List<RecurrenceGroup> recurrenceGroups;
+
 }
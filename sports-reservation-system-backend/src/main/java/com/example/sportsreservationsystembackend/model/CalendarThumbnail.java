@@ -0,0 +1,37 @@
+package com.example.sportsreservationsystembackend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * This class represents thumbnail of a calendar, it is stored apart from the calendar,
+ * so the image is loaded only when it is requested
+ * @author Radim Stejskal
+ */
+
+@Entity
+@Table(name = "calendar_thumbnail")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "content")
+public class CalendarThumbnail {
+
+    @Id
+    @Column(name = "calendar_id")
+    private String calendarId;
+
+    @Column(nullable = false)
+    private byte[] content;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+}
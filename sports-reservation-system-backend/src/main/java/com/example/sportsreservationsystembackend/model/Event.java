@@ -2,6 +2,7 @@ package com.example.sportsreservationsystembackend.model;
 
 import com.sun.istack.NotNull;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -14,12 +15,14 @@ import jakarta.persistence.PostLoad;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import javax.validation.constraints.NotBlank;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -32,7 +35,7 @@ import java.util.List;
  */
 
 @Entity
-@Table(name = "event")
+@Table(name = "event", uniqueConstraints = @UniqueConstraint(columnNames = {"recurrence_group_id", "date"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -87,16 +90,21 @@ public class Event {
     @JoinColumn(name="recurrence_group_id")
     private RecurrenceGroup recurrenceGroup;
 
+    /**
+     * Number of reservations held for this event. The column is only ever changed by the conditional
+     * updates in {@link com.example.sportsreservationsystembackend.repository.EventRepository}, so it is
+     * excluded from regular entity updates to avoid overwriting concurrent changes with a stale value.
+     */
+    @Column(name = "reserved_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer reservedCount = 0;
+
     @Transient
     private int spacesAvailable;
 
     @PostLoad
     private void calculateAvailableCapacity() {
-        try {
-            spacesAvailable = maximumCapacity - reservations.size();
-        } catch (Exception e) {
-
-        }
+        spacesAvailable = maximumCapacity - reservedCount;
     }
 
     @PrePersist
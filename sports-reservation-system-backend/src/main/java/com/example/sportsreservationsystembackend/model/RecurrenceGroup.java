@@ -1,6 +1,7 @@
 package com.example.sportsreservationsystembackend.model;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
@@ -8,6 +9,8 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -16,11 +19,15 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.validation.constraints.NotNull;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This class represents recurrence group entity used for recurring events
@@ -33,8 +40,8 @@ import java.util.List;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@ToString(exclude = {"events"})
-@EqualsAndHashCode(exclude = {"events"})
+@ToString(exclude = {"events", "calendar", "excludedDates"})
+@EqualsAndHashCode(exclude = {"events", "calendar", "excludedDates"})
 public class RecurrenceGroup {
 
     @Id
@@ -50,6 +57,43 @@ public class RecurrenceGroup {
     @NotNull
     private LocalDate repeatUntil;
 
+    /**
+     * If set, occurrences of the group are not stored as events but expanded from the rule below,
+     * an occurrence is stored only once it is reserved or changed
+     */
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean virtualOccurrences;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "calendar_id")
+    private Calendar calendar;
+
+    private LocalDate startDate;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private Integer maximumCapacity;
+
+    private Integer price;
+
+    private Integer discountPrice;
+
+    private String title;
+
+    private String description;
+
+    /**
+     * Dates the rule does not produce a virtual occurrence for, either because the occurrence was deleted
+     * or because it is already stored as an event
+     */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "recurrence_group_excluded_date", joinColumns = @JoinColumn(name = "recurrence_group_id"))
+    @Column(name = "excluded_date")
+    private Set<LocalDate> excludedDates = new HashSet<>();
+
     @OneToMany(mappedBy = "recurrenceGroup", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
     private List<Event> events;
 }
@@ -0,0 +1,18 @@
+package com.example.sportsreservationsystembackend.repository;
+
+import com.example.sportsreservationsystembackend.model.BalanceTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * This interface represents balance transaction repository
+ * @author Radim Stejskal
+ */
+
+@Repository
+public interface BalanceTransactionRepository extends JpaRepository<BalanceTransaction, String> {
+
+    List<BalanceTransaction> findAllByUserIdOrderByCreatedAtDesc(String userId);
+}
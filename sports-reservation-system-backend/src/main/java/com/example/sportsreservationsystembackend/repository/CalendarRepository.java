@@ -3,8 +3,12 @@ package com.example.sportsreservationsystembackend.repository;
 import com.example.sportsreservationsystembackend.model.Calendar;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * This interface represents calendar repository
  * @author Radim Stejskal
@@ -15,4 +19,7 @@ public interface CalendarRepository extends JpaRepository<Calendar, String>, Jpa
 
     boolean existsByName(String name);
 
+    @Query("SELECT c.thumbnailChecksum FROM Calendar c WHERE c.id = :calendarId")
+    Optional<String> findThumbnailChecksumById(@Param("calendarId") String calendarId);
+
 }
@@ -0,0 +1,14 @@
+package com.example.sportsreservationsystembackend.repository;
+
+import com.example.sportsreservationsystembackend.model.CalendarThumbnail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * This interface represents calendar thumbnail repository
+ * @author Radim Stejskal
+ */
+
+@Repository
+public interface CalendarThumbnailRepository extends JpaRepository<CalendarThumbnail, String> {
+}
@@ -0,0 +1,72 @@
+package com.example.sportsreservationsystembackend.repository;
+
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.service.config.RecurrenceConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * This class writes events in JDBC batches, bypassing the persistence context. It is used for materializing
+ * recurring events, where saving entities one by one costs a round trip and lifecycle callbacks per occurrence.
+ * @author Radim Stejskal
+ */
+
+@Repository
+@RequiredArgsConstructor
+public class EventBatchRepository {
+
+    private static final String INSERT_EVENT = "INSERT INTO event (id, calendar_id, date, day_of_week, start_time, end_time, " +
+            "maximum_capacity, price, discount_price, title, description, recurrence_group_id, reserved_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecurrenceConfig recurrenceConfig;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * This method inserts given new events, ids and days of week are assigned here. Pending changes
+     * of the persistence context are flushed first, so the calendar and recurrence group rows already exist.
+     * @param events events to be inserted, must reference persisted calendar and recurrence group
+     * @return inserted events
+     */
+    public List<Event> insertAll(List<Event> events) {
+        entityManager.flush();
+        for (Event event : events) {
+            event.setId(UUID.randomUUID().toString());
+            event.setDayOfWeek(event.getDate().getDayOfWeek().getValue());
+            event.setSpacesAvailable(event.getMaximumCapacity());
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, recurrenceConfig.getInsertBatchSize(), (statement, event) -> {
+            statement.setString(1, event.getId());
+            statement.setString(2, event.getCalendar().getId());
+            statement.setObject(3, event.getDate());
+            statement.setInt(4, event.getDayOfWeek());
+            statement.setObject(5, event.getStartTime());
+            statement.setObject(6, event.getEndTime());
+            statement.setInt(7, event.getMaximumCapacity());
+            statement.setInt(8, event.getPrice());
+            statement.setInt(9, event.getDiscountPrice());
+            statement.setString(10, event.getTitle());
+            if (event.getDescription() != null) {
+                statement.setString(11, event.getDescription());
+            } else {
+                statement.setNull(11, Types.VARCHAR);
+            }
+            if (event.getRecurrenceGroup() != null) {
+                statement.setString(12, event.getRecurrenceGroup().getId());
+            } else {
+                statement.setNull(12, Types.VARCHAR);
+            }
+        });
+        return events;
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.sportsreservationsystembackend.repository;
 
 import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.service.model.AvailabilityDelta;
+import com.example.sportsreservationsystembackend.service.model.EventInterval;
+import com.example.sportsreservationsystembackend.service.model.EventSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -22,27 +27,123 @@ import java.util.Set;
 @Repository
 public interface EventRepository extends JpaRepository<Event, String>, JpaSpecificationExecutor<Event> {
 
-    @Query("SELECT e FROM Event e " +
+    /**
+     * This method checks whether an event of the calendar overlaps given time on given date, no event is loaded
+     * @param calendarId id of the calendar
+     * @param eventId id of the checked event, it is not reported as overlapping itself, may be null
+     * @param date date
+     * @param startTime start time
+     * @param endTime end time
+     * @return true if there is overlapping event
+     */
+    @Query("SELECT CASE WHEN EXISTS (SELECT e.id FROM Event e " +
             "WHERE e.date = :date " +
-            "AND e.calendar.id = :calendarId AND :startTime < e.endTime AND :endTime > e.startTime AND (:eventId IS NULL OR e.id <> :eventId)")
-    List<Event> findOverlappingEventsForSingleEvent(@Param("calendarId") String calendarId,
-                                                    @Param("eventId") String eventId,
-                                                    @Param("date") LocalDate date,
-                                                    @Param("startTime") LocalTime startTime,
-                                                    @Param("endTime") LocalTime endTime);
-
-    @Query("SELECT e FROM Event e " +
+            "AND e.calendar.id = :calendarId AND :startTime < e.endTime AND :endTime > e.startTime AND (:eventId IS NULL OR e.id <> :eventId)) " +
+            "THEN true ELSE false END")
+    boolean existsOverlappingEvent(@Param("calendarId") String calendarId,
+                                   @Param("eventId") String eventId,
+                                   @Param("date") LocalDate date,
+                                   @Param("startTime") LocalTime startTime,
+                                   @Param("endTime") LocalTime endTime);
+
+    /**
+     * This method checks whether an event of the calendar overlaps given recurring event, no event is loaded
+     * @param calendarId id of the calendar
+     * @param recurringFrom first date of the series
+     * @param recurringTo last date of the series
+     * @param startTime start time
+     * @param endTime end time
+     * @param daysOfWeek days of week of the series, 1 is monday
+     * @return true if there is overlapping event
+     */
+    @Query("SELECT CASE WHEN EXISTS (SELECT e.id FROM Event e " +
             "WHERE e.date >= :recurringFrom AND e.date <= :recurringTo AND e.dayOfWeek IN :daysOfWeek AND e.calendar.id = :calendarId" +
-            " AND :startTime < e.endTime AND :endTime > e.startTime")
-    List<Event> findOverlappingEventsForRecurringEvent(@Param("calendarId") String calendarId,
-                                                       @Param("recurringFrom") LocalDate recurringFrom,
-                                                       @Param("recurringTo") LocalDate recurringTo,
-                                                       @Param("startTime") LocalTime startTime,
-                                                       @Param("endTime") LocalTime endTime,
-                                                       @Param("daysOfWeek") Set<Integer> daysOfWeek);
+            " AND :startTime < e.endTime AND :endTime > e.startTime) " +
+            "THEN true ELSE false END")
+    boolean existsOverlappingRecurringEvent(@Param("calendarId") String calendarId,
+                                            @Param("recurringFrom") LocalDate recurringFrom,
+                                            @Param("recurringTo") LocalDate recurringTo,
+                                            @Param("startTime") LocalTime startTime,
+                                            @Param("endTime") LocalTime endTime,
+                                            @Param("daysOfWeek") Set<Integer> daysOfWeek);
 
     List<Event> findAllByCalendarIdAndDateBetweenOrderByDateAsc(String calendarId, LocalDate from, LocalDate to);
 
+    /**
+     * This method reads events of the calendar in given date range as projections, so neither the calendar
+     * nor recurrence groups of the events are loaded, only the end of the recurrence is joined from the group
+     * @param calendarId id of the calendar
+     * @param from start date
+     * @param to end date
+     * @return events ordered by date and start time
+     */
+    @Query("SELECT new com.example.sportsreservationsystembackend.service.model.EventSummary(" +
+            "e.id, e.date, e.startTime, e.endTime, e.maximumCapacity, e.price, e.discountPrice, e.title, e.description, " +
+            "e.maximumCapacity - e.reservedCount, g.id, g.repeatUntil) " +
+            "FROM Event e LEFT JOIN e.recurrenceGroup g WHERE e.calendar.id = :calendarId AND e.date BETWEEN :from AND :to " +
+            "ORDER BY e.date ASC, e.startTime ASC")
+    List<EventSummary> findSummariesByCalendarId(@Param("calendarId") String calendarId,
+                                                 @Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to);
+
+    /**
+     * This method reads time intervals of all events from given date on, used to build the in-memory event index
+     * @param from start date
+     * @return intervals of events
+     */
+    @Query("SELECT new com.example.sportsreservationsystembackend.service.model.EventInterval(" +
+            "e.id, e.calendar.id, e.date, e.startTime, e.endTime) " +
+            "FROM Event e WHERE e.date >= :from")
+    List<EventInterval> findIntervalsFrom(@Param("from") LocalDate from);
+
+    /**
+     * Events following the given sort key (date, start time, id). The sort key is compared as a row value
+     * and bounded by the date, so the query seeks in the index of the sort key instead of filtering a scan
+     */
+    String FIND_ALL_AFTER = "SELECT e.* FROM event e " +
+            "WHERE e.date >= :date AND (e.date, e.start_time, e.id) > (:date, :startTime, :eventId) " +
+            "ORDER BY e.date, e.start_time, e.id";
+
+    /**
+     * Events of a calendar following the given sort key (date, start time, id)
+     */
+    String FIND_ALL_IN_CALENDAR_AFTER = "SELECT e.* FROM event e " +
+            "WHERE e.calendar_id = :calendarId AND e.date >= :date AND (e.date, e.start_time, e.id) > (:date, :startTime, :eventId) " +
+            "ORDER BY e.date, e.start_time, e.id";
+
+    /**
+     * This method reads events following the given sort key (date, start time, id), the cost of the query
+     * does not depend on how deep in the listing the page is and no count query is issued
+     * @param date date of the last event of the previous page
+     * @param startTime start time of the last event of the previous page
+     * @param eventId id of the last event of the previous page
+     * @param pageable limit of the page
+     * @return events ordered by date, start time and id
+     */
+    @Query(value = FIND_ALL_AFTER, nativeQuery = true)
+    List<Event> findAllAfter(@Param("date") LocalDate date,
+                             @Param("startTime") LocalTime startTime,
+                             @Param("eventId") String eventId,
+                             Pageable pageable);
+
+    /**
+     * This method reads events of a calendar following the given sort key (date, start time, id)
+     * @param calendarId id of the calendar
+     * @param date date of the last event of the previous page
+     * @param startTime start time of the last event of the previous page
+     * @param eventId id of the last event of the previous page
+     * @param pageable limit of the page
+     * @return events ordered by date, start time and id
+     */
+    @Query(value = FIND_ALL_IN_CALENDAR_AFTER, nativeQuery = true)
+    List<Event> findAllInCalendarAfter(@Param("calendarId") String calendarId,
+                                       @Param("date") LocalDate date,
+                                       @Param("startTime") LocalTime startTime,
+                                       @Param("eventId") String eventId,
+                                       Pageable pageable);
+
+    Optional<Event> findByRecurrenceGroupIdAndDate(String recurrenceGroupId, LocalDate date);
+
     Optional<Event> findByIdAndCalendarId(String eventId, String calendarId);
 
     List<Event> findAllByRecurrenceGroupId(String recurrenceGroupId);
@@ -51,6 +152,35 @@ public interface EventRepository extends JpaRepository<Event, String>, JpaSpecif
     @Query("UPDATE Event e SET e.title = :title, e.description = :description WHERE e.recurrenceGroup.id = :groupId")
     void updateEventSeries(@Param("groupId") String groupId, @Param("title") String title, @Param("description") String description);
 
+    /**
+     * This method atomically takes one space of the event, if there is any left
+     * @param eventId id of the event
+     * @return number of updated rows, 0 if the event is full
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.reservedCount = e.reservedCount + 1 WHERE e.id = :eventId AND e.reservedCount < e.maximumCapacity")
+    int incrementReservedCount(@Param("eventId") String eventId);
+
+    /**
+     * This method atomically releases one space of the event
+     * @param eventId id of the event
+     * @return number of updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.reservedCount = e.reservedCount - 1 WHERE e.id = :eventId AND e.reservedCount > 0")
+    int decrementReservedCount(@Param("eventId") String eventId);
+
+    /**
+     * This method reads current spaces available of the event, called after its reserved count was changed
+     * @param eventId id of the event
+     * @return availability of the event
+     */
+    @Query("SELECT new com.example.sportsreservationsystembackend.service.model.AvailabilityDelta(" +
+            "e.calendar.id, e.id, e.maximumCapacity - e.reservedCount) FROM Event e WHERE e.id = :eventId")
+    Optional<AvailabilityDelta> findAvailabilityById(@Param("eventId") String eventId);
+
     @Query("SELECT min(e.startTime) FROM Event e WHERE e.calendar.id = :calendarId")
     LocalTime findMinStartTimeByCalendarId(String calendarId);
 
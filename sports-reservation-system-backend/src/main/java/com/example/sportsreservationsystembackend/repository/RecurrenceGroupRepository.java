@@ -1,9 +1,19 @@
 package com.example.sportsreservationsystembackend.repository;
 
 import com.example.sportsreservationsystembackend.model.RecurrenceGroup;
+import com.example.sportsreservationsystembackend.service.model.RecurrenceDay;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * This interface represents recurrence group repository
  * @author Radim Stejskal
@@ -11,4 +21,40 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface RecurrenceGroupRepository extends JpaRepository<RecurrenceGroup, String> {
+
+    /**
+     * This method finds groups with virtual occurrences whose rule may produce an occurrence in given window
+     * @param calendarId id of the calendar, ignored if null
+     * @param from first date of the window, ignored if null
+     * @param to last date of the window, ignored if null
+     * @return groups with their excluded dates
+     */
+    @Query("SELECT DISTINCT g FROM RecurrenceGroup g LEFT JOIN FETCH g.excludedDates " +
+            "WHERE g.virtualOccurrences = true AND (:calendarId IS NULL OR g.calendar.id = :calendarId) " +
+            "AND (:from IS NULL OR g.repeatUntil > :from) AND (:to IS NULL OR g.startDate <= :to)")
+    List<RecurrenceGroup> findVirtualGroups(@Param("calendarId") String calendarId,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+
+    /**
+     * This method reads days of week of given groups as projections, so the groups themselves are not loaded
+     * @param groupIds ids of the groups
+     * @return days of week of the groups
+     */
+    @Query("SELECT new com.example.sportsreservationsystembackend.service.model.RecurrenceDay(g.id, d) " +
+            "FROM RecurrenceGroup g JOIN g.daysOfWeek d WHERE g.id IN :groupIds")
+    List<RecurrenceDay> findDaysOfWeek(@Param("groupIds") Collection<String> groupIds);
+
+    @Query("SELECT g FROM RecurrenceGroup g LEFT JOIN FETCH g.excludedDates WHERE g.id = :groupId")
+    Optional<RecurrenceGroup> findWithExcludedDates(@Param("groupId") String groupId);
+
+    @Modifying
+    @Query("UPDATE RecurrenceGroup g SET g.title = :title, g.description = :description WHERE g.id = :groupId")
+    void updateRule(@Param("groupId") String groupId, @Param("title") String title, @Param("description") String description);
+
+    @Query("SELECT min(g.startTime) FROM RecurrenceGroup g WHERE g.virtualOccurrences = true AND g.calendar.id = :calendarId")
+    LocalTime findMinStartTimeByCalendarId(@Param("calendarId") String calendarId);
+
+    @Query("SELECT max(g.endTime) FROM RecurrenceGroup g WHERE g.virtualOccurrences = true AND g.calendar.id = :calendarId")
+    LocalTime findMaxEndTimeByCalendarId(@Param("calendarId") String calendarId);
 }
@@ -0,0 +1,17 @@
+package com.example.sportsreservationsystembackend.repository;
+
+import com.example.sportsreservationsystembackend.model.Reservation;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * This interface represents keyset pagination of reservations, implemented by {@link ReservationKeysetRepositoryImpl}
+ * @author Radim Stejskal
+ */
+public interface ReservationKeysetRepository {
+
+    List<Reservation> findAllAfter(String calendarId, String ownerId, String eventId,
+                                   LocalDate date, LocalTime startTime, String reservationId, int limit);
+}
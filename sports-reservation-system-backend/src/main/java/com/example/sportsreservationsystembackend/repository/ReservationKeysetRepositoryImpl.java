@@ -0,0 +1,77 @@
+package com.example.sportsreservationsystembackend.repository;
+
+import com.example.sportsreservationsystembackend.model.Reservation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * This class reads reservations by keyset pagination. Only the given filters are part of the query,
+ * so the database can seek in the index of the filtered column instead of evaluating optional conditions.
+ * @author Radim Stejskal
+ */
+public class ReservationKeysetRepositoryImpl implements ReservationKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * This method reads reservations following the given sort key (event date, event start time, id),
+     * the cost of the query does not depend on how deep in the listing the page is and no count query is issued
+     * @param calendarId id of the calendar, ignored if null
+     * @param ownerId id of the owner, ignored if null
+     * @param eventId id of the event, ignored if null
+     * @param date event date of the last reservation of the previous page
+     * @param startTime event start time of the last reservation of the previous page
+     * @param reservationId id of the last reservation of the previous page
+     * @param limit maximum number of reservations
+     * @return reservations ordered by event date, event start time and id
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Reservation> findAllAfter(String calendarId, String ownerId, String eventId,
+                                          LocalDate date, LocalTime startTime, String reservationId, int limit) {
+        Query query = entityManager.createNativeQuery(findAllAfterSql(calendarId != null, ownerId != null, eventId != null), Reservation.class)
+                .setParameter("date", date)
+                .setParameter("startTime", startTime)
+                .setParameter("reservationId", reservationId)
+                .setMaxResults(limit);
+        if (calendarId != null) {
+            query.setParameter("calendarId", calendarId);
+        }
+        if (ownerId != null) {
+            query.setParameter("ownerId", ownerId);
+        }
+        if (eventId != null) {
+            query.setParameter("eventId", eventId);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * This method returns query of reservations following the given sort key. The sort key is compared as a row value
+     * and bounded by the date, so the query seeks in the index of the sort key of events
+     * @param calendar filter by calendar
+     * @param owner filter by owner
+     * @param event filter by event
+     * @return query with named parameters
+     */
+    static String findAllAfterSql(boolean calendar, boolean owner, boolean event) {
+        StringBuilder sql = new StringBuilder("SELECT r.* FROM reservation r JOIN event e ON e.id = r.event_id " +
+                "WHERE e.date >= :date AND (e.date, e.start_time, r.id) > (:date, :startTime, :reservationId)");
+        if (calendar) {
+            sql.append(" AND e.calendar_id = :calendarId");
+        }
+        if (owner) {
+            sql.append(" AND r.owner_id = :ownerId");
+        }
+        if (event) {
+            sql.append(" AND r.event_id = :eventId");
+        }
+        return sql.append(" ORDER BY e.date, e.start_time, r.id").toString();
+    }
+}
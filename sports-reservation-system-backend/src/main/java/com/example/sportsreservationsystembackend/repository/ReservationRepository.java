@@ -17,7 +17,8 @@ import java.time.LocalDate;
  */
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, String>, JpaSpecificationExecutor<Reservation> {
+public interface ReservationRepository extends JpaRepository<Reservation, String>, JpaSpecificationExecutor<Reservation>,
+        ReservationKeysetRepository {
 
     boolean existsByEventIdAndAndOwnerId(String eventId, String ownerId);
 
@@ -2,9 +2,16 @@ package com.example.sportsreservationsystembackend.repository;
 
 import com.example.sportsreservationsystembackend.model.AppUser;
 import com.example.sportsreservationsystembackend.model.UserRole;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,4 +29,51 @@ public interface UserRepository extends JpaRepository<AppUser, String>, JpaSpeci
     Optional<AppUser> findByEmail(String email);
 
     List<AppUser> findAllByRole(UserRole role);
+
+    /**
+     * This method atomically subtracts amount from user's balance, if the balance is sufficient
+     * @param userId id of the user
+     * @param amount amount to subtract
+     * @return number of updated rows, 0 if the balance is insufficient
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AppUser u SET u.balance = u.balance - :amount WHERE u.id = :userId AND u.balance >= :amount")
+    int debitBalance(@Param("userId") String userId, @Param("amount") int amount);
+
+    /**
+     * This method atomically adds amount to user's balance
+     * @param userId id of the user
+     * @param amount amount to add
+     * @return number of updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AppUser u SET u.balance = u.balance + :amount WHERE u.id = :userId")
+    int creditBalance(@Param("userId") String userId, @Param("amount") int amount);
+
+    /**
+     * This method reads users following the given sort key (first name, id), the cost of the query
+     * does not depend on how deep in the listing the page is and no count query is issued
+     * @param fulltext like pattern matched against first name, last name and email, ignored if null
+     * @param role role of the users, ignored if null
+     * @param firstName first name of the last user of the previous page
+     * @param userId id of the last user of the previous page
+     * @param pageable limit of the page
+     * @return users ordered by first name and id
+     */
+    @Query("SELECT u FROM AppUser u " +
+            "WHERE (:fulltext IS NULL OR u.firstName LIKE :fulltext OR u.lastName LIKE :fulltext OR u.email LIKE :fulltext) " +
+            "AND (:role IS NULL OR u.role = :role) " +
+            "AND (u.firstName > :firstName OR (u.firstName = :firstName AND u.id > :userId)) " +
+            "ORDER BY u.firstName ASC, u.id ASC")
+    List<AppUser> findAllAfter(@Param("fulltext") String fulltext,
+                               @Param("role") UserRole role,
+                               @Param("firstName") String firstName,
+                               @Param("userId") String userId,
+                               Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM AppUser u WHERE u.id = :userId")
+    Optional<AppUser> findByIdForUpdate(@Param("userId") String userId);
 }
@@ -1,6 +1,10 @@
 package com.example.sportsreservationsystembackend.rest.api;
 
+import com.example.sportsreservationsystembackend.exceptions.ResourceNotFoundException;
+import com.example.sportsreservationsystembackend.model.CalendarThumbnail;
+import com.example.sportsreservationsystembackend.service.AvailabilityBroadcaster;
 import com.example.sportsreservationsystembackend.service.CalendarService;
+import com.example.sportsreservationsystembackend.service.CalendarThumbnailService;
 import com.example.sportsreservationsystembackend.service.EventService;
 import com.example.sportsreservationsystembackend.service.ReservationService;
 import com.xstejsk.reservationapp.main.rest.api.CalendarsApi;
@@ -14,12 +18,24 @@ import com.xstejsk.reservationapp.main.rest.model.ReservationDTO;
 import com.xstejsk.reservationapp.main.rest.model.UpdateCalendarRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents calendar controller
@@ -36,6 +52,8 @@ public class CalendarController implements CalendarsApi {
     private final CalendarService calendarService;
     private final EventService eventService;
     private final ReservationService reservationService;
+    private final CalendarThumbnailService calendarThumbnailService;
+    private final AvailabilityBroadcaster availabilityBroadcaster;
 
     /**
      * This method is used for getting creation of a calendar
@@ -122,4 +140,46 @@ public class CalendarController implements CalendarsApi {
         CalendarDTO calendarDTO = calendarService.update(calendarId, updateCalendarRequest);
         return ResponseEntity.ok().body(calendarDTO);
     }
+
+    /**
+     * This method is used for retrieving a thumbnail of a calendar. The image is loaded only when the client
+     * does not have the current version, responses to versioned urls from calendar DTOs are cached permanently.
+     * @param calendarId  (required)
+     * @param v version of the thumbnail (optional)
+     * @return thumbnail image
+     */
+    @Override
+    public ResponseEntity<Resource> getCalendarThumbnail(String calendarId, String v) {
+        String checksum = calendarThumbnailService.getChecksum(calendarId);
+        String eTag = "\"" + checksum + "\"";
+        CacheControl cacheControl = v != null && !v.isEmpty() && checksum.startsWith(v)
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        if (new ServletWebRequest(attributes.getRequest(), attributes.getResponse()).checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+        CalendarThumbnail thumbnail = calendarThumbnailService.getThumbnail(calendarId);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(thumbnail.getContentType()))
+                .contentLength(thumbnail.getContent().length)
+                .body(new ByteArrayResource(thumbnail.getContent()));
+    }
+
+    /**
+     * This method is used for subscribing to changes of spaces available of events of a calendar.
+     * Changes are streamed as server-sent events, the client loads the calendar again when it receives resync.
+     * The stream is not part of the OpenAPI contract, because generated interfaces can not return an emitter.
+     * @param calendarId  (required)
+     * @return stream of availability changes
+     */
+    @GetMapping(value = "/calendars/{calendarId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCalendarAvailability(@PathVariable String calendarId) {
+        if (!calendarService.exists(calendarId)) {
+            throw new ResourceNotFoundException("Calendar with id: " + calendarId + " not found");
+        }
+        return availabilityBroadcaster.subscribe(calendarId);
+    }
 }
@@ -45,12 +45,13 @@ public class EventController implements EventsApi {
      * @param calendarId id of a calendar (optional)
      * @param page  (optional)
      * @param size  (optional)
+     * @param continuationToken token returned with the previous page, switches to keyset pagination (optional)
      * @return
      */
     @Override
-    public ResponseEntity<EventsPage> getAllEvents(LocalDate from, String calendarId, Integer page, Integer size) {
+    public ResponseEntity<EventsPage> getAllEvents(LocalDate from, String calendarId, Integer page, Integer size, String continuationToken) {
         log.info("Getting events with params: from: {}, calendarId: {}, page: {}, size: {}", from, calendarId, page, size);
-        EventsPage eventsPage = eventService.getAll(from, calendarId, page, size);
+        EventsPage eventsPage = eventService.getAll(from, calendarId, page, size, continuationToken);
         return ResponseEntity.ok().body(eventsPage);
     }
 
@@ -34,13 +34,14 @@ public class ReservationController implements ReservationsApi {
      * @param eventId id of the event (optional)
      * @param page  (optional)
      * @param size  (optional)
+     * @param continuationToken token returned with the previous page, switches to keyset pagination (optional)
      * @return reservations page
      */
 
     @Override
-    public ResponseEntity<ReservationsPage> getAllReservations(LocalDate from, String calendarId, String ownerId, String eventId, Integer page, Integer size) {
+    public ResponseEntity<ReservationsPage> getAllReservations(LocalDate from, String calendarId, String ownerId, String eventId, Integer page, Integer size, String continuationToken) {
         log.info("getAllReservations: from={}, calendarId={}, ownerId={}, eventId={}, page={}, size={}", from, calendarId, ownerId, eventId, page, size);
-        ReservationsPage reservationsPage = reservationService.getAllReservations(from, calendarId, ownerId, eventId, page, size);
+        ReservationsPage reservationsPage = reservationService.getAllReservations(from, calendarId, ownerId, eventId, page, size, continuationToken);
         return ResponseEntity.ok().body(reservationsPage);
     }
 
@@ -61,13 +61,14 @@ public class UserController implements UsersApi {
      * @param size page size, default is 50 (optional)
      * @param fulltext  (optional)
      * @param role  (optional)
+     * @param continuationToken token returned with the previous page, switches to keyset pagination (optional)
      * @return page of users
      */
 
     @Override
-    public ResponseEntity<UsersPage> getUsers(Integer page, Integer size, String fulltext, String role) {
+    public ResponseEntity<UsersPage> getUsers(Integer page, Integer size, String fulltext, String role, String continuationToken) {
         log.info("getUsers: page={}, size={}, fulltext={}, role={}", page, size, fulltext, role);
-        UsersPage usersPage = userService.getAll(fulltext, role, page, size);
+        UsersPage usersPage = userService.getAll(fulltext, role, page, size, continuationToken);
         return ResponseEntity.ok().body(usersPage);
     }
 
@@ -0,0 +1,45 @@
+package com.example.sportsreservationsystembackend.rest.api.actuator;
+
+import com.example.sportsreservationsystembackend.service.EventIntervalIndex;
+import com.example.sportsreservationsystembackend.service.model.EventIndexReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class represents actuator endpoint for checking the in-memory event index against the database
+ *
+ * @Author Radim Stejskal
+ */
+
+@Component
+@Endpoint(id = "eventindex")
+@RequiredArgsConstructor
+@Slf4j
+public class EventIndexEndpoint {
+
+    private final EventIntervalIndex eventIntervalIndex;
+
+    /**
+     * This method compares the index with the database
+     * @return report of differences
+     */
+    @ReadOperation
+    public EventIndexReport verify() {
+        return eventIntervalIndex.verify();
+    }
+
+    /**
+     * This method rebuilds the index from the database
+     * @return report after the rebuild
+     */
+    @WriteOperation
+    public EventIndexReport rebuild() {
+        log.info("Rebuilding event index on request");
+        eventIntervalIndex.rebuild();
+        return eventIntervalIndex.verify();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.sportsreservationsystembackend.rest.api.actuator;
+
+import com.example.sportsreservationsystembackend.service.SqlStatisticsService;
+import com.example.sportsreservationsystembackend.service.model.HandlerSqlStatistics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * This class represents actuator endpoint with SQL statistics of requests by controller method
+ *
+ * @Author Radim Stejskal
+ */
+
+@Component
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatisticsEndpoint {
+
+    private final SqlStatisticsService sqlStatisticsService;
+
+    /**
+     * This method returns statistics of all controller methods
+     * @return statistics, the controller methods executing most statements first
+     */
+    @ReadOperation
+    public List<HandlerSqlStatistics> statistics() {
+        return sqlStatisticsService.getStatistics();
+    }
+
+    /**
+     * This method clears the statistics, e.g. before measuring a single scenario
+     */
+    @DeleteOperation
+    public void reset() {
+        log.info("Resetting SQL statistics on request");
+        sqlStatisticsService.reset();
+    }
+}
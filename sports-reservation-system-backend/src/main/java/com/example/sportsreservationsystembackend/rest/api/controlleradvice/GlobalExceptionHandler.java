@@ -14,6 +14,7 @@ import com.example.sportsreservationsystembackend.exceptions.PasswordMissmatchEx
 import com.example.sportsreservationsystembackend.exceptions.PastEventException;
 import com.example.sportsreservationsystembackend.exceptions.ResourceNotFoundException;
 import com.example.sportsreservationsystembackend.exceptions.ResourceNotOwnedException;
+import com.example.sportsreservationsystembackend.exceptions.TooManySubscribersException;
 import com.example.sportsreservationsystembackend.exceptions.InvalidRefreshTokenException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -194,6 +195,13 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
     }
 
+    @ExceptionHandler(TooManySubscribersException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<Object> handleTooManySubscribersException(Exception exception) {
+        log.warn("Subscription rejected: {}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(exception.getMessage());
+    }
+
     @ExceptionHandler(PastEventException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<Object> handlePastEventException(Exception exception) {
@@ -1,16 +1,23 @@
 package com.example.sportsreservationsystembackend.rest.mapper;
 
 import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.service.CalendarThumbnailService;
 import com.example.sportsreservationsystembackend.service.LocationService;
+import com.example.sportsreservationsystembackend.service.model.EventSummary;
 import com.example.sportsreservationsystembackend.utils.MappingService;
 import com.xstejsk.reservationapp.main.rest.model.CalendarDTO;
 import com.xstejsk.reservationapp.main.rest.model.CalendarWithEventsDTO;
 import com.xstejsk.reservationapp.main.rest.model.CreateCalendarRequest;
+import com.xstejsk.reservationapp.main.rest.model.EventDTO;
+import com.xstejsk.reservationapp.main.rest.model.Recurrence;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.DayOfWeek;
+import java.util.List;
+
 /**
  * This class represents calendar mapper
  *
@@ -28,12 +35,16 @@ public abstract class CalendarMapper {
     @Autowired
     protected MappingService mappingService;
 
+    @Autowired
+    protected CalendarThumbnailService calendarThumbnailService;
+
     /**
      * This method is used for mapping create calendar request to calendar
      * @param calendarRequest
      * @return calendar
      */
     @Mapping(target= "location", expression = "java(locationService.findById(calendarRequest.getLocationId()))")
+    @Mapping(target = "thumbnailChecksum", ignore = true)
     public abstract Calendar createCalendarRequestToCalendar(CreateCalendarRequest calendarRequest);
 
     /**
@@ -43,6 +54,7 @@ public abstract class CalendarMapper {
      */
     @Mapping(target = "minTime", expression = "java(mappingService.findMinTime(calendar.getId()))")
     @Mapping(target = "maxTime", expression = "java(mappingService.findMaxTime(calendar.getId()))")
+    @Mapping(target = "thumbnailUrl", expression = "java(calendarThumbnailService.getThumbnailUrl(calendar))")
     public abstract CalendarDTO calendarToCalendarDTO(Calendar calendar);
 
 
@@ -51,5 +63,44 @@ public abstract class CalendarMapper {
      * @param calendar
      * @return calendar with events DTO
      */
+    @Mapping(target = "thumbnailUrl", expression = "java(calendarThumbnailService.getThumbnailUrl(calendar))")
     public abstract CalendarWithEventsDTO calendarToCalendarWithEventsDTO(Calendar calendar);
+
+    /**
+     * This method is used for mapping calendar and its events read by projection query to calendar with events DTO,
+     * min and max time are computed from the given events
+     * @param calendar
+     * @param events
+     * @return calendar with events DTO
+     */
+    @Mapping(target = "id", source = "calendar.id")
+    @Mapping(target = "name", source = "calendar.name")
+    @Mapping(target = "thumbnailUrl", expression = "java(calendarThumbnailService.getThumbnailUrl(calendar))")
+    @Mapping(target = "events", source = "events")
+    @Mapping(target = "minTime", expression = "java(mappingService.findMinTime(events))")
+    @Mapping(target = "maxTime", expression = "java(mappingService.findMaxTime(events))")
+    public abstract CalendarWithEventsDTO calendarToCalendarWithEventsDTO(Calendar calendar, List<EventSummary> events);
+
+    /**
+     * This method is used for mapping event read by projection query to event DTO
+     * @param eventSummary
+     * @return event DTO
+     */
+    @Mapping(target = "recurrence", expression = "java(getRecurrence(eventSummary))")
+    public abstract EventDTO eventSummaryToEventDTO(EventSummary eventSummary);
+
+    /**
+     * This method is used for mapping recurrence of event read by projection query to recurrence of event DTO,
+     * the same way as for events read as entities
+     * @param eventSummary
+     * @return recurrence, empty for single events
+     */
+    public Recurrence getRecurrence(EventSummary eventSummary) {
+        Recurrence recurrence = new Recurrence();
+        if (eventSummary.getRecurrenceGroupId() != null) {
+            recurrence.setDaysOfWeek(eventSummary.getDaysOfWeek().stream().map(DayOfWeek::getValue).toList());
+            recurrence.setRepeatUntil(eventSummary.getRepeatUntil().toString());
+        }
+        return recurrence;
+    }
 }
@@ -9,12 +9,12 @@ import com.xstejsk.reservationapp.main.rest.model.EventsPage;
 import com.xstejsk.reservationapp.main.rest.model.ReservationsPage;
 import com.xstejsk.reservationapp.main.rest.model.UsersPage;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * This class represents page mapper
@@ -31,34 +31,32 @@ public class PageMapper {
     private final AppUserMapper usersMapper;
     private final CalendarMapper calendarMapper;
 
-    private <T> T createDtoPage(Page<?> page, Class<T> dtoPageClass) {
-        T dtoPage;
-        try {
-            dtoPage = dtoPageClass.newInstance();
-            BeanUtils.copyProperties(page, dtoPage);
-        } catch (InstantiationException | IllegalAccessException e) {
-            throw new RuntimeException("Error creating DTO page instance", e);
-        }
-        return dtoPage;
-    }
-
-    private <T> void setContent(Object dtoPage, List<T> content) {
-        try {
-            Method setContentMethod = dtoPage.getClass().getMethod("setContent", List.class);
-            setContentMethod.invoke(dtoPage, content);
-        } catch (Exception e) {
-            throw new RuntimeException("Error setting 'records' property", e);
-        }
-    }
-
     /**
      * This method is used for mapping page of reservations to reservations page DTO
      * @param page
      * @return reservations page DTO
      */
     public ReservationsPage toReservationsPage(Page<Reservation> page) {
-        ReservationsPage reservationsPage = createDtoPage(page, ReservationsPage.class);
-        setContent(reservationsPage, page.getContent().stream().map(reservationsMapper::reservationToReservationDTO).toList());
+        ReservationsPage reservationsPage = new ReservationsPage();
+        reservationsPage.setNumber(page.getNumber());
+        reservationsPage.setSize(page.getSize());
+        reservationsPage.setTotalPages(page.getTotalPages());
+        reservationsPage.setTotalElements(page.getTotalElements());
+        reservationsPage.setContent(mapContent(page.getContent(), reservationsMapper::reservationToReservationDTO));
+        return reservationsPage;
+    }
+
+    /**
+     * This method is used for mapping keyset page of reservations to reservations page DTO,
+     * page number and totals are not known for keyset pages
+     * @param content reservations of the page
+     * @param size page size
+     * @return reservations page DTO
+     */
+    public ReservationsPage toReservationsPage(List<Reservation> content, int size) {
+        ReservationsPage reservationsPage = new ReservationsPage();
+        reservationsPage.setSize(size);
+        reservationsPage.setContent(mapContent(content, reservationsMapper::reservationToReservationDTO));
         return reservationsPage;
     }
 
@@ -68,8 +66,26 @@ public class PageMapper {
      * @return events page DTO
      */
     public EventsPage toEventsPage(Page<Event> page) {
-        EventsPage eventsPage = createDtoPage(page, EventsPage.class);
-        setContent(eventsPage, page.getContent().stream().map(eventsMapper::eventToEventDTO).toList());
+        EventsPage eventsPage = new EventsPage();
+        eventsPage.setNumber(page.getNumber());
+        eventsPage.setSize(page.getSize());
+        eventsPage.setTotalPages(page.getTotalPages());
+        eventsPage.setTotalElements(page.getTotalElements());
+        eventsPage.setContent(mapContent(page.getContent(), eventsMapper::eventToEventDTO));
+        return eventsPage;
+    }
+
+    /**
+     * This method is used for mapping keyset page of events to events page DTO,
+     * page number and totals are not known for keyset pages
+     * @param content events of the page
+     * @param size page size
+     * @return events page DTO
+     */
+    public EventsPage toEventsPage(List<Event> content, int size) {
+        EventsPage eventsPage = new EventsPage();
+        eventsPage.setSize(size);
+        eventsPage.setContent(mapContent(content, eventsMapper::eventToEventDTO));
         return eventsPage;
     }
 
@@ -79,8 +95,26 @@ public class PageMapper {
      * @return users page DTO
      */
     public UsersPage toUsersPage(Page<AppUser> page) {
-        UsersPage usersPage = createDtoPage(page, UsersPage.class);
-        setContent(usersPage, page.getContent().stream().map(usersMapper::appUserToAppUserDTO).toList());
+        UsersPage usersPage = new UsersPage();
+        usersPage.setNumber(page.getNumber());
+        usersPage.setSize(page.getSize());
+        usersPage.setTotalPages(page.getTotalPages());
+        usersPage.setTotalElements(page.getTotalElements());
+        usersPage.setContent(mapContent(page.getContent(), usersMapper::appUserToAppUserDTO));
+        return usersPage;
+    }
+
+    /**
+     * This method is used for mapping keyset page of users to users page DTO,
+     * page number and totals are not known for keyset pages
+     * @param content users of the page
+     * @param size page size
+     * @return users page DTO
+     */
+    public UsersPage toUsersPage(List<AppUser> content, int size) {
+        UsersPage usersPage = new UsersPage();
+        usersPage.setSize(size);
+        usersPage.setContent(mapContent(content, usersMapper::appUserToAppUserDTO));
         return usersPage;
     }
 
@@ -90,8 +124,20 @@ public class PageMapper {
      * @return calendars page DTO
      */
     public CalendarsPage toCalendarsPage(Page<Calendar> page) {
-        CalendarsPage calendarsPage = createDtoPage(page, CalendarsPage.class);
-        setContent(calendarsPage, page.getContent().stream().map(calendarMapper::calendarToCalendarDTO).toList());
+        CalendarsPage calendarsPage = new CalendarsPage();
+        calendarsPage.setNumber(page.getNumber());
+        calendarsPage.setSize(page.getSize());
+        calendarsPage.setTotalPages(page.getTotalPages());
+        calendarsPage.setTotalElements(page.getTotalElements());
+        calendarsPage.setContent(mapContent(page.getContent(), calendarMapper::calendarToCalendarDTO));
         return calendarsPage;
     }
-}
\ No newline at end of file
+
+    private static <E, D> List<D> mapContent(List<E> content, Function<E, D> mapper) {
+        List<D> dtos = new ArrayList<>(content.size());
+        for (E element : content) {
+            dtos.add(mapper.apply(element));
+        }
+        return dtos;
+    }
+}
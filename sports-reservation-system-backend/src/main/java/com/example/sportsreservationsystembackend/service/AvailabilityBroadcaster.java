@@ -0,0 +1,15 @@
+package com.example.sportsreservationsystembackend.service;
+
+import com.example.sportsreservationsystembackend.service.model.AvailabilityDelta;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface AvailabilityBroadcaster {
+
+    SseEmitter subscribe(String calendarId);
+
+    void availabilityChanged(AvailabilityDelta delta);
+
+    void eventsChanged(String calendarId);
+
+    int getSubscriberCount();
+}
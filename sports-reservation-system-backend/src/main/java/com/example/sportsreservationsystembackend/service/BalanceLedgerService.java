@@ -0,0 +1,13 @@
+package com.example.sportsreservationsystembackend.service;
+
+import com.example.sportsreservationsystembackend.model.AppUser;
+import com.example.sportsreservationsystembackend.model.BalanceTransactionType;
+
+public interface BalanceLedgerService {
+
+    void debit(AppUser appUser, int amount, BalanceTransactionType type, String reference);
+
+    void credit(AppUser appUser, int amount, BalanceTransactionType type, String reference);
+
+    AppUser setBalance(String userId, int balance);
+}
@@ -0,0 +1,15 @@
+package com.example.sportsreservationsystembackend.service;
+
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.CalendarThumbnail;
+
+public interface CalendarThumbnailService {
+
+    String getChecksum(String calendarId);
+
+    CalendarThumbnail getThumbnail(String calendarId);
+
+    void setThumbnail(Calendar calendar, byte[] content);
+
+    String getThumbnailUrl(Calendar calendar);
+}
@@ -0,0 +1,14 @@
+package com.example.sportsreservationsystembackend.service;
+
+public interface CalendarVersionService {
+
+    String getEpoch();
+
+    long getCatalogVersion();
+
+    long getCalendarVersion(String calendarId);
+
+    void calendarChanged(String calendarId);
+
+    void eventsChanged(String calendarId);
+}
@@ -0,0 +1,31 @@
+package com.example.sportsreservationsystembackend.service;
+
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.service.model.EventIndexReport;
+import com.example.sportsreservationsystembackend.service.model.EventInterval;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface EventIntervalIndex {
+
+    void rebuild();
+
+    void add(Event event);
+
+    void addAll(List<Event> events);
+
+    void remove(Event event);
+
+    void removeCalendar(String calendarId);
+
+    Optional<EventInterval> findOverlap(String calendarId, String eventId, LocalDate date, LocalTime startTime, LocalTime endTime);
+
+    Optional<EventInterval> findOverlap(String calendarId, LocalDate from, LocalDate to, LocalTime startTime, LocalTime endTime, Set<DayOfWeek> daysOfWeek);
+
+    EventIndexReport verify();
+}
@@ -1,6 +1,7 @@
 package com.example.sportsreservationsystembackend.service;
 
 import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.service.model.EventSummary;
 import com.xstejsk.reservationapp.main.rest.model.CreateEventRequest;
 import com.xstejsk.reservationapp.main.rest.model.EventDTO;
 import com.xstejsk.reservationapp.main.rest.model.EventsPage;
@@ -11,7 +12,7 @@ import java.util.List;
 
 public interface EventService {
 
-    List<Event> getEventsByCalendarId(String calendarId, LocalDate from, LocalDate to);
+    List<EventSummary> getEventsByCalendarId(String calendarId, LocalDate from, LocalDate to);
 
     List<EventDTO> createEvent(String calendarId, CreateEventRequest createEventRequest);
 
@@ -21,7 +22,11 @@ public interface EventService {
 
     List<EventDTO> updateEvent(String eventId, UpdateEventRequest updateEventRequest);
 
-    EventsPage getAll(LocalDate from, String calendarId, Integer page, Integer size);
+    EventsPage getAll(LocalDate from, String calendarId, Integer page, Integer size, String continuationToken);
 
     boolean calendarContainsFutureEvents(String calendarId);
+
+    boolean reserveSpace(String eventId);
+
+    void releaseSpace(String eventId);
 }
@@ -0,0 +1,10 @@
+package com.example.sportsreservationsystembackend.service;
+
+import com.example.sportsreservationsystembackend.service.model.OutgoingEmail;
+
+public interface MailDispatchService {
+
+    boolean dispatch(OutgoingEmail email);
+
+    int getQueueDepth();
+}
@@ -2,9 +2,16 @@ package com.example.sportsreservationsystembackend.service;
 
 import com.example.sportsreservationsystembackend.model.RecurrenceGroup;
 
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface RecurrenceGroupService {
 
     RecurrenceGroup save(RecurrenceGroup recurrenceGroup);
 
     RecurrenceGroup delete(String recurrenceGroupId);
+
+    Map<String, List<DayOfWeek>> getDaysOfWeek(Collection<String> recurrenceGroupIds);
 }
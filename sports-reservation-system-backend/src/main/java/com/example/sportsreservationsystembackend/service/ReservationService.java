@@ -10,7 +10,7 @@ public interface ReservationService {
 
     ReservationDTO create(String calendarId, String eventId);
 
-    ReservationsPage getAllReservations(LocalDate from, String calendarId, String owner, String eventId, Integer page, Integer size);
+    ReservationsPage getAllReservations(LocalDate from, String calendarId, String owner, String eventId, Integer page, Integer size, String continuationToken);
 
     ReservationDTO delete(String reservationId);
 }
@@ -0,0 +1,15 @@
+package com.example.sportsreservationsystembackend.service;
+
+import com.example.sportsreservationsystembackend.service.model.HandlerSqlStatistics;
+import com.example.sportsreservationsystembackend.service.model.RequestSqlStatistics;
+
+import java.util.List;
+
+public interface SqlStatisticsService {
+
+    boolean record(String handler, RequestSqlStatistics statistics);
+
+    List<HandlerSqlStatistics> getStatistics();
+
+    void reset();
+}
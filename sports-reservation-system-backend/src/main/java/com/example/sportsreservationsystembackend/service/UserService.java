@@ -20,7 +20,7 @@ public interface UserService extends UserDetailsService {
 
     AppUser save(AppUser appUser);
 
-    UsersPage getAll(String fulltext, String role, Integer page, Integer size);
+    UsersPage getAll(String fulltext, String role, Integer page, Integer size, String continuationToken);
 
     AppUserDTO updateUserBalance(String userId, Integer balance);
 
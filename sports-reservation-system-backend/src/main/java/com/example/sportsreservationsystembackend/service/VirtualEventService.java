@@ -0,0 +1,48 @@
+package com.example.sportsreservationsystembackend.service;
+
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.model.RecurrenceGroup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+public interface VirtualEventService {
+
+    Comparator<Event> OCCURRENCE_ORDER = Comparator.comparing(Event::getDate)
+            .thenComparing(Event::getStartTime)
+            .thenComparing(Event::getId);
+
+    boolean isEnabled();
+
+    boolean isVirtualId(String eventId);
+
+    RecurrenceGroup createGroup(Event event, Calendar calendar);
+
+    List<Event> getOccurrences(RecurrenceGroup recurrenceGroup);
+
+    List<Event> getOccurrences(String calendarId, LocalDate from, LocalDate to, int limit);
+
+    List<Event> getOccurrencesAfter(String calendarId, LocalDate from, LocalDate date, LocalTime startTime, String eventId, int limit);
+
+    long countOccurrences(String calendarId, LocalDate from);
+
+    boolean hasOccurrences(String calendarId, LocalDate date, LocalTime startTime, LocalTime endTime);
+
+    boolean hasFutureOccurrences(String calendarId, LocalDateTime from);
+
+    boolean hasOccurrences(String calendarId, LocalDate from, LocalDate until, LocalTime startTime, LocalTime endTime, Set<DayOfWeek> daysOfWeek);
+
+    RecurrenceGroup getRecurrenceGroup(String eventId);
+
+    Event materialize(String calendarId, String eventId);
+
+    Event exclude(String eventId);
+
+    void updateSeries(String recurrenceGroupId, String title, String description);
+}
@@ -0,0 +1,28 @@
+package com.example.sportsreservationsystembackend.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * This class represents configuration of verified token and user principal caches used by the jwt filter
+ *
+ * @Author Radim Stejskal
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "auth.cache")
+public class AuthCacheConfig {
+
+    private long tokenMaximumSize = 10000;
+    private long principalMaximumSize = 10000;
+    /**
+     * How long a loaded user is reused. Invalidation after a change of role, password or status reaches only
+     * the instance which made the change, so other instances keep authorizing by the old state for at most this long.
+     */
+    private Duration principalTtl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,25 @@
+package com.example.sportsreservationsystembackend.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents configuration of the streams of availability changes of calendars
+ *
+ * @Author Radim Stejskal
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "calendar.stream")
+public class AvailabilityStreamConfig {
+
+    private int maxSubscribers = 10000;
+    private int bufferSize = 32;
+    private int writers = 4;
+    private long heartbeatIntervalMs = 25000;
+    private long timeoutMs = 1800000;
+    private long writeTimeoutMs = 10000;
+}
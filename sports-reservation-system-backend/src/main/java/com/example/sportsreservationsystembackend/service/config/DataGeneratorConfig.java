@@ -0,0 +1,68 @@
+package com.example.sportsreservationsystembackend.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents configuration of the synthetic data generator used by profile datagen
+ *
+ * @Author Radim Stejskal
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "datagen")
+public class DataGeneratorConfig {
+
+    /**
+     * Seed of the random generator, the same seed and sizes always generate the same data
+     */
+    private long seed = 42;
+
+    /**
+     * Number of generated users
+     */
+    private int users = 500_000;
+
+    /**
+     * Number of generated calendars
+     */
+    private int calendars = 1000;
+
+    /**
+     * Number of days before today with generated events
+     */
+    private int pastDays = 730;
+
+    /**
+     * Number of days from today on with generated events
+     */
+    private int futureDays = 180;
+
+    /**
+     * Number of events a day of the busiest calendar, at most 16 one hour events fit between 6:00 and 22:00
+     */
+    private int maxEventsPerDay = 16;
+
+    /**
+     * Exponent of the power law distributing events and reservations among calendars, 0 makes all calendars equally busy
+     */
+    private double hotCalendarSkew = 0.5;
+
+    /**
+     * Share of spaces reserved in events of the busiest calendar at peak hours
+     */
+    private double fillRatio = 0.9;
+
+    /**
+     * Maximum number of refresh tokens of a user
+     */
+    private int maxRefreshTokensPerUser = 3;
+
+    /**
+     * Number of rows sent to the database in a single batch
+     */
+    private int batchSize = 5000;
+}
@@ -0,0 +1,41 @@
+package com.example.sportsreservationsystembackend.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents configuration of schema migrations and seed data
+ *
+ * @Author Radim Stejskal
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "database")
+public class DatabaseConfig {
+
+    /**
+     * If set, the schema is dropped and migrated from scratch on every start
+     */
+    private boolean recreateSchema = false;
+
+    /**
+     * Scripts executed after migrations on every start, they must be safe to run repeatedly
+     */
+    private List<String> seedLocations = new ArrayList<>();
+
+    /**
+     * If set, seed scripts are not replayed when the schema was already seeded by the same scripts
+     */
+    private boolean skipSeededSchema = false;
+
+    /**
+     * Maximum number of rows inserted by a single statement when seed scripts are loaded
+     */
+    private int seedBatchSize = 500;
+}
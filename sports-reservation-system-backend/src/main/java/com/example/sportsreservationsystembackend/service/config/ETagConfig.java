@@ -0,0 +1,26 @@
+package com.example.sportsreservationsystembackend.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents configuration of ETags of public calendar and location reads
+ *
+ * @Author Radim Stejskal
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "http.etag")
+public class ETagConfig {
+
+    /**
+     * How long after rendering a response its ETag answers 304 by version counters alone. Counters live in a single
+     * instance and do not see changes made by other instances, so this bounds how long another instance can answer
+     * 304 for stale data, after that the response is rendered and compared again.
+     * 0 trusts the counters until they change, which is correct only with a single instance.
+     */
+    private long deepValidityMs = 5000;
+}
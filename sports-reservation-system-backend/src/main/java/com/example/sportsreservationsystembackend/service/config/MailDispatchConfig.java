@@ -0,0 +1,25 @@
+package com.example.sportsreservationsystembackend.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents configuration of the outgoing email dispatch queue
+ *
+ * @Author Radim Stejskal
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "email.dispatch")
+public class MailDispatchConfig {
+
+    private String sender = "myjavatenniscourts@gmail.com";
+    private int queueCapacity = 1000;
+    private int workers = 2;
+    private int batchSize = 20;
+    private long offerTimeoutMs = 200;
+    private long shutdownTimeoutMs = 10000;
+}
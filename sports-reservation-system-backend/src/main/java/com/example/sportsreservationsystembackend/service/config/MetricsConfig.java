@@ -0,0 +1,24 @@
+package com.example.sportsreservationsystembackend.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents configuration of access to metrics
+ *
+ * @Author Radim Stejskal
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "metrics")
+public class MetricsConfig {
+
+    /**
+     * Bearer token the Prometheus scraper sends to /actuator/prometheus instead of a user token.
+     * Empty leaves the endpoint to admins only.
+     */
+    private String scrapeToken = "";
+}
@@ -0,0 +1,39 @@
+package com.example.sportsreservationsystembackend.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents configuration of paged listings
+ *
+ * @Author Radim Stejskal
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationConfig {
+
+    private int maxPageSize = 1000;
+
+    /**
+     * Maximum number of events skipped by page number when virtual occurrences are merged into the listing,
+     * deeper pages have to be read with continuation token
+     */
+    private int maxOffset = 10_000;
+
+    /**
+     * This method returns page size to be used for the request, missing size and sizes over the limit
+     * are replaced by the maximum page size
+     * @param size requested page size
+     * @return page size
+     */
+    public int resolvePageSize(Integer size) {
+        if (size == null || size < 1 || size > maxPageSize) {
+            return maxPageSize;
+        }
+        return size;
+    }
+}
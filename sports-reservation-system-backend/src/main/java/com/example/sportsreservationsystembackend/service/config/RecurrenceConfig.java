@@ -0,0 +1,25 @@
+package com.example.sportsreservationsystembackend.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents configuration of recurring events
+ *
+ * @Author Radim Stejskal
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "events.recurrence")
+public class RecurrenceConfig {
+
+    private int insertBatchSize = 500;
+
+    /**
+     * If set, new recurring events store only their rule and occurrences are expanded when read
+     */
+    private boolean virtualOccurrences = false;
+}
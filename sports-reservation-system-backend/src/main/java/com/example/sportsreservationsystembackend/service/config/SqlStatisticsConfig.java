@@ -0,0 +1,51 @@
+package com.example.sportsreservationsystembackend.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class represents configuration of SQL statistics recorded per request and their query budgets
+ *
+ * @Author Radim Stejskal
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "sql.statistics")
+public class SqlStatisticsConfig {
+
+    /**
+     * If set, statements, entity loads, collection fetches and flushes are recorded for every request
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of statements of a request to a controller method without its own budget, 0 means no budget
+     */
+    private int defaultBudget = 0;
+
+    /**
+     * Maximum number of statements of a request by controller method, e.g. CalendarController.getAllCalendars
+     */
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    /**
+     * If set, requests over the budget fail instead of being only logged and counted. Test only, the budget is checked
+     * after the response was written, so a real client still gets the response and the failure only ends up in the log.
+     */
+    private boolean failOnExceededBudget = false;
+
+    /**
+     * This method returns query budget of given controller method
+     * @param handler controller method, e.g. CalendarController.getAllCalendars
+     * @return maximum number of statements, 0 if there is no budget
+     */
+    public int getBudget(String handler) {
+        return budgets.getOrDefault(handler, defaultBudget);
+    }
+}
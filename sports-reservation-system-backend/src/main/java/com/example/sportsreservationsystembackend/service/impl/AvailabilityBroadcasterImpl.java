@@ -0,0 +1,300 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.exceptions.TooManySubscribersException;
+import com.example.sportsreservationsystembackend.service.AvailabilityBroadcaster;
+import com.example.sportsreservationsystembackend.service.config.AvailabilityStreamConfig;
+import com.example.sportsreservationsystembackend.service.model.AvailabilityDelta;
+import com.example.sportsreservationsystembackend.utils.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class represents broadcaster of availability changes to subscribers of calendars, streamed as server-sent events.
+ * Subscribers are asynchronous requests, so an idle subscriber holds a connection but no thread.
+ * Every subscriber has a bounded buffer drained by a small pool of writers, and when its buffer overflows its pending
+ * changes are replaced by a request to load the calendar again. Writes to the servlet response block, so a write which
+ * does not finish within the write timeout evicts its subscriber and frees the writer for the others.
+ * Subscribers only learn about committed changes, changes of a rolled back transaction are never published.
+ *
+ * @Author Radim Stejskal
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityBroadcasterImpl implements AvailabilityBroadcaster {
+
+    static final String AVAILABILITY_EVENT = "availability";
+    static final String RESYNC_EVENT = "resync";
+
+    private final AvailabilityStreamConfig availabilityStreamConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private ExecutorService writers;
+    private ScheduledExecutorService heartbeat;
+    private Counter sentCounter;
+    private Counter overflowCounter;
+    private Counter evictionCounter;
+
+    /**
+     * This method registers metrics and starts the writers and the heartbeat
+     */
+    @PostConstruct
+    public void start() {
+        Gauge.builder("calendar.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Number of open availability streams")
+                .register(meterRegistry);
+        sentCounter = Counter.builder("calendar.stream.sent").register(meterRegistry);
+        overflowCounter = Counter.builder("calendar.stream.overflows")
+                .description("Changes dropped because the buffer of a subscriber was full")
+                .register(meterRegistry);
+        evictionCounter = Counter.builder("calendar.stream.evictions")
+                .description("Subscribers closed because a write did not finish within the write timeout")
+                .register(meterRegistry);
+
+        writers = Executors.newFixedThreadPool(availabilityStreamConfig.getWriters(), new CustomizableThreadFactory("calendar-stream-"));
+        heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("calendar-stream-heartbeat-"));
+        long interval = availabilityStreamConfig.getHeartbeatIntervalMs();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+        long writeCheckInterval = Math.max(1, availabilityStreamConfig.getWriteTimeoutMs() / 2);
+        heartbeat.scheduleAtFixedRate(this::evictStalledSubscribers, writeCheckInterval, writeCheckInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method stops the writers and closes all streams, clients reconnect to another instance
+     */
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+        writers.shutdownNow();
+        subscribers.values().forEach(calendarSubscribers -> calendarSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * This method opens stream of availability changes of the calendar
+     * @param calendarId id of the calendar
+     * @return emitter of the stream
+     */
+    @Override
+    public SseEmitter subscribe(String calendarId) {
+        if (subscriberCount.incrementAndGet() > availabilityStreamConfig.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new TooManySubscribersException("Too many subscribers of availability changes");
+        }
+        SseEmitter emitter = createEmitter(availabilityStreamConfig.getTimeoutMs());
+        Subscriber subscriber = new Subscriber(calendarId, emitter, new ArrayBlockingQueue<>(availabilityStreamConfig.getBufferSize()));
+        subscribers.compute(calendarId, (id, calendarSubscribers) -> {
+            Set<Subscriber> updated = calendarSubscribers == null ? ConcurrentHashMap.newKeySet() : calendarSubscribers;
+            updated.add(subscriber);
+            return updated;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        log.debug("Subscribed to availability of calendar {}, {} subscribers in total", calendarId, subscriberCount.get());
+        return emitter;
+    }
+
+    /**
+     * This method publishes new spaces available of the event to subscribers of its calendar
+     * @param delta changed availability
+     */
+    @Override
+    public void availabilityChanged(AvailabilityDelta delta) {
+        TransactionUtil.afterCommit(() -> publish(delta.getCalendarId(), delta));
+    }
+
+    /**
+     * This method tells subscribers of the calendar to load it again, used when its events were created, changed or deleted
+     * @param calendarId id of the changed calendar
+     */
+    @Override
+    public void eventsChanged(String calendarId) {
+        TransactionUtil.afterCommit(() -> publish(calendarId, Signal.RESYNC));
+    }
+
+    /**
+     * This method returns number of open streams
+     * @return number of subscribers
+     */
+    @Override
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * This method creates emitter of a new stream
+     * @param timeoutMs timeout of the stream
+     * @return emitter
+     */
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void publish(String calendarId, Object message) {
+        Set<Subscriber> calendarSubscribers = subscribers.get(calendarId);
+        if (calendarSubscribers != null) {
+            calendarSubscribers.forEach(subscriber -> enqueue(subscriber, message));
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Object message) {
+        if (!subscriber.queue.offer(message)) {
+            overflowCounter.increment();
+            subscriber.queue.clear();
+            subscriber.queue.offer(Signal.RESYNC);
+        }
+        schedule(subscriber);
+    }
+
+    private void sendHeartbeats() {
+        // comments keep idle connections open through proxies and reveal clients which went away
+        subscribers.values().forEach(calendarSubscribers -> calendarSubscribers.forEach(subscriber -> {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(Signal.HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }));
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Object message;
+            while (!subscriber.closed.get() && (message = subscriber.queue.poll()) != null) {
+                try {
+                    send(subscriber, message);
+                    sentCounter.increment();
+                } catch (IOException | IllegalStateException e) {
+                    // the container completes the emitter of a client which went away
+                    log.debug("Availability stream of calendar {} was closed", subscriber.calendarId, e);
+                    unsubscribe(subscriber);
+                    return;
+                }
+            }
+            subscriber.scheduled.set(false);
+        } while (!subscriber.closed.get() && !subscriber.queue.isEmpty() && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private void send(Subscriber subscriber, Object message) throws IOException {
+        subscriber.startWrite();
+        try {
+            subscriber.emitter.send(toEvent(message));
+        } finally {
+            if (subscriber.finishWrite()) {
+                // clears the interrupt of an evicted write, so it does not hit the next subscriber of this writer
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void evictStalledSubscribers() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(availabilityStreamConfig.getWriteTimeoutMs());
+        subscribers.values().forEach(calendarSubscribers -> calendarSubscribers.forEach(subscriber -> {
+            if (subscriber.evictIfWritingSince(deadline)) {
+                evictionCounter.increment();
+                log.debug("Availability stream of calendar {} did not accept a write in time, closing it", subscriber.calendarId);
+                unsubscribe(subscriber);
+                subscriber.emitter.completeWithError(new IOException("Write timeout of availability stream"));
+            }
+        }));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.computeIfPresent(subscriber.calendarId, (id, calendarSubscribers) -> {
+            calendarSubscribers.remove(subscriber);
+            return calendarSubscribers.isEmpty() ? null : calendarSubscribers;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(Object message) {
+        if (message instanceof AvailabilityDelta delta) {
+            return SseEmitter.event().name(AVAILABILITY_EVENT).data(delta, MediaType.APPLICATION_JSON);
+        }
+        if (message == Signal.RESYNC) {
+            return SseEmitter.event().name(RESYNC_EVENT).data("");
+        }
+        return SseEmitter.event().comment("heartbeat");
+    }
+
+    private enum Signal {
+        RESYNC,
+        HEARTBEAT
+    }
+
+    /**
+     * Open stream with its pending messages
+     */
+    private static final class Subscriber {
+
+        private final String calendarId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private Thread writer;
+        private long writeStartedAt;
+        private boolean evicted;
+
+        private Subscriber(String calendarId, SseEmitter emitter, BlockingQueue<Object> queue) {
+            this.calendarId = calendarId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private synchronized void startWrite() {
+            writer = Thread.currentThread();
+            writeStartedAt = System.nanoTime();
+        }
+
+        private synchronized boolean finishWrite() {
+            writer = null;
+            return evicted;
+        }
+
+        private synchronized boolean evictIfWritingSince(long deadline) {
+            if (writer == null || evicted || writeStartedAt - deadline > 0) {
+                return false;
+            }
+            evicted = true;
+            writer.interrupt();
+            return true;
+        }
+    }
+}
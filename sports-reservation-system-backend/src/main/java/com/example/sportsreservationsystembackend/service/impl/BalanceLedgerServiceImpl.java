@@ -0,0 +1,107 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.exceptions.InsufficientFundsException;
+import com.example.sportsreservationsystembackend.exceptions.ResourceNotFoundException;
+import com.example.sportsreservationsystembackend.model.AppUser;
+import com.example.sportsreservationsystembackend.model.BalanceTransaction;
+import com.example.sportsreservationsystembackend.model.BalanceTransactionType;
+import com.example.sportsreservationsystembackend.repository.BalanceTransactionRepository;
+import com.example.sportsreservationsystembackend.repository.UserRepository;
+import com.example.sportsreservationsystembackend.service.BalanceLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * This class represents balance ledger service implementation.
+ * Every change of user's balance is done by a single guarded update of the user row
+ * and recorded as an entry of the append-only balance_transaction table.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceLedgerServiceImpl implements BalanceLedgerService {
+
+    private final UserRepository userRepository;
+    private final BalanceTransactionRepository balanceTransactionRepository;
+
+    /**
+     * This method subtracts amount from user's balance
+     * @param appUser user to be charged
+     * @param amount amount to subtract
+     * @param type type of transaction
+     * @param reference reference of the transaction, e.g. id of reserved event
+     */
+    @Override
+    @Transactional
+    public void debit(AppUser appUser, int amount, BalanceTransactionType type, String reference) {
+        validateAmount(amount);
+        if (amount == 0) {
+            return;
+        }
+        if (userRepository.debitBalance(appUser.getId(), amount) == 0) {
+            throw new InsufficientFundsException("User has insufficient funds");
+        }
+        record(appUser, -amount, type, reference);
+        appUser.setBalance(appUser.getBalance() - amount);
+        log.info("User {} was charged {}", appUser.getEmail(), amount);
+    }
+
+    /**
+     * This method adds amount to user's balance
+     * @param appUser user to be credited
+     * @param amount amount to add
+     * @param type type of transaction
+     * @param reference reference of the transaction, e.g. id of reserved event
+     */
+    @Override
+    @Transactional
+    public void credit(AppUser appUser, int amount, BalanceTransactionType type, String reference) {
+        validateAmount(amount);
+        if (amount == 0) {
+            return;
+        }
+        if (userRepository.creditBalance(appUser.getId(), amount) == 0) {
+            throw new ResourceNotFoundException("User with id " + appUser.getId() + " not found");
+        }
+        record(appUser, amount, type, reference);
+        appUser.setBalance(appUser.getBalance() + amount);
+        log.info("User {} was credited {}", appUser.getEmail(), amount);
+    }
+
+    /**
+     * This method sets user's balance to given value and records the difference in the ledger
+     * @param userId id of user
+     * @param balance new balance
+     * @return updated user
+     */
+    @Override
+    @Transactional
+    public AppUser setBalance(String userId, int balance) {
+        AppUser appUser = userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User with id " + userId + " not found"));
+        int difference = balance - appUser.getBalance();
+        if (difference != 0) {
+            userRepository.creditBalance(userId, difference);
+            record(appUser, difference, BalanceTransactionType.BALANCE_ADJUSTMENT, null);
+            appUser.setBalance(balance);
+        }
+        return appUser;
+    }
+
+    private void record(AppUser appUser, int amount, BalanceTransactionType type, String reference) {
+        balanceTransactionRepository.save(new BalanceTransaction(appUser, amount, type, reference, LocalDateTime.now()));
+    }
+
+    private void validateAmount(int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+    }
+}
@@ -7,8 +7,12 @@ import com.example.sportsreservationsystembackend.repository.CalendarRepository;
 import com.example.sportsreservationsystembackend.rest.mapper.CalendarMapper;
 import com.example.sportsreservationsystembackend.rest.mapper.PageMapper;
 import com.example.sportsreservationsystembackend.service.CalendarService;
+import com.example.sportsreservationsystembackend.service.CalendarThumbnailService;
+import com.example.sportsreservationsystembackend.service.CalendarVersionService;
+import com.example.sportsreservationsystembackend.service.EventIntervalIndex;
 import com.example.sportsreservationsystembackend.service.EventService;
 import com.example.sportsreservationsystembackend.service.LocationService;
+import com.example.sportsreservationsystembackend.service.model.EventSummary;
 import com.xstejsk.reservationapp.main.rest.model.CalendarDTO;
 import com.xstejsk.reservationapp.main.rest.model.CalendarWithEventsDTO;
 import com.xstejsk.reservationapp.main.rest.model.CalendarsPage;
@@ -25,6 +29,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * This class represents calendar service implementation
@@ -41,6 +46,9 @@ public class CalendarServiceImpl implements CalendarService {
     private final EventService eventService;
     private final CalendarMapper calendarMapper;
     private final PageMapper pageMapper;
+    private final EventIntervalIndex eventIntervalIndex;
+    private final CalendarThumbnailService calendarThumbnailService;
+    private final CalendarVersionService calendarVersionService;
 
     /**
      * This method creates new calendar
@@ -48,12 +56,18 @@ public class CalendarServiceImpl implements CalendarService {
      * @return CalendarDTO
      */
     @Override
+    @Transactional
     public CalendarDTO create(CreateCalendarRequest createCalendarRequest) {
         log.info("Creating calendar with name: {}", createCalendarRequest.getName());
         validateNewCalendar(createCalendarRequest);
         Calendar calendar = calendarMapper.createCalendarRequestToCalendar(createCalendarRequest);
+        Calendar savedCalendar = calendarRepository.save(calendar);
+        if (createCalendarRequest.getThumbnail() != null && createCalendarRequest.getThumbnail().length > 0) {
+            calendarThumbnailService.setThumbnail(savedCalendar, createCalendarRequest.getThumbnail());
+        }
+        calendarVersionService.calendarChanged(calendar.getId());
         log.info("Calendar created: {}", calendar);
-        return calendarMapper.calendarToCalendarDTO(calendarRepository.save(calendar));
+        return calendarMapper.calendarToCalendarDTO(savedCalendar);
     }
 
     /**
@@ -71,6 +85,8 @@ public class CalendarServiceImpl implements CalendarService {
             throw new FutureEventsException("Calendar contains future events");
         }
         calendarRepository.deleteById(calendarId);
+        eventIntervalIndex.removeCalendar(calendarId);
+        calendarVersionService.calendarChanged(calendarId);
         log.info("Calendar with id: {} was deleted", calendarId);
     }
 
@@ -113,8 +129,8 @@ public class CalendarServiceImpl implements CalendarService {
     public CalendarWithEventsDTO getById(String calendarId, LocalDate eventsFrom, LocalDate eventsTo) {
         log.info("Getting calendar with id: {} and events from {} to {}", calendarId, eventsFrom, eventsTo);
         Calendar calendar = getEntityById(calendarId);
-        calendar.setEvents(eventService.getEventsByCalendarId(calendarId, eventsFrom, eventsTo));
-        return calendarMapper.calendarToCalendarWithEventsDTO(getEntityById(calendarId));
+        List<EventSummary> events = eventService.getEventsByCalendarId(calendarId, eventsFrom, eventsTo);
+        return calendarMapper.calendarToCalendarWithEventsDTO(calendar, events);
     }
 
     /**
@@ -135,12 +151,14 @@ public class CalendarServiceImpl implements CalendarService {
      * @return calendar DTO
      */
     @Override
+    @Transactional
     public CalendarDTO update(String calendarId, UpdateCalendarRequest updateCalendarRequest) {
         Calendar calendar = calendarRepository.findById(calendarId).orElseThrow(
                 () -> new ResourceNotFoundException("Calendar with id: " + calendarId + " not found"));
 
         updateNonEmptyFields(calendar, updateCalendarRequest);
         calendarRepository.save(calendar);
+        calendarVersionService.calendarChanged(calendarId);
         log.info("Calendar with id: {} was updated", calendarId);
         return calendarMapper.calendarToCalendarDTO(calendar);
     }
@@ -173,8 +191,7 @@ public class CalendarServiceImpl implements CalendarService {
             isUpdated = true;
         }
         if (updateCalendarRequest.getThumbnail() != null) {
-            calendar.setThumbnail(updateCalendarRequest.getThumbnail());
-            log.info("Calendar thumbnail updated");
+            calendarThumbnailService.setThumbnail(calendar, updateCalendarRequest.getThumbnail());
             isUpdated = true;
         }
         if (updateCalendarRequest.getLocationId() != null && !updateCalendarRequest.getLocationId().isEmpty()) {
@@ -0,0 +1,125 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.exceptions.ResourceNotFoundException;
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.CalendarThumbnail;
+import com.example.sportsreservationsystembackend.repository.CalendarRepository;
+import com.example.sportsreservationsystembackend.repository.CalendarThumbnailRepository;
+import com.example.sportsreservationsystembackend.service.CalendarThumbnailService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * This class represents calendar thumbnail service implementation. Thumbnails are stored apart from calendars
+ * and the calendar keeps only their checksum, which versions thumbnail urls and serves as their ETag.
+ *
+ * @Author Radim Stejskal
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarThumbnailServiceImpl implements CalendarThumbnailService {
+
+    private static final int URL_VERSION_LENGTH = 16;
+
+    private final CalendarRepository calendarRepository;
+    private final CalendarThumbnailRepository calendarThumbnailRepository;
+
+    /**
+     * This method gets checksum of thumbnail of a calendar without loading the image
+     * @param calendarId (required)
+     * @return checksum of the thumbnail
+     */
+    @Override
+    public String getChecksum(String calendarId) {
+        return calendarRepository.findThumbnailChecksumById(calendarId).orElseThrow(
+                () -> new ResourceNotFoundException("Thumbnail of calendar with id: " + calendarId + " not found"));
+    }
+
+    /**
+     * This method gets thumbnail of a calendar
+     * @param calendarId (required)
+     * @return thumbnail
+     */
+    @Override
+    public CalendarThumbnail getThumbnail(String calendarId) {
+        return calendarThumbnailRepository.findById(calendarId).orElseThrow(
+                () -> new ResourceNotFoundException("Thumbnail of calendar with id: " + calendarId + " not found"));
+    }
+
+    /**
+     * This method stores thumbnail of a calendar and updates its checksum in the calendar,
+     * the calendar has to be saved by the caller
+     * @param calendar saved calendar
+     * @param content image, empty image removes the thumbnail
+     */
+    @Override
+    @Transactional
+    public void setThumbnail(Calendar calendar, byte[] content) {
+        if (content.length == 0) {
+            calendarThumbnailRepository.deleteById(calendar.getId());
+            calendar.setThumbnailChecksum(null);
+            log.info("Thumbnail of calendar with id: {} was removed", calendar.getId());
+            return;
+        }
+        calendarThumbnailRepository.save(new CalendarThumbnail(calendar.getId(), content, contentType(content)));
+        calendar.setThumbnailChecksum(checksum(content));
+        log.info("Thumbnail of calendar with id: {} was updated", calendar.getId());
+    }
+
+    /**
+     * This method gets url of thumbnail of a calendar, the url changes with the thumbnail,
+     * so responses to it can be cached permanently
+     * @param calendar calendar
+     * @return url of the thumbnail relative to the server, null if the calendar has no thumbnail
+     */
+    @Override
+    public String getThumbnailUrl(Calendar calendar) {
+        if (calendar.getThumbnailChecksum() == null) {
+            return null;
+        }
+        return "/api/v1/calendars/" + calendar.getId() + "/thumbnail?v=" + calendar.getThumbnailChecksum().substring(0, URL_VERSION_LENGTH);
+    }
+
+    private static String contentType(byte[] content) {
+        if (startsWith(content, 0x89, 'P', 'N', 'G')) {
+            return "image/png";
+        }
+        if (startsWith(content, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(content, 'G', 'I', 'F')) {
+            return "image/gif";
+        }
+        if (startsWith(content, 'R', 'I', 'F', 'F') && content.length > 12 && content[8] == 'W' && content[9] == 'E' && content[10] == 'B' && content[11] == 'P') {
+            return "image/webp";
+        }
+        return "application/octet-stream";
+    }
+
+    private static boolean startsWith(byte[] content, int... prefix) {
+        if (content.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((content[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String checksum(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.service.CalendarVersionService;
+import com.example.sportsreservationsystembackend.utils.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class represents in-memory version counters of calendars, used as ETags of public calendar reads.
+ * Catalog version changes with anything shown in the list of calendars, calendar version changes with anything
+ * shown in the detail of the calendar. Versions are bumped after the changing transaction commits, so a version
+ * read before a response is rendered never describes older data than the response contains.
+ * Counters start from zero on every start, the random epoch keeps versions of different starts and instances apart.
+ * Counters see only changes made through this instance, with several instances ETagFilter limits how long
+ * a version is trusted, see http.etag.deep-validity-ms.
+ *
+ * @Author Radim Stejskal
+ */
+@Service
+@Slf4j
+public class CalendarVersionServiceImpl implements CalendarVersionService {
+
+    private final String epoch = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Map<String, AtomicLong> calendarVersions = new ConcurrentHashMap<>();
+
+    /**
+     * This method returns identifier of this instance and start of the application
+     * @return epoch of the versions
+     */
+    @Override
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * This method returns version of the list of calendars
+     * @return catalog version
+     */
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * This method returns version of the calendar with its events
+     * @param calendarId id of the calendar
+     * @return calendar version
+     */
+    @Override
+    public long getCalendarVersion(String calendarId) {
+        AtomicLong version = calendarVersions.get(calendarId);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * This method bumps versions of the calendar and of the list of calendars, used when the calendar or its events change
+     * @param calendarId id of the changed calendar
+     */
+    @Override
+    public void calendarChanged(String calendarId) {
+        TransactionUtil.afterCommit(() -> {
+            bump(calendarId);
+            catalogVersion.incrementAndGet();
+        });
+    }
+
+    /**
+     * This method bumps version of the calendar only, used when spaces available of its events change
+     * @param calendarId id of the changed calendar
+     */
+    @Override
+    public void eventsChanged(String calendarId) {
+        TransactionUtil.afterCommit(() -> bump(calendarId));
+    }
+
+    private void bump(String calendarId) {
+        // counters of deleted calendars are kept, so their old versions are never reused
+        calendarVersions.computeIfAbsent(calendarId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
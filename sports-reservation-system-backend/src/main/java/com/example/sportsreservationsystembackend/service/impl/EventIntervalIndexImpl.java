@@ -0,0 +1,269 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.repository.EventRepository;
+import com.example.sportsreservationsystembackend.service.EventIntervalIndex;
+import com.example.sportsreservationsystembackend.service.model.EventIndexReport;
+import com.example.sportsreservationsystembackend.service.model.EventInterval;
+import com.example.sportsreservationsystembackend.utils.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * This class represents in-memory index of time intervals occupied by stored events, used for overlap checks
+ * instead of loading events from the database. Events of each calendar are kept in a map sorted by date,
+ * the index contains events from the day it was built and is rebuilt from the database at startup.
+ * Changes made in a transaction are applied to the index after the transaction commits.
+ * Virtual occurrences of recurring events are not indexed, they are checked against their rules.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventIntervalIndexImpl implements EventIntervalIndex {
+
+    private static final int MAX_REPORTED_IDS = 100;
+
+    private final EventRepository eventRepository;
+
+    private final Map<String, CalendarIndex> calendars = new ConcurrentHashMap<>();
+    // changes and checks share the read lock, rebuild takes the write lock so no change is lost while reloading
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private volatile LocalDate indexedFrom;
+
+    /**
+     * This method loads all events from today on into the index
+     */
+    @Override
+    @PostConstruct
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            LocalDate from = LocalDate.now();
+            List<EventInterval> intervals = eventRepository.findIntervalsFrom(from);
+            calendars.clear();
+            intervals.forEach(this::index);
+            indexedFrom = from;
+            log.info("Indexed {} events of {} calendars in {} ms",
+                    intervals.size(), calendars.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method adds stored event to the index
+     * @param event stored event
+     */
+    @Override
+    public void add(Event event) {
+        EventInterval interval = toInterval(event);
+        TransactionUtil.afterCommit(() -> withReadLock(() -> index(interval)));
+    }
+
+    /**
+     * This method adds stored events to the index
+     * @param events stored events
+     */
+    @Override
+    public void addAll(List<Event> events) {
+        List<EventInterval> intervals = events.stream().map(this::toInterval).toList();
+        TransactionUtil.afterCommit(() -> withReadLock(() -> intervals.forEach(this::index)));
+    }
+
+    /**
+     * This method removes deleted event from the index
+     * @param event deleted event
+     */
+    @Override
+    public void remove(Event event) {
+        EventInterval interval = toInterval(event);
+        TransactionUtil.afterCommit(() -> withReadLock(() -> {
+            CalendarIndex calendarIndex = calendars.get(interval.getCalendarId());
+            if (calendarIndex != null) {
+                calendarIndex.remove(interval);
+            }
+        }));
+    }
+
+    /**
+     * This method removes all events of deleted calendar from the index
+     * @param calendarId id of deleted calendar
+     */
+    @Override
+    public void removeCalendar(String calendarId) {
+        TransactionUtil.afterCommit(() -> withReadLock(() -> calendars.remove(calendarId)));
+    }
+
+    /**
+     * This method finds indexed event overlapping given time on given date
+     * @param calendarId id of the calendar
+     * @param eventId id of the checked event, it is not reported as overlapping itself, may be null
+     * @param date date
+     * @param startTime start time
+     * @param endTime end time
+     * @return overlapping event if there is any
+     */
+    @Override
+    public Optional<EventInterval> findOverlap(String calendarId, String eventId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return readLocked(() -> {
+            CalendarIndex calendarIndex = calendars.get(calendarId);
+            return calendarIndex == null
+                    ? Optional.empty()
+                    : calendarIndex.findOverlap(date, date, startTime, endTime, null, eventId);
+        });
+    }
+
+    /**
+     * This method finds indexed event overlapping given recurring event in a single pass over the dates of the series
+     * @param calendarId id of the calendar
+     * @param from first date of the series
+     * @param to last date of the series, inclusive
+     * @param startTime start time
+     * @param endTime end time
+     * @param daysOfWeek days of week of the series
+     * @return overlapping event if there is any
+     */
+    @Override
+    public Optional<EventInterval> findOverlap(String calendarId, LocalDate from, LocalDate to, LocalTime startTime, LocalTime endTime, Set<DayOfWeek> daysOfWeek) {
+        return readLocked(() -> {
+            CalendarIndex calendarIndex = calendars.get(calendarId);
+            return calendarIndex == null || from.isAfter(to)
+                    ? Optional.empty()
+                    : calendarIndex.findOverlap(from, to, startTime, endTime, daysOfWeek, null);
+        });
+    }
+
+    /**
+     * This method compares the index with events stored in the database. Events changed while the check runs
+     * may be reported as well, a repeated check tells them apart from a real inconsistency.
+     * @return report of differences
+     */
+    @Override
+    public EventIndexReport verify() {
+        LocalDate from = LocalDate.now().isAfter(indexedFrom) ? LocalDate.now() : indexedFrom;
+        Map<String, EventInterval> stored = new HashMap<>();
+        eventRepository.findIntervalsFrom(from).forEach(interval -> stored.put(interval.getEventId(), interval));
+        Map<String, EventInterval> indexed = new HashMap<>();
+        withReadLock(() -> calendars.values().forEach(calendarIndex -> calendarIndex.collect(from, indexed)));
+
+        List<String> missing = new ArrayList<>();
+        List<String> mismatched = new ArrayList<>();
+        stored.forEach((eventId, interval) -> {
+            EventInterval indexedInterval = indexed.get(eventId);
+            if (indexedInterval == null) {
+                report(missing, eventId);
+            } else if (!sameInterval(interval, indexedInterval)) {
+                report(mismatched, eventId);
+            }
+        });
+        List<String> stale = new ArrayList<>();
+        indexed.keySet().stream().filter(eventId -> !stored.containsKey(eventId)).forEach(eventId -> report(stale, eventId));
+
+        EventIndexReport report = new EventIndexReport(from, indexed.size(), stored.size(), missing, stale, mismatched);
+        if (!report.isConsistent()) {
+            log.warn("Event index differs from the database, missing: {}, stale: {}, mismatched: {}", missing, stale, mismatched);
+        }
+        return report;
+    }
+
+    private void index(EventInterval interval) {
+        calendars.computeIfAbsent(interval.getCalendarId(), calendarId -> new CalendarIndex()).add(interval);
+    }
+
+    private EventInterval toInterval(Event event) {
+        return new EventInterval(event.getId(), event.getCalendar().getId(), event.getDate(), event.getStartTime(), event.getEndTime());
+    }
+
+    private static boolean sameInterval(EventInterval first, EventInterval second) {
+        return first.getCalendarId().equals(second.getCalendarId())
+                && first.getDate().equals(second.getDate())
+                && first.getStartTime().equals(second.getStartTime())
+                && first.getEndTime().equals(second.getEndTime());
+    }
+
+    private static void report(List<String> eventIds, String eventId) {
+        if (eventIds.size() < MAX_REPORTED_IDS) {
+            eventIds.add(eventId);
+        }
+    }
+
+    private void withReadLock(Runnable action) {
+        readLocked(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T readLocked(Supplier<T> action) {
+        rebuildLock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Events of one calendar sorted by date
+     */
+    private static final class CalendarIndex {
+
+        private final NavigableMap<LocalDate, List<EventInterval>> days = new TreeMap<>();
+
+        synchronized void add(EventInterval interval) {
+            List<EventInterval> day = days.computeIfAbsent(interval.getDate(), date -> new ArrayList<>(2));
+            day.removeIf(indexed -> indexed.getEventId().equals(interval.getEventId()));
+            day.add(interval);
+        }
+
+        synchronized void remove(EventInterval interval) {
+            List<EventInterval> day = days.get(interval.getDate());
+            if (day != null && day.removeIf(indexed -> indexed.getEventId().equals(interval.getEventId())) && day.isEmpty()) {
+                days.remove(interval.getDate());
+            }
+        }
+
+        synchronized Optional<EventInterval> findOverlap(LocalDate from, LocalDate to, LocalTime startTime, LocalTime endTime,
+                                                         Set<DayOfWeek> daysOfWeek, String eventId) {
+            for (Map.Entry<LocalDate, List<EventInterval>> day : days.subMap(from, true, to, true).entrySet()) {
+                if (daysOfWeek != null && !daysOfWeek.contains(day.getKey().getDayOfWeek())) {
+                    continue;
+                }
+                for (EventInterval interval : day.getValue()) {
+                    if (interval.overlaps(startTime, endTime) && !Objects.equals(interval.getEventId(), eventId)) {
+                        return Optional.of(interval);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+
+        synchronized void collect(LocalDate from, Map<String, EventInterval> into) {
+            days.tailMap(from, true).values().forEach(day -> day.forEach(interval -> into.put(interval.getEventId(), interval)));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.sportsreservationsystembackend.service.impl;
 
+import com.example.sportsreservationsystembackend.config.database.EventOverlapConstraint;
 import com.example.sportsreservationsystembackend.exceptions.EventHasReservationsException;
 import com.example.sportsreservationsystembackend.exceptions.OverlappingEventsException;
 import com.example.sportsreservationsystembackend.exceptions.PastEventException;
@@ -8,11 +9,20 @@ import com.example.sportsreservationsystembackend.model.Calendar;
 import com.example.sportsreservationsystembackend.model.Event;
 import com.example.sportsreservationsystembackend.model.RecurrenceGroup;
 import com.example.sportsreservationsystembackend.repository.CalendarRepository;
+import com.example.sportsreservationsystembackend.repository.EventBatchRepository;
 import com.example.sportsreservationsystembackend.repository.EventRepository;
 import com.example.sportsreservationsystembackend.rest.mapper.EventsMapper;
 import com.example.sportsreservationsystembackend.rest.mapper.PageMapper;
+import com.example.sportsreservationsystembackend.service.AvailabilityBroadcaster;
+import com.example.sportsreservationsystembackend.service.CalendarVersionService;
+import com.example.sportsreservationsystembackend.service.EventIntervalIndex;
 import com.example.sportsreservationsystembackend.service.EventService;
 import com.example.sportsreservationsystembackend.service.RecurrenceGroupService;
+import com.example.sportsreservationsystembackend.service.VirtualEventService;
+import com.example.sportsreservationsystembackend.service.config.PaginationConfig;
+import com.example.sportsreservationsystembackend.service.model.EventInterval;
+import com.example.sportsreservationsystembackend.service.model.EventSummary;
+import com.example.sportsreservationsystembackend.utils.ContinuationToken;
 import com.xstejsk.reservationapp.main.rest.model.CreateEventRequest;
 import com.xstejsk.reservationapp.main.rest.model.EventDTO;
 import com.xstejsk.reservationapp.main.rest.model.EventsPage;
@@ -20,20 +30,29 @@ import com.xstejsk.reservationapp.main.rest.model.UpdateEventRequest;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This class represents event service implementation
@@ -47,10 +66,17 @@ import java.util.stream.Collectors;
 public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
+    private final EventBatchRepository eventBatchRepository;
     private final CalendarRepository calendarRepository;
     private final RecurrenceGroupService recurrenceGroupService;
     private final EventsMapper eventsMapper;
     private final PageMapper pageMapper;
+    private final PaginationConfig paginationConfig;
+    private final VirtualEventService virtualEventService;
+    private final EventIntervalIndex eventIntervalIndex;
+    private final EventOverlapConstraint eventOverlapConstraint;
+    private final CalendarVersionService calendarVersionService;
+    private final AvailabilityBroadcaster availabilityBroadcaster;
 
     /**
      * This method returns all events in given calendar
@@ -60,8 +86,30 @@ public class EventServiceImpl implements EventService {
      * @return
      */
     @Override
-    public List<Event> getEventsByCalendarId(String calendarId, LocalDate from, LocalDate to) {
-        return eventRepository.findAllByCalendarIdAndDateBetweenOrderByDateAsc(calendarId, from, to);
+    public List<EventSummary> getEventsByCalendarId(String calendarId, LocalDate from, LocalDate to) {
+        List<EventSummary> events = eventRepository.findSummariesByCalendarId(calendarId, from, to);
+        Map<String, List<DayOfWeek>> daysOfWeek = recurrenceGroupService.getDaysOfWeek(events.stream()
+                .map(EventSummary::getRecurrenceGroupId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        events.forEach(event -> event.setDaysOfWeek(daysOfWeek.getOrDefault(event.getRecurrenceGroupId(), List.of())));
+        // an open window is bounded by the start date and repeat until of each group
+        List<Event> occurrences = virtualEventService.getOccurrences(calendarId, from, to, Integer.MAX_VALUE);
+        if (occurrences.isEmpty()) {
+            return events;
+        }
+        return Stream.concat(events.stream(), occurrences.stream().map(this::toSummary))
+                .sorted(Comparator.comparing(EventSummary::getDate).thenComparing(EventSummary::getStartTime))
+                .toList();
+    }
+
+    private EventSummary toSummary(Event event) {
+        RecurrenceGroup recurrenceGroup = event.getRecurrenceGroup();
+        EventSummary summary = new EventSummary(event.getId(), event.getDate(), event.getStartTime(), event.getEndTime(),
+                event.getMaximumCapacity(), event.getPrice(), event.getDiscountPrice(), event.getTitle(),
+                event.getDescription(), event.getSpacesAvailable(), recurrenceGroup.getId(), recurrenceGroup.getRepeatUntil());
+        summary.setDaysOfWeek(recurrenceGroup.getDaysOfWeek());
+        return summary;
     }
 
     /**
@@ -93,13 +141,19 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional
     public EventDTO deleteEvent(String eventId) {
+        if (virtualEventService.isVirtualId(eventId)) {
+            Event occurrence = virtualEventService.exclude(eventId);
+            eventsChanged(occurrence.getCalendar().getId());
+            log.info("Removed virtual occurrence {} from its series", eventId);
+            return eventsMapper.eventToEventDTO(occurrence);
+        }
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event with id " + eventId + " not found"));
-        if (event.getRecurrenceGroup() != null && eventRepository.findAllByRecurrenceGroupId(event.getRecurrenceGroup().getId()).size() == 1) {
+        if (event.getRecurrenceGroup() != null && !event.getRecurrenceGroup().isVirtualOccurrences() && eventRepository.findAllByRecurrenceGroupId(event.getRecurrenceGroup().getId()).size() == 1) {
             log.info("Deleting last event from recurrence group: {}", event.getRecurrenceGroup());
             recurrenceGroupService.delete(event.getRecurrenceGroup().getId());
         }
-        if (!event.getReservations().isEmpty()) {
+        if (event.getReservedCount() > 0) {
             throw new EventHasReservationsException("Cannot delete event with reservations");
         }
         if (LocalDateTime.of(
@@ -110,6 +164,8 @@ public class EventServiceImpl implements EventService {
         }
         eventRepository.delete(event);
         eventRepository.delete(event);
+        eventIntervalIndex.remove(event);
+        eventsChanged(event.getCalendar().getId());
         return eventsMapper.eventToEventDTO(event);
     }
 
@@ -121,6 +177,9 @@ public class EventServiceImpl implements EventService {
      */
     @Override
     public Event getEventById(String calendarId, String eventId) {
+        if (virtualEventService.isVirtualId(eventId)) {
+            return materialize(calendarId, eventId);
+        }
         return eventRepository.findByIdAndCalendarId(eventId, calendarId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event with id " + eventId + " not found"));
     }
@@ -147,15 +206,17 @@ public class EventServiceImpl implements EventService {
      * @param calendarId
      * @param page
      * @param size
+     * @param continuationToken token from the previous page, switches to keyset pagination
      * @return page of events
      */
     @Override
-    public EventsPage getAll(LocalDate from, String calendarId, Integer page, Integer size) {
+    public EventsPage getAll(LocalDate from, String calendarId, Integer page, Integer size, String continuationToken) {
         if (page == null || page < 0) {
             page = 0;
         }
-        if (size == null || size < 1) {
-            size = Integer.MAX_VALUE;
+        int pageSize = paginationConfig.resolvePageSize(size);
+        if (continuationToken != null && !continuationToken.isBlank()) {
+            return getAllAfter(from, calendarId, pageSize, continuationToken);
         }
 //        if (from == null) {
 //            from = LocalDate.now();
@@ -177,10 +238,84 @@ public class EventServiceImpl implements EventService {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
 
-        PageRequest pageable = PageRequest.of(page, size, Sort.by("date").ascending().and(Sort.by("startTime").ascending()));
-        Page<Event> events = eventRepository.findAll(specification, pageable);
+        Sort sort = Sort.by("date").ascending().and(Sort.by("startTime").ascending()).and(Sort.by("id").ascending());
+        long occurrenceCount = virtualEventService.countOccurrences(blankToNull(calendarId), from);
+        Page<Event> events;
+        if (occurrenceCount == 0) {
+            events = eventRepository.findAll(specification, PageRequest.of(page, pageSize, sort));
+        } else {
+            // stored events and virtual occurrences are merged, both sources are read up to the end of the page
+            if ((long) page * pageSize > paginationConfig.getMaxOffset()) {
+                throw new IllegalArgumentException("Page " + page + " is too deep, use continuation token of the previous page");
+            }
+            int limit = (page + 1) * pageSize;
+            Page<Event> stored = eventRepository.findAll(specification, PageRequest.of(0, limit, sort));
+            List<Event> merged = merge(stored.getContent(),
+                    virtualEventService.getOccurrences(blankToNull(calendarId), from, null, limit), limit);
+            int start = (int) Math.min((long) page * pageSize, merged.size());
+            events = new PageImpl<>(merged.subList(start, Math.min(start + pageSize, merged.size())),
+                    PageRequest.of(page, pageSize, sort), stored.getTotalElements() + occurrenceCount);
+        }
 
-        return pageMapper.toEventsPage(events);
+        EventsPage eventsPage = pageMapper.toEventsPage(events);
+        if (events.hasNext()) {
+            eventsPage.setContinuationToken(continuationToken(events.getContent().get(events.getNumberOfElements() - 1)));
+        }
+        return eventsPage;
+    }
+
+    /**
+     * This method returns page of events following the event encoded in continuation token,
+     * one more event is read to find out whether there is a next page
+     * @param from filters events which start at or after from
+     * @param calendarId id of the calendar
+     * @param pageSize page size
+     * @param continuationToken token from the previous page
+     * @return page of events
+     */
+    private EventsPage getAllAfter(LocalDate from, String calendarId, int pageSize, String continuationToken) {
+        ContinuationToken after = ContinuationToken.decode(ContinuationToken.EVENTS, continuationToken, 3);
+        LocalDate date = after.getDate(0);
+        LocalTime startTime = after.getTime(1);
+        String eventId = after.getString(2);
+        if (from != null && from.isAfter(date)) {
+            // events before from are skipped by starting the listing right before from
+            date = from;
+            startTime = LocalTime.MIN;
+            eventId = "";
+        }
+        String calendar = blankToNull(calendarId);
+        List<Event> stored = calendar == null
+                ? eventRepository.findAllAfter(date, startTime, eventId, PageRequest.of(0, pageSize + 1))
+                : eventRepository.findAllInCalendarAfter(calendar, date, startTime, eventId, PageRequest.of(0, pageSize + 1));
+        List<Event> occurrences = virtualEventService.getOccurrencesAfter(calendar, from, date, startTime, eventId, pageSize + 1);
+        List<Event> events = merge(stored, occurrences, pageSize + 1);
+
+        boolean hasNext = events.size() > pageSize;
+        List<Event> content = hasNext ? events.subList(0, pageSize) : events;
+        EventsPage eventsPage = pageMapper.toEventsPage(content, pageSize);
+        if (hasNext) {
+            eventsPage.setContinuationToken(continuationToken(content.get(content.size() - 1)));
+        }
+        return eventsPage;
+    }
+
+    private static List<Event> merge(List<Event> stored, List<Event> occurrences, int limit) {
+        if (occurrences.isEmpty()) {
+            return stored;
+        }
+        return Stream.concat(stored.stream(), occurrences.stream())
+                .sorted(VirtualEventService.OCCURRENCE_ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private String continuationToken(Event event) {
+        return ContinuationToken.encode(ContinuationToken.EVENTS, event.getDate(), event.getStartTime(), event.getId());
     }
 
     /**
@@ -191,39 +326,113 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public boolean calendarContainsFutureEvents(String calendarId) {
-        return !eventRepository.findFutureEventsByCalendar(
-                calendarId, LocalDate.now(), LocalTime.now()).isEmpty();
+        if (!eventRepository.findFutureEventsByCalendar(calendarId, LocalDate.now(), LocalTime.now()).isEmpty()) {
+            return true;
+        }
+        return virtualEventService.hasFutureOccurrences(calendarId, LocalDateTime.now());
+    }
+
+    /**
+     * This method takes one space of the event using a single conditional update,
+     * so concurrent reservations can never exceed the capacity of the event, new availability is pushed to subscribers
+     * @param eventId
+     * @return true if the space was taken, false if the event is full
+     */
+    @Override
+    public boolean reserveSpace(String eventId) {
+        if (eventRepository.incrementReservedCount(eventId) != 1) {
+            return false;
+        }
+        eventRepository.findAvailabilityById(eventId).ifPresent(availabilityBroadcaster::availabilityChanged);
+        return true;
+    }
+
+    /**
+     * This method releases one space of the event, new availability is pushed to subscribers
+     * @param eventId
+     */
+    @Override
+    public void releaseSpace(String eventId) {
+        if (eventRepository.decrementReservedCount(eventId) == 0) {
+            log.warn("Reserved count of event {} is already zero", eventId);
+            return;
+        }
+        eventRepository.findAvailabilityById(eventId).ifPresent(availabilityBroadcaster::availabilityChanged);
+    }
+
+    private void eventsChanged(String calendarId) {
+        calendarVersionService.eventsChanged(calendarId);
+        availabilityBroadcaster.eventsChanged(calendarId);
     }
 
     private List<EventDTO> updateSeries(String eventId, UpdateEventRequest updateEventRequest) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event with id " + eventId + " not found"));
-        if (event.getRecurrenceGroup() == null) {
-            log.warn("recurrence group is null for event: {}, could not update series", event);
+        // a virtual occurrence is not stored just to find its series
+        RecurrenceGroup recurrenceGroup = virtualEventService.isVirtualId(eventId)
+                ? virtualEventService.getRecurrenceGroup(eventId)
+                : findEvent(eventId).getRecurrenceGroup();
+        if (recurrenceGroup == null) {
+            log.warn("recurrence group is null for event: {}, could not update series", eventId);
             throw new IllegalArgumentException("recurrence group must not be null");
         }
-        eventRepository.updateEventSeries(event.getRecurrenceGroup().getId(), updateEventRequest.getTitle(), updateEventRequest.getDescription());
-        return eventRepository.findAllByRecurrenceGroupId(event.getRecurrenceGroup().getId()).stream()
+        eventRepository.updateEventSeries(recurrenceGroup.getId(), updateEventRequest.getTitle(), updateEventRequest.getDescription());
+        eventsChanged(recurrenceGroup.getCalendar().getId());
+        if (recurrenceGroup.isVirtualOccurrences()) {
+            // stored occurrences are returned, the rest of the series is expanded from the updated rule when read
+            virtualEventService.updateSeries(recurrenceGroup.getId(), updateEventRequest.getTitle(), updateEventRequest.getDescription());
+        }
+        return eventRepository.findAllByRecurrenceGroupId(recurrenceGroup.getId()).stream()
                 .map(eventsMapper::eventToEventDTO)
                 .collect(Collectors.toList());
     }
 
     private List<EventDTO> updateSingleEvent(String eventId, UpdateEventRequest updateEventRequest) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event with id " + eventId + " not found"));
+        Event event = findEvent(eventId);
         event.setTitle(updateEventRequest.getTitle());
         event.setDescription(updateEventRequest.getDescription());
         eventRepository.save(event);
+        eventsChanged(event.getCalendar().getId());
         return List.of(eventsMapper.eventToEventDTO(event));
     }
 
+    private Event findEvent(String eventId) {
+        if (virtualEventService.isVirtualId(eventId)) {
+            return materialize(null, eventId);
+        }
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event with id " + eventId + " not found"));
+    }
+
+    private Event materialize(String calendarId, String eventId) {
+        Event event;
+        try {
+            event = virtualEventService.materialize(calendarId, eventId);
+        } catch (DataIntegrityViolationException e) {
+            // the occurrence was materialized by a concurrent request, its stored event is returned now
+            log.info("Occurrence {} was materialized concurrently", eventId);
+            event = virtualEventService.materialize(calendarId, eventId);
+        }
+        // the stored event replaces the virtual occurrence under a new id
+        eventsChanged(event.getCalendar().getId());
+        String storedId = event.getId();
+        return eventRepository.findById(storedId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event with id " + storedId + " not found"));
+    }
+
     private List<EventDTO> saveSingleEvent(Event event, Calendar calendar) {
         if (isEventOverlapping(event, calendar)) {
             throw new OverlappingEventsException("Event " + event + "overlaps with existing event/s");
         }
         event.setCalendar(calendar);
         event.setRecurrenceGroup(null);
-        return List.of(eventsMapper.eventToEventDTO(eventRepository.save(event)));
+        Event savedEvent;
+        try {
+            savedEvent = eventRepository.saveAndFlush(event);
+        } catch (DataIntegrityViolationException e) {
+            throw overlapOrRethrow(event, e);
+        }
+        eventIntervalIndex.add(savedEvent);
+        eventsChanged(calendar.getId());
+        return List.of(eventsMapper.eventToEventDTO(savedEvent));
     }
 
     private List<Event> createRecurringEvents(Event event, List<LocalDate> occurrences, Calendar calendar) {
@@ -254,9 +463,28 @@ public class EventServiceImpl implements EventService {
         LocalDate recurrenceEnd = event.getRecurrenceGroup().getRepeatUntil();
         List<DayOfWeek> daysOfWeek = event.getRecurrenceGroup().getDaysOfWeek();
 
+        if (virtualEventService.isEnabled()) {
+            RecurrenceGroup recurrenceGroup = virtualEventService.createGroup(event, calendar);
+            log.info("Created recurrence group {} with virtual occurrences", recurrenceGroup.getId());
+            eventsChanged(calendar.getId());
+            return virtualEventService.getOccurrences(recurrenceGroup).stream().map(eventsMapper::eventToEventDTO).toList();
+        }
+        EnumSet<DayOfWeek> days = EnumSet.copyOf(daysOfWeek);
+
+        long start = System.nanoTime();
         List<LocalDate> occurrences = recurrenceStart.datesUntil(recurrenceEnd)
-                .parallel().filter(day -> daysOfWeek.contains(day.getDayOfWeek())).toList();
-        return eventRepository.saveAll(createRecurringEvents(event, occurrences, calendar)).stream().map(eventsMapper::eventToEventDTO).toList();
+                .filter(day -> days.contains(day.getDayOfWeek())).toList();
+        List<Event> events;
+        try {
+            events = eventBatchRepository.insertAll(createRecurringEvents(event, occurrences, calendar));
+        } catch (DataIntegrityViolationException e) {
+            throw overlapOrRethrow(event, e);
+        }
+        eventIntervalIndex.addAll(events);
+        eventsChanged(calendar.getId());
+        log.info("Created {} occurrences of recurring event {} in {} ms",
+                events.size(), event.getTitle(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return events.stream().map(eventsMapper::eventToEventDTO).toList();
     }
 
     private void validateNewEvent(CreateEventRequest createEventRequest, Calendar calendar) {
@@ -304,34 +532,63 @@ public class EventServiceImpl implements EventService {
     }
 
     private boolean isRecurringEventOverlapping(Event event, String calendarId) {
-        List<Event> overlappingEvents = eventRepository.findOverlappingEventsForRecurringEvent(
+        Optional<EventInterval> overlappingEvent = eventIntervalIndex.findOverlap(
                 calendarId,
                 event.getDate(),
                 event.getRecurrenceGroup().getRepeatUntil(),
                 event.getStartTime(),
                 event.getEndTime(),
-                event.getRecurrenceGroup().getDaysOfWeek().stream().map(DayOfWeek::getValue).collect(Collectors.toSet())
+                EnumSet.copyOf(event.getRecurrenceGroup().getDaysOfWeek())
         );
-        boolean eventOverlaps = !overlappingEvents.isEmpty();
-        if (eventOverlaps){
-            log.info("Event {} overlaps events {}", event, overlappingEvents);
+        if (overlappingEvent.isPresent()){
+            log.info("Event {} overlaps event {}", event, overlappingEvent.get());
+            return true;
+        }
+        if (!eventOverlapConstraint.isEnforced() && eventRepository.existsOverlappingRecurringEvent(
+                calendarId,
+                event.getDate(),
+                event.getRecurrenceGroup().getRepeatUntil(),
+                event.getStartTime(),
+                event.getEndTime(),
+                event.getRecurrenceGroup().getDaysOfWeek().stream().map(DayOfWeek::getValue).collect(Collectors.toSet()))) {
+            log.info("Event {} overlaps events missing in the event index", event);
+            return true;
         }
-        return eventOverlaps;
+        return virtualEventService.hasOccurrences(
+                calendarId,
+                event.getDate(),
+                event.getRecurrenceGroup().getRepeatUntil(),
+                event.getStartTime(),
+                event.getEndTime(),
+                EnumSet.copyOf(event.getRecurrenceGroup().getDaysOfWeek()));
     }
 
     private boolean isEventOverlapping(Event event, Calendar calendar) {
-        List<Event> overlappingEvents = eventRepository.findOverlappingEventsForSingleEvent(
+        Optional<EventInterval> overlappingEvent = eventIntervalIndex.findOverlap(
                 calendar.getId(),
                 event.getId(),
                 event.getDate(),
                 event.getStartTime(),
                 event.getEndTime()
         );
-        boolean eventOverlaps = !overlappingEvents.isEmpty();
-        if (eventOverlaps) {
-            log.info("Event {} overlaps with events {}", event, overlappingEvents);
+        if (overlappingEvent.isPresent()) {
+            log.info("Event {} overlaps with event {}", event, overlappingEvent.get());
+            return true;
+        }
+        if (!eventOverlapConstraint.isEnforced() && eventRepository.existsOverlappingEvent(
+                calendar.getId(), event.getId(), event.getDate(), event.getStartTime(), event.getEndTime())) {
+            log.info("Event {} overlaps with events missing in the event index", event);
+            return true;
+        }
+        return virtualEventService.hasOccurrences(calendar.getId(), event.getDate(), event.getStartTime(), event.getEndTime());
+    }
+
+    private RuntimeException overlapOrRethrow(Event event, DataIntegrityViolationException exception) {
+        if (EventOverlapConstraint.isViolatedBy(exception)) {
+            log.info("Event {} was rejected by constraint {}", event, EventOverlapConstraint.CONSTRAINT_NAME);
+            return new OverlappingEventsException("Event " + event + " overlaps with existing event/s");
         }
-        return eventOverlaps;
+        return exception;
     }
 
     private void validateUpdateEventRequest(UpdateEventRequest updateEventRequest) {
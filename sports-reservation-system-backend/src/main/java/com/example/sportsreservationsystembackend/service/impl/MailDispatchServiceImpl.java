@@ -0,0 +1,202 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.service.MailDispatchService;
+import com.example.sportsreservationsystembackend.service.config.MailDispatchConfig;
+import com.example.sportsreservationsystembackend.service.model.OutgoingEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents mail dispatch service implementation.
+ * Emails are put into a bounded queue and sent by a small pool of workers,
+ * each of them sending whole batches over a single mail transport connection.
+ *
+ * @Author Radim Stejskal
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MailDispatchServiceImpl implements MailDispatchService {
+
+    private static final long POLL_TIMEOUT_MS = 500;
+
+    private final JavaMailSender mailSender;
+    private final MailDispatchConfig mailDispatchConfig;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<OutgoingEmail> queue;
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    private Timer sendTimer;
+    private Timer deliveryTimer;
+    private Counter sentCounter;
+    private Counter failedCounter;
+    private Counter overflowCounter;
+
+    /**
+     * This method creates the queue, registers metrics and starts the workers
+     */
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(mailDispatchConfig.getQueueCapacity());
+        Gauge.builder("mail.dispatch.queue.depth", queue, BlockingQueue::size)
+                .description("Number of emails waiting to be sent")
+                .register(meterRegistry);
+        sendTimer = Timer.builder("mail.dispatch.send")
+                .description("Time spent sending one batch of emails")
+                .register(meterRegistry);
+        deliveryTimer = Timer.builder("mail.dispatch.latency")
+                .description("Time from enqueueing an email until it was handed over to the mail server")
+                .register(meterRegistry);
+        sentCounter = Counter.builder("mail.dispatch.sent").register(meterRegistry);
+        failedCounter = Counter.builder("mail.dispatch.failed").register(meterRegistry);
+        overflowCounter = Counter.builder("mail.dispatch.overflow")
+                .description("Emails sent on the calling thread because the queue was full")
+                .register(meterRegistry);
+
+        running = true;
+        workers = Executors.newFixedThreadPool(mailDispatchConfig.getWorkers(), new CustomizableThreadFactory("mail-dispatch-"));
+        for (int i = 0; i < mailDispatchConfig.getWorkers(); i++) {
+            workers.execute(this::processQueue);
+        }
+    }
+
+    /**
+     * This method stops the workers, giving them time to send emails which are still queued
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(mailDispatchConfig.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+            log.warn("Mail dispatch workers did not finish in time, {} emails were not sent", queue.size());
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * This method puts email into the dispatch queue. If the queue stays full for the configured time,
+     * the email is sent on the calling thread instead, so no email is lost when the workers fall behind.
+     * @param email email to be sent
+     * @return true if the email was queued or sent, false if sending it on the calling thread failed
+     */
+    @Override
+    public boolean dispatch(OutgoingEmail email) {
+        try {
+            if (queue.offer(email, mailDispatchConfig.getOfferTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        overflowCounter.increment();
+        log.warn("Mail dispatch queue is full, sending email to {} with subject {} on the calling thread",
+                email.getRecipient(), email.getSubject());
+        return send(List.of(email)) > 0;
+    }
+
+    /**
+     * This method returns number of emails waiting to be sent
+     * @return queue depth
+     */
+    @Override
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void processQueue() {
+        List<OutgoingEmail> batch = new ArrayList<>(mailDispatchConfig.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                OutgoingEmail first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, mailDispatchConfig.getBatchSize() - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in mail dispatch worker", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private int send(List<OutgoingEmail> batch) {
+        long start = System.nanoTime();
+        int sent = sendBatch(batch);
+        sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return sent;
+    }
+
+    private int sendBatch(List<OutgoingEmail> batch) {
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        List<OutgoingEmail> prepared = new ArrayList<>(batch.size());
+        for (OutgoingEmail email : batch) {
+            try {
+                messages.add(toMimeMessage(email));
+                prepared.add(email);
+            } catch (MessagingException e) {
+                failedCounter.increment();
+                log.error("Failed to prepare email {}", email, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        int failed = 0;
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failed = e.getFailedMessages().isEmpty() ? messages.size() : e.getFailedMessages().size();
+            log.error("Failed to send {} of {} emails", failed, messages.size(), e);
+        } catch (Exception e) {
+            failed = messages.size();
+            log.error("Failed to send batch of {} emails", messages.size(), e);
+        }
+        failedCounter.increment(failed);
+        sentCounter.increment(messages.size() - failed);
+        long now = System.nanoTime();
+        for (OutgoingEmail email : prepared) {
+            deliveryTimer.record(now - email.getEnqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        log.info("Sent batch of {} emails", messages.size() - failed);
+        return messages.size() - failed;
+    }
+
+    private MimeMessage toMimeMessage(OutgoingEmail email) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+        helper.setText(email.getBody(), true);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setFrom(mailDispatchConfig.getSender());
+        return mimeMessage;
+    }
+}
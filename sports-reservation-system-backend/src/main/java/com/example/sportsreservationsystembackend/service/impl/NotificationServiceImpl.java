@@ -3,23 +3,20 @@ package com.example.sportsreservationsystembackend.service.impl;
 import com.example.sportsreservationsystembackend.service.config.RegistrationTemplateConfig;
 import com.example.sportsreservationsystembackend.model.AppUser;
 import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.service.MailDispatchService;
 import com.example.sportsreservationsystembackend.service.NotificationService;
 import com.example.sportsreservationsystembackend.service.config.ReservationDeletionTemplateConfig;
 import com.example.sportsreservationsystembackend.service.config.ReservationTemplateConfig;
 import com.example.sportsreservationsystembackend.service.config.ResetPasswordTemplateConfig;
 import com.example.sportsreservationsystembackend.service.config.TemplateConfig;
+import com.example.sportsreservationsystembackend.service.model.OutgoingEmail;
 import com.example.sportsreservationsystembackend.utils.EmailFormatter;
+import com.example.sportsreservationsystembackend.utils.EmailTemplateRegistry;
 import com.example.sportsreservationsystembackend.utils.NotificationsUtil;
-import io.micrometer.core.instrument.util.IOUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.internet.MimeMessage;
-
-import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -32,14 +29,13 @@ import java.time.format.DateTimeFormatter;
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
 
-    private final JavaMailSender mailSender;
+    private final MailDispatchService mailDispatchService;
+    private final EmailTemplateRegistry emailTemplateRegistry;
     private final RegistrationTemplateConfig registrationTemplateConfig;
     private final ReservationTemplateConfig reservationTemplateConfig;
     private final ReservationDeletionTemplateConfig reservationDeletionTemplateConfig;
     private final ResetPasswordTemplateConfig resetPasswordTemplateConfig;
 
-    private String sender = "myjavatenniscourts@gmail.com";
-
     /**
      * This method sends email with new password to user
      * @param recipient user who requested password reset
@@ -54,7 +50,7 @@ public class NotificationServiceImpl implements NotificationService {
                 .linkExpiration(registrationTemplateConfig.getExpirationMinutes())
                 .password(password)
                 .build();
-        String body = emailFormatter.formatEmail(getTemplate(resetPasswordTemplateConfig.getPath()));
+        String body = emailFormatter.formatEmail(emailTemplateRegistry.getTemplate(resetPasswordTemplateConfig.getPath()));
         sendEmailAsync(recipient.getEmail(), body, resetPasswordTemplateConfig.getSubject());
     }
 
@@ -70,7 +66,7 @@ public class NotificationServiceImpl implements NotificationService {
                 .link(link)
                 .linkExpiration(registrationTemplateConfig.getExpirationMinutes())
                 .build();
-        String body = emailFormatter.formatEmail(getTemplate(registrationTemplateConfig.getPath()));
+        String body = emailFormatter.formatEmail(emailTemplateRegistry.getTemplate(registrationTemplateConfig.getPath()));
         sendEmailAsync(recipient.getEmail(), body, registrationTemplateConfig.getSubject());
         log.info("Email sent to: {} with link {}" + recipient.getEmail(), link);
     }
@@ -103,30 +99,13 @@ public class NotificationServiceImpl implements NotificationService {
                 .eventTime(event.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")))
                 .locationName(event.getCalendar().getLocation().getName())
                 .build();
-        String body = emailFormatter.formatEmail(getTemplate(templateConfig.getPath()));
+        String body = emailFormatter.formatEmail(emailTemplateRegistry.getTemplate(templateConfig.getPath()));
         sendEmailAsync(recipient.getEmail(), body, templateConfig.getSubject());
     }
 
     private void sendEmailAsync(String to, String body, String subject) {
-        new Thread(() -> {
-            try {
-                MimeMessage mimeMessage = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
-                helper.setText(body, true);
-                helper.setTo(to);
-                helper.setSubject(subject);
-                helper.setFrom(sender);
-                mailSender.send(mimeMessage);
-                log.info("Email sent to: " + to);
-            }catch (Exception e){
-                log.error("failed to send email", e);
-                throw new IllegalStateException("failed to send email");
-            }
-        }).start();
-    }
-
-    private String getTemplate(String path) {
-        log.info("Getting template from: " + path);
-        return IOUtils.toString(this.getClass().getClassLoader().getResourceAsStream(path), StandardCharsets.UTF_8);
+        if (mailDispatchService.dispatch(new OutgoingEmail(to, subject, body))) {
+            log.info("Email to {} accepted for sending", to);
+        }
     }
 }
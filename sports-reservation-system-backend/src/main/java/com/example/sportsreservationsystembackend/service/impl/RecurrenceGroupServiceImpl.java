@@ -5,10 +5,17 @@ import com.example.sportsreservationsystembackend.exceptions.ResourceNotFoundExc
 import com.example.sportsreservationsystembackend.model.RecurrenceGroup;
 import com.example.sportsreservationsystembackend.repository.RecurrenceGroupRepository;
 import com.example.sportsreservationsystembackend.service.RecurrenceGroupService;
+import com.example.sportsreservationsystembackend.service.model.RecurrenceDay;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 /**
  * This class represents recurrence group service implementation
  *
@@ -51,4 +58,19 @@ public class RecurrenceGroupServiceImpl implements RecurrenceGroupService {
         log.info("IN delete - recurrence group with id {} successfully deleted", recurrenceGroupId);
         return recurrenceGroup;
     }
+
+    /**
+     * This method returns days of week of given recurrence groups, read by a single query
+     * @param recurrenceGroupIds ids of the groups
+     * @return days of week by id of the group, groups without days are missing
+     */
+    @Override
+    public Map<String, List<DayOfWeek>> getDaysOfWeek(Collection<String> recurrenceGroupIds) {
+        if (recurrenceGroupIds.isEmpty()) {
+            return Map.of();
+        }
+        return recurrenceGroupRepository.findDaysOfWeek(recurrenceGroupIds).stream()
+                .collect(Collectors.groupingBy(RecurrenceDay::getRecurrenceGroupId,
+                        Collectors.mapping(RecurrenceDay::getDayOfWeek, Collectors.toList())));
+    }
 }
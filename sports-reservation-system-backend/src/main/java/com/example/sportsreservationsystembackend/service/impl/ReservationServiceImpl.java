@@ -2,21 +2,25 @@ package com.example.sportsreservationsystembackend.service.impl;
 
 import com.example.sportsreservationsystembackend.exceptions.DuplicateReservationException;
 import com.example.sportsreservationsystembackend.exceptions.EventFullException;
-import com.example.sportsreservationsystembackend.exceptions.InsufficientFundsException;
 import com.example.sportsreservationsystembackend.exceptions.PastEventException;
 import com.example.sportsreservationsystembackend.exceptions.ResourceNotFoundException;
 import com.example.sportsreservationsystembackend.exceptions.ResourceNotOwnedException;
 import com.example.sportsreservationsystembackend.model.AppUser;
+import com.example.sportsreservationsystembackend.model.BalanceTransactionType;
 import com.example.sportsreservationsystembackend.model.Event;
 import com.example.sportsreservationsystembackend.model.Reservation;
 import com.example.sportsreservationsystembackend.model.UserRole;
 import com.example.sportsreservationsystembackend.repository.ReservationRepository;
 import com.example.sportsreservationsystembackend.rest.mapper.PageMapper;
 import com.example.sportsreservationsystembackend.rest.mapper.ReservationsMapper;
+import com.example.sportsreservationsystembackend.service.BalanceLedgerService;
+import com.example.sportsreservationsystembackend.service.CalendarVersionService;
 import com.example.sportsreservationsystembackend.service.EventService;
 import com.example.sportsreservationsystembackend.service.NotificationService;
 import com.example.sportsreservationsystembackend.service.ReservationService;
 import com.example.sportsreservationsystembackend.service.UserService;
+import com.example.sportsreservationsystembackend.service.config.PaginationConfig;
+import com.example.sportsreservationsystembackend.utils.ContinuationToken;
 import com.xstejsk.reservationapp.main.rest.model.ReservationDTO;
 import com.xstejsk.reservationapp.main.rest.model.ReservationsPage;
 import jakarta.persistence.criteria.Predicate;
@@ -52,6 +56,9 @@ public class ReservationServiceImpl implements ReservationService {
     private final ReservationsMapper reservationsMapper;
     private final PageMapper pageMapper;
     private final NotificationService notificationService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final PaginationConfig paginationConfig;
+    private final CalendarVersionService calendarVersionService;
 
     /**
      * This method creates new reservation
@@ -64,22 +71,23 @@ public class ReservationServiceImpl implements ReservationService {
     public ReservationDTO create(String calendarId, String eventId) {
         Event event = eventService.getEventById(calendarId, eventId);
         AppUser owner = userService.getCurrentUser();
-        if (reservationRepository.existsByEventIdAndAndOwnerId(eventId, owner.getId())) {
+        if (reservationRepository.existsByEventIdAndAndOwnerId(event.getId(), owner.getId())) {
             throw new DuplicateReservationException("User already has reservation for this event");
         }
-        if (event.getMaximumCapacity() <= event.getReservations().size()) {
-            throw new EventFullException("Event is full");
-        }
         if (event.getStartTime().isBefore(LocalTime.now()) && event.getDate().isBefore(LocalDateTime.now().toLocalDate())) {
             throw new PastEventException("Event already started");
         }
+        if (!eventService.reserveSpace(event.getId())) {
+            throw new EventFullException("Event is full");
+        }
 
         Reservation reservation = new Reservation();
         reservation.setOwner(owner);
-        event.addReservation(reservation);
+        reservation.setEvent(event);
         applyDiscountIfApplicable(owner, event, reservation);
         Reservation savedReservation = reservationRepository.save(reservation);
         savedReservation.getEvent().setSpacesAvailable(savedReservation.getEvent().getSpacesAvailable() - 1);
+        calendarVersionService.eventsChanged(event.getCalendar().getId());
         notificationService.sendNewReservationEmail(owner, event);
         return reservationsMapper.reservationToReservationDTO(savedReservation);
     }
@@ -97,12 +105,7 @@ public class ReservationServiceImpl implements ReservationService {
             reservation.setDiscountApplied(false);
         }
         log.info("Price for reservation: {}", price);
-        log.info("User balance: {}", appUser.getBalance());
-        if (appUser.getBalance() < price) {
-            throw new InsufficientFundsException("User has insufficient funds");
-        }
-        appUser.setBalance(appUser.getBalance() - price);
-        userService.save(appUser);
+        balanceLedgerService.debit(appUser, price, BalanceTransactionType.RESERVATION_PAYMENT, event.getId());
     }
 
     boolean isFirstReservationOfTheDay(AppUser appUser, Event event) {
@@ -117,17 +120,16 @@ public class ReservationServiceImpl implements ReservationService {
      * @param eventId event id of event to be reserved
      * @param page page number
      * @param size size of page
+     * @param continuationToken token from the previous page, switches to keyset pagination
      * @return page of reservations
      */
    @Override
-   public ReservationsPage getAllReservations(LocalDate from, String calendarId, String owner, String eventId, Integer page, Integer size) {
+   public ReservationsPage getAllReservations(LocalDate from, String calendarId, String owner, String eventId, Integer page, Integer size, String continuationToken) {
         log.info("Get all reservations with parameters: from={}, calendarId={}, owner={}, eventId={}, page={}, size={}", from, calendarId, owner, eventId, page, size);
         if (page == null || page < 0) {
             page = 0;
         }
-        if (size == null || size < 1) {
-            size = Integer.MAX_VALUE;
-        }
+        int pageSize = paginationConfig.resolvePageSize(size);
         AppUser currentUser = userService.getCurrentUser();
 
         if (owner == null || owner.isBlank()) {
@@ -140,6 +142,10 @@ public class ReservationServiceImpl implements ReservationService {
             }
         }
 
+       if (continuationToken != null && !continuationToken.isBlank()) {
+           return getAllReservationsAfter(from, calendarId, owner, eventId, pageSize, continuationToken);
+       }
+
        String finalOwner = owner;
        Specification<Reservation> specification = (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -160,12 +166,67 @@ public class ReservationServiceImpl implements ReservationService {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
 
-        PageRequest pageable = PageRequest.of(page, size, Sort.by("event.date").ascending().and(Sort.by("event.startTime").ascending()));
+        PageRequest pageable = PageRequest.of(page, pageSize,
+                Sort.by("event.date").ascending().and(Sort.by("event.startTime").ascending()).and(Sort.by("id").ascending()));
         Page<Reservation> reservations = reservationRepository.findAll(specification, pageable);
 
-        return pageMapper.toReservationsPage(reservations);
+        ReservationsPage reservationsPage = pageMapper.toReservationsPage(reservations);
+        if (reservations.hasNext()) {
+            reservationsPage.setContinuationToken(continuationToken(reservations.getContent().get(reservations.getNumberOfElements() - 1)));
+        }
+        return reservationsPage;
    }
 
+    /**
+     * This method returns page of reservations following the reservation encoded in continuation token,
+     * one more reservation is read to find out whether there is a next page
+     * @param from date from which reservations should be returned
+     * @param calendarId calendar id of calendar where event is located
+     * @param owner id of owner of reservation, already checked against current user
+     * @param eventId event id
+     * @param pageSize page size
+     * @param continuationToken token from the previous page
+     * @return page of reservations
+     */
+    private ReservationsPage getAllReservationsAfter(LocalDate from, String calendarId, String owner, String eventId,
+                                                     int pageSize, String continuationToken) {
+        ContinuationToken after = ContinuationToken.decode(ContinuationToken.RESERVATIONS, continuationToken, 3);
+        LocalDate date = after.getDate(0);
+        LocalTime startTime = after.getTime(1);
+        String reservationId = after.getString(2);
+        if (from != null && from.isAfter(date)) {
+            // reservations for events before from are skipped by starting the listing right before from
+            date = from;
+            startTime = LocalTime.MIN;
+            reservationId = "";
+        }
+        List<Reservation> reservations = reservationRepository.findAllAfter(
+                blankToNull(calendarId),
+                blankToNull(owner),
+                blankToNull(eventId),
+                date,
+                startTime,
+                reservationId,
+                pageSize + 1);
+
+        boolean hasNext = reservations.size() > pageSize;
+        List<Reservation> content = hasNext ? reservations.subList(0, pageSize) : reservations;
+        ReservationsPage reservationsPage = pageMapper.toReservationsPage(content, pageSize);
+        if (hasNext) {
+            reservationsPage.setContinuationToken(continuationToken(content.get(content.size() - 1)));
+        }
+        return reservationsPage;
+    }
+
+    private String continuationToken(Reservation reservation) {
+        return ContinuationToken.encode(ContinuationToken.RESERVATIONS,
+                reservation.getEvent().getDate(), reservation.getEvent().getStartTime(), reservation.getId());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
 
     /**
      * This method deletes reservation
@@ -173,6 +234,7 @@ public class ReservationServiceImpl implements ReservationService {
      * @return deleted reservation
      */
     @Override
+    @Transactional
     public ReservationDTO delete(String reservationId) {
         Reservation reservation = reservationRepository.findById(reservationId).orElseThrow(
                 () -> new ResourceNotFoundException("Reservation with id " + reservationId + " not found")
@@ -185,20 +247,17 @@ public class ReservationServiceImpl implements ReservationService {
             throw new PastEventException("Event already started");
         }
         reservationRepository.delete(reservation);
+        eventService.releaseSpace(reservation.getEvent().getId());
+        calendarVersionService.eventsChanged(reservation.getEvent().getCalendar().getId());
         refund(reservation);
-        userService.save(owner);
         log.info("Reservation with id {} deleted", reservationId);
         notificationService.sendReservationCancelledEmail(owner, reservation.getEvent());
         return reservationsMapper.reservationToReservationDTO(reservation);
     }
 
     private void refund(Reservation reservation) {
-        AppUser owner = reservation.getOwner();
-        if (reservation.isDiscountApplied()) {
-            owner.setBalance(owner.getBalance() + reservation.getEvent().getDiscountPrice());
-        } else {
-            owner.setBalance(owner.getBalance() + reservation.getEvent().getPrice());
-        }
-        userService.save(owner);
+        Event event = reservation.getEvent();
+        int amount = reservation.isDiscountApplied() ? event.getDiscountPrice() : event.getPrice();
+        balanceLedgerService.credit(reservation.getOwner(), amount, BalanceTransactionType.RESERVATION_REFUND, event.getId());
     }
 }
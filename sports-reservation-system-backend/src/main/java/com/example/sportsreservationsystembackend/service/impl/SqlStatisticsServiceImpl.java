@@ -0,0 +1,131 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.service.SqlStatisticsService;
+import com.example.sportsreservationsystembackend.service.config.SqlStatisticsConfig;
+import com.example.sportsreservationsystembackend.service.model.HandlerSqlStatistics;
+import com.example.sportsreservationsystembackend.service.model.RequestSqlStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class aggregates SQL statistics of requests by controller method and publishes them as metrics.
+ * Statements of a request are compared with the query budget of its controller method,
+ * growing number of statements usually means an N+1 select was introduced.
+ *
+ * @Author Radim Stejskal
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatisticsServiceImpl implements SqlStatisticsService {
+
+    private static final String HANDLER_TAG = "handler";
+
+    private final SqlStatisticsConfig sqlStatisticsConfig;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HandlerTotals> totals = new ConcurrentHashMap<>();
+
+    /**
+     * This method records SQL statistics of a finished request
+     * @param handler controller method which handled the request, e.g. CalendarController.getAllCalendars
+     * @param statistics statistics of the request
+     * @return false if the request exceeded query budget of the controller method
+     */
+    @Override
+    public boolean record(String handler, RequestSqlStatistics statistics) {
+        DistributionSummary.builder("sql.request.statements")
+                .description("Statements executed by a request")
+                .tag(HANDLER_TAG, handler)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("sql.request.entity.loads")
+                .description("Entities loaded by a request")
+                .tag(HANDLER_TAG, handler)
+                .register(meterRegistry)
+                .record(statistics.getEntityLoads());
+        DistributionSummary.builder("sql.request.collection.fetches")
+                .description("Lazy collections initialized by a request")
+                .tag(HANDLER_TAG, handler)
+                .register(meterRegistry)
+                .record(statistics.getCollectionFetches());
+        Timer.builder("sql.request.flush")
+                .description("Time a request spent flushing the persistence context")
+                .tag(HANDLER_TAG, handler)
+                .register(meterRegistry)
+                .record(statistics.getFlushNanos(), TimeUnit.NANOSECONDS);
+
+        HandlerTotals handlerTotals = totals.computeIfAbsent(handler, key -> new HandlerTotals());
+        handlerTotals.add(statistics);
+
+        int budget = sqlStatisticsConfig.getBudget(handler);
+        if (budget <= 0 || statistics.getStatements() <= budget) {
+            return true;
+        }
+        handlerTotals.budgetExceeded.increment();
+        Counter.builder("sql.request.budget.exceeded")
+                .description("Requests which executed more statements than their query budget")
+                .tag(HANDLER_TAG, handler)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Request to {} exceeded query budget of {} statements: {}", handler, budget, statistics);
+        return false;
+    }
+
+    /**
+     * This method returns statistics of all controller methods, the ones executing most statements first
+     * @return statistics by controller method
+     */
+    @Override
+    public List<HandlerSqlStatistics> getStatistics() {
+        return totals.entrySet().stream()
+                .map(entry -> entry.getValue().toStatistics(entry.getKey(), sqlStatisticsConfig.getBudget(entry.getKey())))
+                .sorted(Comparator.comparingLong(HandlerSqlStatistics::getStatements).reversed())
+                .toList();
+    }
+
+    /**
+     * This method clears statistics of all controller methods, metrics are kept
+     */
+    @Override
+    public void reset() {
+        totals.clear();
+    }
+
+    private static class HandlerTotals {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final LongAdder entityLoads = new LongAdder();
+        private final LongAdder collectionFetches = new LongAdder();
+        private final LongAdder flushNanos = new LongAdder();
+        private final LongAdder budgetExceeded = new LongAdder();
+
+        private void add(RequestSqlStatistics statistics) {
+            requests.increment();
+            statements.add(statistics.getStatements());
+            maxStatements.accumulateAndGet(statistics.getStatements(), Math::max);
+            entityLoads.add(statistics.getEntityLoads());
+            collectionFetches.add(statistics.getCollectionFetches());
+            flushNanos.add(statistics.getFlushNanos());
+        }
+
+        private HandlerSqlStatistics toStatistics(String handler, int budget) {
+            return new HandlerSqlStatistics(handler, requests.sum(), statements.sum(), maxStatements.get(), entityLoads.sum(),
+                    collectionFetches.sum(), flushNanos.sum() / 1_000_000, budget, budgetExceeded.sum());
+        }
+    }
+}
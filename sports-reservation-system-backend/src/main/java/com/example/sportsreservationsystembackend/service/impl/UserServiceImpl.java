@@ -1,5 +1,8 @@
 package com.example.sportsreservationsystembackend.service.impl;
 
+import com.example.sportsreservationsystembackend.config.security.CurrentUserContext;
+import com.example.sportsreservationsystembackend.config.security.UserPrincipalCache;
+import com.example.sportsreservationsystembackend.service.config.PaginationConfig;
 import com.example.sportsreservationsystembackend.service.config.RegistrationTemplateConfig;
 import com.example.sportsreservationsystembackend.exceptions.EmailTakenException;
 import com.example.sportsreservationsystembackend.exceptions.LastAdminException;
@@ -12,9 +15,11 @@ import com.example.sportsreservationsystembackend.model.UserToken;
 import com.example.sportsreservationsystembackend.repository.UserRepository;
 import com.example.sportsreservationsystembackend.rest.mapper.AppUserMapper;
 import com.example.sportsreservationsystembackend.rest.mapper.PageMapper;
+import com.example.sportsreservationsystembackend.service.BalanceLedgerService;
 import com.example.sportsreservationsystembackend.service.NotificationService;
 import com.example.sportsreservationsystembackend.service.UserService;
 import com.example.sportsreservationsystembackend.service.UserTokenService;
+import com.example.sportsreservationsystembackend.utils.ContinuationToken;
 import com.xstejsk.reservationapp.main.rest.model.AppUserDTO;
 import com.xstejsk.reservationapp.main.rest.model.ChangePasswordRequest;
 import com.xstejsk.reservationapp.main.rest.model.CreateUserRequest;
@@ -33,6 +38,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -58,6 +64,10 @@ public class UserServiceImpl implements UserService {
     private final RegistrationTemplateConfig registrationTemplateConfig;
     private final UserTokenService tokenService;
     private final PageMapper pageMapper;
+    private final BalanceLedgerService balanceLedgerService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final CurrentUserContext currentUserContext;
+    private final PaginationConfig paginationConfig;
 
     /**
      * This method returns a user by id
@@ -155,15 +165,24 @@ public class UserServiceImpl implements UserService {
     public AppUserDTO verifyUser(String token) {
         AppUser owner = tokenService.verifyToken(token);
         owner.setEnabled(true);
-       return appUserMapper.appUserToAppUserDTO(userRepository.save(owner));
+        AppUser savedOwner = userRepository.save(owner);
+        userPrincipalCache.invalidate(savedOwner.getUsername());
+        return appUserMapper.appUserToAppUserDTO(savedOwner);
     }
 
     /**
-     * This method returns a currently logged in user
+     * This method returns a currently logged in user. Within a request the user is loaded only once
+     * and kept in the request scoped context, outside of a request it is looked up by security context
      * @return currently logged in user
      */
     @Override
     public AppUser getCurrentUser() {
+        if (RequestContextHolder.getRequestAttributes() != null && currentUserContext.getPrincipal() != null) {
+            if (currentUserContext.getUser() == null) {
+                currentUserContext.setUser(getUserById(currentUserContext.getPrincipal().getId()));
+            }
+            return currentUserContext.getUser();
+        }
         // get user from security context
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         log.info("User with email {} is logged in", auth.getName());
@@ -178,7 +197,9 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public AppUser save(AppUser appUser) {
-        return userRepository.save(appUser);
+        AppUser savedAppUser = userRepository.save(appUser);
+        userPrincipalCache.invalidate(savedAppUser.getUsername());
+        return savedAppUser;
     }
 
     /**
@@ -187,16 +208,18 @@ public class UserServiceImpl implements UserService {
      * @param role role of user
      * @param page page number
      * @param size size of page
+     * @param continuationToken token from the previous page, switches to keyset pagination
      * @return page of users
      */
     @Override
-    public UsersPage getAll(String fulltext, String role, Integer page, Integer size) {
+    public UsersPage getAll(String fulltext, String role, Integer page, Integer size, String continuationToken) {
         log.info("Getting page {} of size {}", page, size);
         if (page == null || page < 0) {
             page = 0;
         }
-        if (size == null || size < 1) {
-            size = Integer.MAX_VALUE;
+        int pageSize = paginationConfig.resolvePageSize(size);
+        if (continuationToken != null && !continuationToken.isBlank()) {
+            return getAllAfter(fulltext, role, pageSize, continuationToken);
         }
 
         Specification<AppUser> specification = (root, query, crieriaBuilder) -> {
@@ -214,9 +237,44 @@ public class UserServiceImpl implements UserService {
             specification = specification.and((root, query, crieriaBuilder) -> crieriaBuilder.equal(root.get("role"), UserRole.valueOf(role)));
         }
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("firstName").ascending());
+        Pageable pageable = PageRequest.of(page, pageSize, Sort.by("firstName").ascending().and(Sort.by("id").ascending()));
         Page<AppUser> userPage = userRepository.findAll(specification, pageable);
-        return pageMapper.toUsersPage(userPage);
+        UsersPage usersPage = pageMapper.toUsersPage(userPage);
+        if (userPage.hasNext()) {
+            usersPage.setContinuationToken(continuationToken(userPage.getContent().get(userPage.getNumberOfElements() - 1)));
+        }
+        return usersPage;
+    }
+
+    /**
+     * This method returns page of users following the user encoded in continuation token,
+     * one more user is read to find out whether there is a next page
+     * @param fulltext fulltext search string
+     * @param role role of user
+     * @param pageSize page size
+     * @param continuationToken token from the previous page
+     * @return page of users
+     */
+    private UsersPage getAllAfter(String fulltext, String role, int pageSize, String continuationToken) {
+        ContinuationToken after = ContinuationToken.decode(ContinuationToken.USERS, continuationToken, 2);
+        List<AppUser> users = userRepository.findAllAfter(
+                fulltext == null || fulltext.isEmpty() ? null : "%" + fulltext + "%",
+                role == null || role.isEmpty() ? null : UserRole.valueOf(role),
+                after.getString(0),
+                after.getString(1),
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = users.size() > pageSize;
+        List<AppUser> content = hasNext ? users.subList(0, pageSize) : users;
+        UsersPage usersPage = pageMapper.toUsersPage(content, pageSize);
+        if (hasNext) {
+            usersPage.setContinuationToken(continuationToken(content.get(content.size() - 1)));
+        }
+        return usersPage;
+    }
+
+    private String continuationToken(AppUser user) {
+        return ContinuationToken.encode(ContinuationToken.USERS, user.getFirstName(), user.getId());
     }
 
     /**
@@ -230,10 +288,9 @@ public class UserServiceImpl implements UserService {
         if (balance == null || balance < 0) {
             throw new IllegalArgumentException("Balance cannot be null or negative");
         }
-        AppUser user = getUserById(userId);
-        user.setBalance(balance);
+        AppUser user = balanceLedgerService.setBalance(userId, balance);
         log.info("User {} updated balance to {}", user.getEmail(), balance);
-        return appUserMapper.appUserToAppUserDTO(userRepository.save(user));
+        return appUserMapper.appUserToAppUserDTO(user);
     }
 
     /**
@@ -259,7 +316,9 @@ public class UserServiceImpl implements UserService {
         }
         AppUser appUser = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User with id " + userId + " not found"));
         appUser.setRole(newRole);
-        return appUserMapper.appUserToAppUserDTO(userRepository.save(appUser));
+        AppUser savedAppUser = userRepository.save(appUser);
+        userPrincipalCache.invalidate(savedAppUser.getUsername());
+        return appUserMapper.appUserToAppUserDTO(savedAppUser);
     }
 
     /**
@@ -270,19 +329,21 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public AppUserDTO changePassword(String userId, ChangePasswordRequest changePasswordRequest) {
-        if (!getCurrentUser().getId().equals(userId)) {
+        AppUser appUser = getCurrentUser();
+        if (!appUser.getId().equals(userId)) {
             throw new ResourceNotOwnedException("Cannot change password of another user");
         }
-        if (!bCryptPasswordEncoder.matches(changePasswordRequest.getOldPassword(), getCurrentUser().getPassword())) {
+        if (!bCryptPasswordEncoder.matches(changePasswordRequest.getOldPassword(), appUser.getPassword())) {
             throw new PasswordMissmatchException("Old password is incorrect");
         }
         if (changePasswordRequest.getNewPassword().length() < 8) {
             throw new IllegalArgumentException("Password must be at least 8 characters long");
         }
-        AppUser appUser = getCurrentUser();
         appUser.setPassword(bCryptPasswordEncoder.encode(changePasswordRequest.getNewPassword()));
         log.info("User {} changed password", appUser.getEmail());
-        return appUserMapper.appUserToAppUserDTO(userRepository.save(appUser));
+        AppUser savedAppUser = userRepository.save(appUser);
+        userPrincipalCache.invalidate(savedAppUser.getUsername());
+        return appUserMapper.appUserToAppUserDTO(savedAppUser);
     }
 
     /**
@@ -0,0 +1,353 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.exceptions.PastEventException;
+import com.example.sportsreservationsystembackend.exceptions.ResourceNotFoundException;
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.model.RecurrenceGroup;
+import com.example.sportsreservationsystembackend.repository.EventRepository;
+import com.example.sportsreservationsystembackend.repository.RecurrenceGroupRepository;
+import com.example.sportsreservationsystembackend.service.EventIntervalIndex;
+import com.example.sportsreservationsystembackend.service.VirtualEventService;
+import com.example.sportsreservationsystembackend.service.config.RecurrenceConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This class represents service for recurring events with virtual occurrences. Such recurrence group stores
+ * the rule of the series and its occurrences are expanded for the requested window when read. An occurrence
+ * is stored as an event only when it is reserved or changed, its date is then excluded from the rule.
+ * Virtual occurrences are identified by the id of the group and the date of the occurrence.
+ *
+ * @Author Radim Stejskal
+ */
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualEventServiceImpl implements VirtualEventService {
+
+    private static final char ID_SEPARATOR = '_';
+
+    private final RecurrenceGroupRepository recurrenceGroupRepository;
+    private final EventRepository eventRepository;
+    private final RecurrenceConfig recurrenceConfig;
+    private final EventIntervalIndex eventIntervalIndex;
+
+    /**
+     * This method returns true if new recurring events should be stored with virtual occurrences
+     * @return true if virtual occurrences are enabled
+     */
+    @Override
+    public boolean isEnabled() {
+        return recurrenceConfig.isVirtualOccurrences();
+    }
+
+    /**
+     * This method returns true if given id identifies virtual occurrence
+     * @param eventId id of the event
+     * @return true if the id is id of virtual occurrence
+     */
+    @Override
+    public boolean isVirtualId(String eventId) {
+        return eventId != null && eventId.indexOf(ID_SEPARATOR) > 0;
+    }
+
+    /**
+     * This method stores the rule of recurring event, no occurrences are stored
+     * @param event first occurrence of the series with recurrence group
+     * @param calendar calendar of the series
+     * @return saved recurrence group
+     */
+    @Override
+    public RecurrenceGroup createGroup(Event event, Calendar calendar) {
+        RecurrenceGroup recurrenceGroup = event.getRecurrenceGroup();
+        recurrenceGroup.setVirtualOccurrences(true);
+        recurrenceGroup.setCalendar(calendar);
+        recurrenceGroup.setStartDate(event.getDate());
+        recurrenceGroup.setStartTime(event.getStartTime());
+        recurrenceGroup.setEndTime(event.getEndTime());
+        recurrenceGroup.setMaximumCapacity(event.getMaximumCapacity());
+        recurrenceGroup.setPrice(event.getPrice());
+        recurrenceGroup.setDiscountPrice(event.getDiscountPrice());
+        recurrenceGroup.setTitle(event.getTitle());
+        recurrenceGroup.setDescription(event.getDescription());
+        return recurrenceGroupRepository.save(recurrenceGroup);
+    }
+
+    /**
+     * This method returns all virtual occurrences of given group
+     * @param recurrenceGroup recurrence group with virtual occurrences
+     * @return occurrences ordered by date
+     */
+    @Override
+    public List<Event> getOccurrences(RecurrenceGroup recurrenceGroup) {
+        return dates(recurrenceGroup, null, null).map(date -> toEvent(recurrenceGroup, date)).toList();
+    }
+
+    /**
+     * This method returns virtual occurrences in given window
+     * @param calendarId id of the calendar, all calendars if null
+     * @param from first date of the window, unbounded if null
+     * @param to last date of the window, unbounded if null
+     * @param limit maximum number of returned occurrences
+     * @return occurrences ordered by date, start time and id
+     */
+    @Override
+    public List<Event> getOccurrences(String calendarId, LocalDate from, LocalDate to, int limit) {
+        return occurrences(calendarId, from, to, event -> true, limit);
+    }
+
+    /**
+     * This method returns virtual occurrences following given sort key, used for keyset pagination
+     * @param calendarId id of the calendar, all calendars if null
+     * @param from first date of the window, unbounded if null
+     * @param date date of the last event of the previous page
+     * @param startTime start time of the last event of the previous page
+     * @param eventId id of the last event of the previous page
+     * @param limit maximum number of returned occurrences
+     * @return occurrences ordered by date, start time and id
+     */
+    @Override
+    public List<Event> getOccurrencesAfter(String calendarId, LocalDate from, LocalDate date, LocalTime startTime, String eventId, int limit) {
+        LocalDate windowStart = from == null || from.isBefore(date) ? date : from;
+        Predicate<Event> after = event -> event.getDate().isAfter(date)
+                || event.getStartTime().isAfter(startTime)
+                || (event.getStartTime().equals(startTime) && event.getId().compareTo(eventId) > 0);
+        return occurrences(calendarId, windowStart, null, after, limit);
+    }
+
+    /**
+     * This method counts virtual occurrences starting at or after given date, the occurrences of each group
+     * are counted from the length of the window and its days of week without expanding the dates
+     * @param calendarId id of the calendar, all calendars if null
+     * @param from first date, unbounded if null
+     * @return number of occurrences
+     */
+    @Override
+    public long countOccurrences(String calendarId, LocalDate from) {
+        return recurrenceGroupRepository.findVirtualGroups(calendarId, from, null).stream()
+                .mapToLong(group -> count(group, from, null))
+                .sum();
+    }
+
+    /**
+     * This method returns true if any virtual occurrence overlaps given time on given date
+     * @param calendarId id of the calendar
+     * @param date date
+     * @param startTime start time
+     * @param endTime end time
+     * @return true if there is overlapping occurrence
+     */
+    @Override
+    public boolean hasOccurrences(String calendarId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return recurrenceGroupRepository.findVirtualGroups(calendarId, date, date).stream()
+                .filter(group -> startTime.isBefore(group.getEndTime()) && endTime.isAfter(group.getStartTime()))
+                .anyMatch(group -> dates(group, date, date).findAny().isPresent());
+    }
+
+    /**
+     * This method returns true if any virtual occurrence starts at or after given time, occurrences which
+     * already started on the day of given time are skipped before looking for the first one
+     * @param calendarId id of the calendar
+     * @param from date and time
+     * @return true if there is an occurrence starting at or after from
+     */
+    @Override
+    public boolean hasFutureOccurrences(String calendarId, LocalDateTime from) {
+        LocalDate date = from.toLocalDate();
+        LocalTime time = from.toLocalTime();
+        return recurrenceGroupRepository.findVirtualGroups(calendarId, date, null).stream()
+                .anyMatch(group -> dates(group, group.getStartTime().isBefore(time) ? date.plusDays(1) : date, null).findAny().isPresent());
+    }
+
+    /**
+     * This method returns true if any virtual occurrence overlaps given recurring event
+     * @param calendarId id of the calendar
+     * @param from first date of the recurring event
+     * @param until end of the recurrence, exclusive
+     * @param startTime start time
+     * @param endTime end time
+     * @param daysOfWeek days of week of the recurring event
+     * @return true if there is overlapping occurrence
+     */
+    @Override
+    public boolean hasOccurrences(String calendarId, LocalDate from, LocalDate until, LocalTime startTime, LocalTime endTime, Set<DayOfWeek> daysOfWeek) {
+        LocalDate to = until.minusDays(1);
+        return recurrenceGroupRepository.findVirtualGroups(calendarId, from, to).stream()
+                .filter(group -> startTime.isBefore(group.getEndTime()) && endTime.isAfter(group.getStartTime()))
+                .anyMatch(group -> dates(group, from, to).anyMatch(date -> daysOfWeek.contains(date.getDayOfWeek())));
+    }
+
+    /**
+     * This method returns recurrence group of virtual occurrence without storing the occurrence
+     * @param eventId id of the virtual occurrence
+     * @return recurrence group
+     */
+    @Override
+    public RecurrenceGroup getRecurrenceGroup(String eventId) {
+        return getGroup(eventId);
+    }
+
+    /**
+     * This method stores virtual occurrence as an event, so it can be reserved or changed. If the occurrence
+     * is already stored, the stored event is returned. Runs in its own transaction, so the unique constraint
+     * on recurrence group and date resolves concurrent materialization of the same occurrence.
+     * @param calendarId id of the calendar
+     * @param eventId id of the virtual occurrence
+     * @return stored event
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Event materialize(String calendarId, String eventId) {
+        RecurrenceGroup recurrenceGroup = getGroup(eventId);
+        LocalDate date = getDate(eventId);
+        if (calendarId != null && !calendarId.equals(recurrenceGroup.getCalendar().getId())) {
+            throw new ResourceNotFoundException("Event with id " + eventId + " not found");
+        }
+        if (recurrenceGroup.getExcludedDates().contains(date)) {
+            return eventRepository.findByRecurrenceGroupIdAndDate(recurrenceGroup.getId(), date)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event with id " + eventId + " not found"));
+        }
+        Event event = getOccurrence(recurrenceGroup, date, eventId);
+        event.setId(null);
+        recurrenceGroup.getExcludedDates().add(date);
+        Event savedEvent = eventRepository.saveAndFlush(event);
+        eventIntervalIndex.add(savedEvent);
+        log.info("Materialized occurrence {} of recurrence group {} as event {}", date, recurrenceGroup.getId(), savedEvent.getId());
+        return savedEvent;
+    }
+
+    /**
+     * This method removes virtual occurrence from the series, if it is not in the past
+     * @param eventId id of the virtual occurrence
+     * @return removed occurrence
+     */
+    @Override
+    @Transactional
+    public Event exclude(String eventId) {
+        RecurrenceGroup recurrenceGroup = getGroup(eventId);
+        LocalDate date = getDate(eventId);
+        Event event = getOccurrence(recurrenceGroup, date, eventId);
+        if (LocalDateTime.of(date, event.getStartTime()).isBefore(LocalDateTime.now())) {
+            throw new PastEventException("Cannot delete past event");
+        }
+        recurrenceGroup.getExcludedDates().add(date);
+        return event;
+    }
+
+    /**
+     * This method updates title and description of the rule, so all future virtual occurrences use them
+     * @param recurrenceGroupId id of the recurrence group
+     * @param title new title
+     * @param description new description
+     */
+    @Override
+    @Transactional
+    public void updateSeries(String recurrenceGroupId, String title, String description) {
+        recurrenceGroupRepository.updateRule(recurrenceGroupId, title, description);
+    }
+
+    private List<Event> occurrences(String calendarId, LocalDate from, LocalDate to, Predicate<Event> filter, int limit) {
+        return recurrenceGroupRepository.findVirtualGroups(calendarId, from, to).stream()
+                .flatMap(group -> dates(group, from, to).map(date -> toEvent(group, date)).filter(filter).limit(limit))
+                .sorted(OCCURRENCE_ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    private long count(RecurrenceGroup recurrenceGroup, LocalDate from, LocalDate to) {
+        LocalDate first = first(recurrenceGroup, from);
+        LocalDate end = end(recurrenceGroup, to);
+        if (!first.isBefore(end)) {
+            return 0;
+        }
+        EnumSet<DayOfWeek> daysOfWeek = EnumSet.copyOf(recurrenceGroup.getDaysOfWeek());
+        long days = ChronoUnit.DAYS.between(first, end);
+        long count = days / 7 * daysOfWeek.size();
+        for (int i = 0; i < days % 7; i++) {
+            if (daysOfWeek.contains(first.getDayOfWeek().plus(i))) {
+                count++;
+            }
+        }
+        return count - recurrenceGroup.getExcludedDates().stream()
+                .filter(date -> !date.isBefore(first) && date.isBefore(end) && daysOfWeek.contains(date.getDayOfWeek()))
+                .count();
+    }
+
+    private Stream<LocalDate> dates(RecurrenceGroup recurrenceGroup, LocalDate from, LocalDate to) {
+        LocalDate first = first(recurrenceGroup, from);
+        LocalDate end = end(recurrenceGroup, to);
+        if (!first.isBefore(end)) {
+            return Stream.empty();
+        }
+        EnumSet<DayOfWeek> daysOfWeek = EnumSet.copyOf(recurrenceGroup.getDaysOfWeek());
+        Set<LocalDate> excludedDates = recurrenceGroup.getExcludedDates();
+        return first.datesUntil(end)
+                .filter(date -> daysOfWeek.contains(date.getDayOfWeek()) && !excludedDates.contains(date));
+    }
+
+    private static LocalDate first(RecurrenceGroup recurrenceGroup, LocalDate from) {
+        return from == null || from.isBefore(recurrenceGroup.getStartDate()) ? recurrenceGroup.getStartDate() : from;
+    }
+
+    private static LocalDate end(RecurrenceGroup recurrenceGroup, LocalDate to) {
+        return to == null || !to.isBefore(recurrenceGroup.getRepeatUntil()) ? recurrenceGroup.getRepeatUntil() : to.plusDays(1);
+    }
+
+    private Event getOccurrence(RecurrenceGroup recurrenceGroup, LocalDate date, String eventId) {
+        if (dates(recurrenceGroup, date, date).findAny().isEmpty()) {
+            throw new ResourceNotFoundException("Event with id " + eventId + " not found");
+        }
+        return toEvent(recurrenceGroup, date);
+    }
+
+    private RecurrenceGroup getGroup(String eventId) {
+        String recurrenceGroupId = eventId.substring(0, eventId.lastIndexOf(ID_SEPARATOR));
+        Optional<RecurrenceGroup> recurrenceGroup = recurrenceGroupRepository.findWithExcludedDates(recurrenceGroupId);
+        return recurrenceGroup.filter(RecurrenceGroup::isVirtualOccurrences)
+                .orElseThrow(() -> new ResourceNotFoundException("Event with id " + eventId + " not found"));
+    }
+
+    private LocalDate getDate(String eventId) {
+        try {
+            return LocalDate.parse(eventId.substring(eventId.lastIndexOf(ID_SEPARATOR) + 1));
+        } catch (DateTimeParseException e) {
+            throw new ResourceNotFoundException("Event with id " + eventId + " not found");
+        }
+    }
+
+    private Event toEvent(RecurrenceGroup recurrenceGroup, LocalDate date) {
+        Event event = new Event(
+                recurrenceGroup.getCalendar(),
+                date,
+                recurrenceGroup.getStartTime(),
+                recurrenceGroup.getEndTime(),
+                recurrenceGroup.getMaximumCapacity(),
+                recurrenceGroup.getPrice(),
+                recurrenceGroup.getTitle(),
+                recurrenceGroup.getDescription(),
+                recurrenceGroup);
+        event.setId(recurrenceGroup.getId() + ID_SEPARATOR + date);
+        event.setDiscountPrice(recurrenceGroup.getDiscountPrice() == null ? 0 : recurrenceGroup.getDiscountPrice());
+        event.setDayOfWeek(date.getDayOfWeek().getValue());
+        event.setSpacesAvailable(recurrenceGroup.getMaximumCapacity());
+        return event;
+    }
+}
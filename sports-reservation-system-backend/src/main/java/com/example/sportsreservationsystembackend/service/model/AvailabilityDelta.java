@@ -0,0 +1,22 @@
+package com.example.sportsreservationsystembackend.service.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * This class represents change of spaces available of a single event, it is pushed to subscribers of the calendar
+ *
+ * @author Radim Stejskal
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AvailabilityDelta {
+
+    @JsonIgnore
+    private final String calendarId;
+    private final String eventId;
+    private final int spacesAvailable;
+}
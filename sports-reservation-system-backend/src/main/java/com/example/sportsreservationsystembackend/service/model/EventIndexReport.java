@@ -0,0 +1,28 @@
+package com.example.sportsreservationsystembackend.service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This class represents result of comparing the in-memory event index with the database
+ *
+ * @author Radim Stejskal
+ */
+@Getter
+@AllArgsConstructor
+public class EventIndexReport {
+
+    private final LocalDate checkedFrom;
+    private final int indexedEvents;
+    private final int storedEvents;
+    private final List<String> missingEventIds;
+    private final List<String> staleEventIds;
+    private final List<String> mismatchedEventIds;
+
+    public boolean isConsistent() {
+        return missingEventIds.isEmpty() && staleEventIds.isEmpty() && mismatchedEventIds.isEmpty();
+    }
+}
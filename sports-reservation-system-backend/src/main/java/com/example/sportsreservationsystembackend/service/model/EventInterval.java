@@ -0,0 +1,35 @@
+package com.example.sportsreservationsystembackend.service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * This class represents time interval occupied by a stored event, it is kept in the in-memory event index
+ *
+ * @author Radim Stejskal
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EventInterval {
+
+    private final String eventId;
+    private final String calendarId;
+    private final LocalDate date;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+
+    /**
+     * This method returns true if the interval overlaps given time
+     * @param startTime start time
+     * @param endTime end time
+     * @return true if the times overlap
+     */
+    public boolean overlaps(LocalTime startTime, LocalTime endTime) {
+        return startTime.isBefore(this.endTime) && endTime.isAfter(this.startTime);
+    }
+}
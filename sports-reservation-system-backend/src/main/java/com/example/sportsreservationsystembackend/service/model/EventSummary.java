@@ -0,0 +1,41 @@
+package com.example.sportsreservationsystembackend.service.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * This class represents event shown in the calendar detail, it is read by a single projection query
+ * together with the number of spaces left and the rule of its recurrence group
+ *
+ * @author Radim Stejskal
+ */
+@Getter
+@RequiredArgsConstructor
+public class EventSummary {
+
+    private final String id;
+    private final LocalDate date;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final Integer maximumCapacity;
+    private final Integer price;
+    private final Integer discountPrice;
+    private final String title;
+    private final String description;
+    private final Integer spacesAvailable;
+    private final String recurrenceGroupId;
+    private final LocalDate repeatUntil;
+
+    /**
+     * Days of week of the recurrence group, a collection cannot be read by the projection query,
+     * so they are filled in afterwards for all groups of the calendar at once
+     */
+    @Setter
+    private List<DayOfWeek> daysOfWeek = List.of();
+}
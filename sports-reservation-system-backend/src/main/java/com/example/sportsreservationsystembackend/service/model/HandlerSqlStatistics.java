@@ -0,0 +1,28 @@
+package com.example.sportsreservationsystembackend.service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * This class represents SQL work done by requests to a single controller method since start or the last reset
+ *
+ * @author Radim Stejskal
+ */
+@Getter
+@AllArgsConstructor
+public class HandlerSqlStatistics {
+
+    private final String handler;
+    private final long requests;
+    private final long statements;
+    private final long maxStatements;
+    private final long entityLoads;
+    private final long collectionFetches;
+    private final long flushMillis;
+    private final int budget;
+    private final long budgetExceeded;
+
+    public double getStatementsPerRequest() {
+        return requests == 0 ? 0 : (double) statements / requests;
+    }
+}
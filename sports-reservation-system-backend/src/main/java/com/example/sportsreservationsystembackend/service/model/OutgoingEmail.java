@@ -0,0 +1,21 @@
+package com.example.sportsreservationsystembackend.service.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * This class represents an email waiting in the dispatch queue
+ *
+ * @author Radim Stejskal
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(exclude = {"body"})
+public class OutgoingEmail {
+
+    private final String recipient;
+    private final String subject;
+    private final String body;
+    private final long enqueuedAt = System.nanoTime();
+}
@@ -0,0 +1,20 @@
+package com.example.sportsreservationsystembackend.service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+
+/**
+ * This class represents one day of week of a recurrence group, read by a projection query
+ * so days of many groups are loaded without loading the groups
+ *
+ * @author Radim Stejskal
+ */
+@Getter
+@AllArgsConstructor
+public class RecurrenceDay {
+
+    private final String recurrenceGroupId;
+    private final DayOfWeek dayOfWeek;
+}
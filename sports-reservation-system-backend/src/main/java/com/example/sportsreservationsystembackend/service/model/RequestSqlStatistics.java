@@ -0,0 +1,41 @@
+package com.example.sportsreservationsystembackend.service.model;
+
+import lombok.Getter;
+
+/**
+ * This class represents SQL work done while a single request was handled
+ *
+ * @author Radim Stejskal
+ */
+@Getter
+public class RequestSqlStatistics {
+
+    private int statements;
+    private int entityLoads;
+    private int collectionFetches;
+    private int flushes;
+    private long flushNanos;
+
+    public void statementExecuted() {
+        statements++;
+    }
+
+    public void entityLoaded() {
+        entityLoads++;
+    }
+
+    public void collectionFetched() {
+        collectionFetches++;
+    }
+
+    public void flushed(long nanos) {
+        flushes++;
+        flushNanos += nanos;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + entityLoads + " entity loads, " + collectionFetches + " collection fetches, "
+                + flushes + " flushes in " + flushNanos / 1_000_000 + " ms";
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * This class represents opaque continuation token used for keyset pagination. The token holds sort key values
+ * of the last returned row together with the kind of listing it was issued for, so it can not be used
+ * for a different listing.
+ *
+ * @Author Radim Stejskal
+ */
+public final class ContinuationToken {
+
+    public static final String EVENTS = "events";
+    public static final String RESERVATIONS = "reservations";
+    public static final String USERS = "users";
+
+    private static final int MAX_VALUES = 8;
+
+    private final List<String> values;
+
+    private ContinuationToken(List<String> values) {
+        this.values = values;
+    }
+
+    /**
+     * This method encodes sort key values of the last row of a page into a token
+     * @param kind kind of the listing the token is issued for
+     * @param values sort key values, keyset pagination needs non null sort keys
+     * @return url safe token
+     * @throws IllegalArgumentException if any value is null
+     */
+    public static String encode(String kind, Object... values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(kind);
+            out.writeByte(values.length);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    throw new IllegalArgumentException("Sort key value " + i + " of " + kind + " continuation token is null");
+                }
+                out.writeUTF(values[i].toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * This method decodes token issued for given kind of listing
+     * @param kind kind of the listing
+     * @param token token from the previous page
+     * @param size expected number of values
+     * @return decoded token
+     * @throws IllegalArgumentException if the token is malformed or was issued for another listing
+     */
+    public static ContinuationToken decode(String kind, String token, int size) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (!kind.equals(in.readUTF())) {
+                throw new IllegalArgumentException("Continuation token was issued for another listing");
+            }
+            int count = in.readUnsignedByte();
+            if (count != size || count > MAX_VALUES) {
+                throw new IllegalArgumentException("Invalid continuation token");
+            }
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(in.readUTF());
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Invalid continuation token");
+            }
+            return new ContinuationToken(values);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid continuation token", e);
+        }
+    }
+
+    public String getString(int index) {
+        return values.get(index);
+    }
+
+    public LocalDate getDate(int index) {
+        try {
+            return LocalDate.parse(values.get(index));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid continuation token", e);
+        }
+    }
+
+    public LocalTime getTime(int index) {
+        try {
+            return LocalTime.parse(values.get(index));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid continuation token", e);
+        }
+    }
+}
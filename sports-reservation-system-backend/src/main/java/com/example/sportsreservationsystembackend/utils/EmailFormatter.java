@@ -89,6 +89,33 @@ public class EmailFormatter {
         }
     }
 
+    /**
+     * This method renders parsed template with actual values
+     * @param template parsed email template
+     * @return formatted email body
+     */
+    public String formatEmail(EmailTemplate template) {
+        return template.render(this);
+    }
+
+    /**
+     * This method returns value of given placeholder
+     * @param placeholder placeholder
+     * @return value to be used instead of the placeholder
+     */
+    public String getValue(EmailBodyPlaceholders placeholder) {
+        return switch (placeholder) {
+            case RECIPIENT -> recipientName;
+            case LINK -> link;
+            case LINK_EXPIRATION -> linkExpiration;
+            case EVENT_NAME -> eventName;
+            case PASSWORD -> password;
+            case EVENT_TIME -> eventTime;
+            case EVENT_DATE -> eventDate;
+            case LOCATION_NAME -> locationName;
+        };
+    }
+
     /**
      * This method replaces placeholders in email body with actual values
      * @param body email body
@@ -0,0 +1,81 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import com.example.sportsreservationsystembackend.service.model.EmailBodyPlaceholders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents email template parsed into literal segments and placeholders,
+ * so it can be rendered in a single pass without searching the body again
+ *
+ * @Author Radim Stejskal
+ */
+public final class EmailTemplate {
+
+    private static final EmailBodyPlaceholders[] PLACEHOLDERS = EmailBodyPlaceholders.values();
+
+    private final String[] literals;
+    private final EmailBodyPlaceholders[] placeholders;
+    private final int literalsLength;
+
+    private EmailTemplate(String[] literals, EmailBodyPlaceholders[] placeholders, int literalsLength) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.literalsLength = literalsLength;
+    }
+
+    /**
+     * This method parses template body into segments
+     * @param body template body
+     * @return parsed template
+     */
+    public static EmailTemplate compile(String body) {
+        List<String> literals = new ArrayList<>();
+        List<EmailBodyPlaceholders> placeholders = new ArrayList<>();
+        int literalStart = 0;
+        int index = body.indexOf('{');
+        while (index >= 0) {
+            EmailBodyPlaceholders placeholder = placeholderAt(body, index);
+            if (placeholder == null) {
+                index = body.indexOf('{', index + 1);
+                continue;
+            }
+            literals.add(body.substring(literalStart, index));
+            placeholders.add(placeholder);
+            literalStart = index + placeholder.getValue().length();
+            index = body.indexOf('{', literalStart);
+        }
+        literals.add(body.substring(literalStart));
+        int literalsLength = literals.stream().mapToInt(String::length).sum();
+        return new EmailTemplate(literals.toArray(new String[0]), placeholders.toArray(new EmailBodyPlaceholders[0]), literalsLength);
+    }
+
+    /**
+     * This method renders the template with values of given formatter
+     * @param emailFormatter formatter holding placeholder values
+     * @return rendered email body
+     */
+    public String render(EmailFormatter emailFormatter) {
+        String[] values = new String[placeholders.length];
+        int length = literalsLength;
+        for (int i = 0; i < placeholders.length; i++) {
+            values[i] = emailFormatter.getValue(placeholders[i]);
+            length += values[i].length();
+        }
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]).append(values[i]);
+        }
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    private static EmailBodyPlaceholders placeholderAt(String body, int index) {
+        for (EmailBodyPlaceholders placeholder : PLACEHOLDERS) {
+            if (body.startsWith(placeholder.getValue(), index)) {
+                return placeholder;
+            }
+        }
+        return null;
+    }
+}
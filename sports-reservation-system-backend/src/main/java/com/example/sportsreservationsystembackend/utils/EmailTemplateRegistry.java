@@ -0,0 +1,55 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import com.example.sportsreservationsystembackend.service.config.TemplateConfig;
+import io.micrometer.core.instrument.util.IOUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class loads email templates from classpath once and keeps them parsed in memory
+ *
+ * @Author Radim Stejskal
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailTemplateRegistry {
+
+    private final List<TemplateConfig> templateConfigs;
+    private final Map<String, EmailTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * This method loads all configured templates at startup
+     */
+    @PostConstruct
+    public void loadTemplates() {
+        templateConfigs.forEach(templateConfig -> getTemplate(templateConfig.getPath()));
+        log.info("Loaded {} email templates", templates.size());
+    }
+
+    /**
+     * This method returns parsed template
+     * @param path classpath location of the template
+     * @return parsed template
+     */
+    public EmailTemplate getTemplate(String path) {
+        return templates.computeIfAbsent(path, EmailTemplateRegistry::load);
+    }
+
+    private static EmailTemplate load(String path) {
+        log.info("Loading template from: {}", path);
+        InputStream inputStream = EmailTemplateRegistry.class.getClassLoader().getResourceAsStream(path);
+        if (inputStream == null) {
+            throw new IllegalStateException("Email template " + path + " not found");
+        }
+        return EmailTemplate.compile(IOUtils.toString(inputStream, StandardCharsets.UTF_8));
+    }
+}
@@ -140,6 +140,17 @@ public class JwtUtil {
         Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
     }
 
+    /**
+     * This method verifies signature of the token and returns its claims, the token is parsed only once
+     * @param token to be parsed
+     * @return claims of the verified token
+     * @throws ExpiredJwtException
+     * @throws MalformedJwtException
+     */
+    public Claims verifyToken(String token) throws ExpiredJwtException, MalformedJwtException {
+        return getAllClaimsFromToken(token);
+    }
+
     private synchronized String doGenerateToken(Map<String, Object> claims, String subject, boolean isRefresh) {
         long ttl = isRefresh ? jwtRefreshExpirationInMs : jwtAccessExpirationInMs;
         log.info("Generating token for subject {} with ttl {}", subject, ttl);
@@ -1,11 +1,17 @@
 package com.example.sportsreservationsystembackend.utils;
 
 import com.example.sportsreservationsystembackend.repository.EventRepository;
+import com.example.sportsreservationsystembackend.repository.RecurrenceGroupRepository;
+import com.example.sportsreservationsystembackend.service.model.EventSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * This class represents mapping service implementation used for mapping events
@@ -18,6 +24,7 @@ import java.time.format.DateTimeFormatter;
 public class MappingService {
 
     private final EventRepository eventRepository;
+    private final RecurrenceGroupRepository recurrenceGroupRepository;
 
     /**
      * This method finds min start time of all events of calendar
@@ -25,7 +32,32 @@ public class MappingService {
      * @return min start time of all events of calendar in format "kk:mm"
      */
     public String findMinTime(String calendarId) {
-        LocalTime time = eventRepository.findMinStartTimeByCalendarId(calendarId);
+        return formatMinTime(Stream.of(eventRepository.findMinStartTimeByCalendarId(calendarId),
+                        recurrenceGroupRepository.findMinStartTimeByCalendarId(calendarId))
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null));
+    }
+
+    /**
+     * This method finds min start time of given events
+     * @param events
+     * @return min start time of given events in format "kk:mm"
+     */
+    public String findMinTime(List<EventSummary> events) {
+        return formatMinTime(events.stream().map(EventSummary::getStartTime).min(Comparator.naturalOrder()).orElse(null));
+    }
+
+    /**
+     * This method finds max end time of given events
+     * @param events
+     * @return max end time of given events in format "kk:mm"
+     */
+    public String findMaxTime(List<EventSummary> events) {
+        return formatMaxTime(events.stream().map(EventSummary::getEndTime).max(Comparator.naturalOrder()).orElse(null));
+    }
+
+    private String formatMinTime(LocalTime time) {
         if (time == null) {
             time = LocalTime.of(8, 0);
         }
@@ -38,7 +70,14 @@ public class MappingService {
      * @return max end time of all events of calendar in format "kk:mm"
      */
     public String findMaxTime(String calendarId) {
-        LocalTime time = eventRepository.findMaxEndTimeByCalendarId(calendarId);
+        return formatMaxTime(Stream.of(eventRepository.findMaxEndTimeByCalendarId(calendarId),
+                        recurrenceGroupRepository.findMaxEndTimeByCalendarId(calendarId))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null));
+    }
+
+    private String formatMaxTime(LocalTime time) {
         if (time == null) {
             time = LocalTime.of(22, 0);
         }
@@ -0,0 +1,33 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * This class represents util for work bound to the outcome of the current transaction
+ *
+ * @Author Radim Stejskal
+ */
+public final class TransactionUtil {
+
+    private TransactionUtil() {
+    }
+
+    /**
+     * This method runs given action after the current transaction commits, the action is dropped when the transaction
+     * rolls back and it runs immediately when there is no transaction
+     * @param action action to run
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
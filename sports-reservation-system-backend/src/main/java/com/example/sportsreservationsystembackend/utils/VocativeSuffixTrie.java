@@ -0,0 +1,379 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * This class represents precomputed suffix rules for creating vocative form of czech first names.
+ * Rules are stored in a trie keyed by the reversed suffix of the name, '.' in a suffix matches any character.
+ * The most specific matching suffix wins, which mirrors the decision tree of the original implementation.
+ *
+ * @Author Radim Stejskal
+ */
+final class VocativeSuffixTrie {
+
+    private static final char ANY = '.';
+    private static final char PADDING = ' ';
+    private static final Pattern CAPITALIZED = Pattern.compile("^[A-ZÁČĎÉÍŇÓŘŠŤÚÝŽ][a-záčďéěíňóřšťúůýž]*$");
+
+    private final Node root = new Node();
+
+    VocativeSuffixTrie() {
+        root.rule = new Rule("", "i");
+
+        rule("a", "a", "o");
+        rule("ia", "a", "e");
+
+        rule("n", "", "e");
+        rule("un", "", "o");
+        rule("on", "", "e");
+        rule("ion", "", "");
+        rule("y.ion", "", "e");
+        rule("in", "", "e");
+        rule("rin", "", "");
+        rule("arin", "", "");
+        rule("marin", "", "e");
+        rule("lin", "", "");
+        rule("rlin", "", "e");
+        rule("ín", "", "e");
+        rule("rín", "", "");
+        rule("en", "", "e");
+        rule("men", "", "");
+        rule("mmen", "", "e");
+        rule("ren", "", "");
+        rule("oren", "", "e");
+        rule("yn", "", "");
+        rule("ryn", "", "e");
+        rule("án", "", "e");
+        rule("pán", "án", "ane");
+
+        rule("l", "", "e");
+        rule("el", "", "i");
+        rule("hel", "", "");
+        rule("iel", "", "i");
+        rule("riel", "", "i");
+        rule("uriel", "", "");
+        rule("rel", "", "i");
+        rule("arel", "el", "le");
+        rule("vel", "el", "li");
+        rule("p.vel", "el", "le");
+        rule("kel", "", "i");
+        rule("akel", "", "");
+        rule("il", "", "e");
+        rule("ail", "", "o");
+        rule("ěl", "", "i");
+        rule("ál", "", "i");
+        rule("sl", "", "i");
+        rule("ůl", "ůl", "ole");
+
+        rule("m", "", "e");
+        rule("am", "", "e");
+        rule("iam", "", "e");
+        rule("riam", "", "");
+        rule("ům", "ům", "ome");
+
+        rule("c", "", "i");
+        rule("ac", "", "u");
+        rule("ec", "ec", "če");
+        rule("vec", "ec", "če");
+        rule("švec", "vec", "evče");
+        rule("ic", "", "u");
+        rule("o.ic", "", "i");
+
+        rule("e", "", "");
+        rule("ke", "", "u");
+        rule("ne", "", "");
+        rule("gne", "e", "i");
+        rule("nne", "e", "o");
+        rule("b...nne", "", "");
+        rule("ce", "e", "i");
+        rule("ice", "", "");
+        rule("rice", "e", "i");
+        rule("vce", "", "");
+        rule("de", "", "");
+        rule("lde", "e", "o");
+        rule("ge", "e", "i");
+        rule("rge", "e", "i");
+        rule("arge", "", "");
+        rule("le", "", "");
+        rule("lle", "e", "i");
+        rule("elle", "e", "o");
+        rule("olle", "", "");
+        rule("se", "e", "o");
+        rule("sse", "e", "i");
+        rule("he", "e", "i");
+        rule("the", "", "");
+
+        rule("s", "", "i");
+        rule("és", "s", "e");
+        rule("es", "", "i");
+        rule("nes", "", "");
+        rule("enes", "s", "");
+        rule("ánes", "", "i");
+        rule("les", "s", "");
+        rule("oles", "", "i");
+        rule("rles", "", "i");
+        rule("ules", "s", "");
+        rule("jules", "", "i");
+        rule("res", "", "i");
+        rule("eres", "s", "ro");
+        rule("des", "s", "");
+        rule("tes", "s", "");
+        rule("mes", "s", "");
+        rule("ues", "s", "u");
+        rule("pes", "es", "se");
+        rule("xes", "es", "i");
+        rule("is", "", "i");
+        rule("ris", "", "i");
+        rule("aris", "s", "to");
+        rule("paris", "s", "de");
+        rule("nis", "", "i");
+        rule("fnis", "s", "de");
+        rule("mis", "s", "do");
+        rule("os", "os", "e");
+        rule("mos", "", "i");
+        rule("imos", "os", "e");
+        rule("kos", "", "e");
+        rule("xos", "os", "i");
+        rule("as", "", "i");
+        rule("yas", "as", "e");
+        rule("ras", "as", "e");
+        rule("aras", "", "i");
+        rule("las", "", "i");
+        rule("llas", "s", "do");
+        rule("rs", "", "i");
+        rule("ars", "s", "te");
+        rule("us", "us", "e");
+        rule("nus", "us", "e");
+        rule("gnus", "", "i");
+        rule("enus", "", "i");
+        rule("venus", "us", "ero");
+        rule("eus", "us", "e");
+        rule("zeus", "zeus", "die");
+        rule("mus", "", "i");
+        rule("tmus", "us", "e");
+        rule("gus", "", "i");
+        rule("aus", "", "i");
+        rule("hus", "", "e");
+        rule("cus", "s", "");
+        rule("kus", "s", "");
+        rule("ys", "", "");
+        rule("a.ys", "", "i");
+
+        rule("o", "", "");
+        rule("lo", "", "i");
+
+        rule("x", "", "i");
+        rule("nx", "x", "go");
+
+        rule("i", "", "");
+        rule("si", "", "i");
+        rule("ai", "", "i");
+        rule("oi", "", "i");
+        rule("ci", "", "i");
+        rule("ti", "", "i");
+        rule("ni", "", "o");
+        rule("e.ni", "", "");
+        rule("mi", "", "o");
+        rule("ami", "", "");
+        rule("ri", "", "");
+        rule("iri", "", "o");
+
+        rule("t", "", "e");
+        rule("it", "", "");
+        rule("lit", "", "e");
+        rule("ut", "", "e");
+        rule("rut", "", "");
+
+        rule("r", "", "e");
+        rule("dr", "r", "ře");
+        rule("tr", "r", "ře");
+        rule("br", "r", "ře");
+        rule("er", "", "e");
+        rule("ger", "er", "ře");
+        rule("ker", "er", "ře");
+        rule("der", "er", "re");
+        rule("ider", "", "i");
+        rule("eider", "", "e");
+        rule("ter", "", "e");
+        rule("nter", "", "i");
+        rule("eter", "", "o");
+        rule("peter", "", "e");
+        rule("ster", "", "");
+        rule("oster", "", "e");
+        rule("ar", "", "e");
+        rule("mar", "", "e");
+        rule("gmar", "", "");
+        rule("lar", "", "e");
+        rule("p.lar", "", "");
+        rule("or", "", "e");
+        rule("nor", "", "o");
+
+        rule("j", "", "i");
+        rule("oj", "", "i");
+        rule("toj", "oj", "ý");
+        rule("ij", "ij", "ý");
+        rule("dij", "", "i");
+        rule("yj", "yj", "ý");
+
+        rule("d", "", "e");
+        rule("id", "", "e");
+        rule("rid", "", "");
+        rule("ud", "", "e");
+        rule("aud", "", "");
+
+        rule("y", "", "");
+        rule("ay", "", "i");
+        rule("gy", "", "i");
+        rule("oy", "", "i");
+
+        rule("h", "", "i");
+        rule("ch", "", "u");
+        rule("rch", "", "i");
+        rule("ých", "", "");
+        rule("th", "", "i");
+        rule("eth", "", "e");
+        rule("ah", "", "");
+        rule("oah", "", "u");
+        rule("ůh", "ůh", "ože");
+
+        rule("v", "", "e");
+        rule("ův", "", "");
+
+        rule("u", "", "i");
+        rule("tu", "", "");
+
+        rule("k", "", "u");
+        rule("ek", "ek", "ku");
+        rule("ěk", "ěk", "ku");
+        rule("děk", "děk", "ďku");
+        rule("těk", "těk", "ťku");
+        rule("něk", "něk", "ňku");
+
+        rule("g", "", "u");
+        rule("ig", "", "u");
+        rule("eig", "", "");
+
+        rule("ň", "ůň", "oni");
+        rule("oň", "ň", "ni");
+
+        rule("f", "", "e");
+        rule("p", "", "e");
+        rule("b", "", "e");
+        rule("w", "", "");
+        rule("í", "", "");
+        rule("á", "", "");
+        rule("ý", "", "");
+        rule("ů", "", "");
+        rule("é", "", "");
+    }
+
+    /**
+     * This method returns vocative form of name
+     * @param name to be converted to vocative form
+     * @return vocative form of name
+     */
+    String vocative(String name) {
+        String lowerCaseName = name.toLowerCase();
+        return find(root, lowerCaseName, lowerCaseName.length() - 1).apply(name);
+    }
+
+    private static Rule find(Node node, String name, int index) {
+        char c = index >= 0 ? name.charAt(index) : PADDING;
+        Node child = node.child(c);
+        if (child != null) {
+            Rule rule = find(child, name, index - 1);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        if (node.any != null) {
+            Rule rule = find(node.any, name, index - 1);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return node.rule;
+    }
+
+    private void rule(String suffix, String replaced, String replacement) {
+        Node node = root;
+        for (int i = suffix.length() - 1; i >= 0; i--) {
+            node = node.childOrCreate(suffix.charAt(i));
+        }
+        node.rule = new Rule(replaced, replacement);
+    }
+
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private Node any;
+        private Rule rule;
+
+        private Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char c) {
+            if (c == ANY) {
+                if (any == null) {
+                    any = new Node();
+                }
+                return any;
+            }
+            Node child = child(c);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = c;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+
+    private static final class Rule {
+
+        private final int replacedLength;
+        private final String replacement;
+        private final String capitalizedReplacement;
+
+        private Rule(String replaced, String replacement) {
+            this.replacedLength = replaced.length();
+            this.replacement = replacement;
+            this.capitalizedReplacement = replacement.isEmpty()
+                    ? replacement
+                    : Character.toUpperCase(replacement.charAt(0)) + replacement.substring(1).toLowerCase();
+        }
+
+        private String apply(String name) {
+            if (replacedLength == 0 && replacement.isEmpty()) {
+                return name;
+            }
+            int stemLength = Math.max(name.length() - replacedLength, 0);
+            if (replacement.isEmpty()) {
+                return name.substring(0, stemLength);
+            }
+            if (replacedLength == 0) {
+                return name.concat(replacement);
+            }
+            String stem = name.substring(0, stemLength);
+            String ending = name.substring(stemLength);
+            if (ending.toUpperCase().equals(ending)) {
+                return stem + replacement.toUpperCase();
+            } else if (CAPITALIZED.matcher(ending).matches()) {
+                return stem + capitalizedReplacement;
+            } else if (Character.isUpperCase(name.charAt(name.length() - 1))) {
+                return stem + replacement.toUpperCase();
+            }
+            return stem + replacement;
+        }
+    }
+}
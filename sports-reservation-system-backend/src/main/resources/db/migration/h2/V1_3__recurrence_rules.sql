@@ -0,0 +1,32 @@
+-- Recurring series are stored as rules, occurrences are materialized from them on demand
+
+ALTER TABLE recurrence_group ADD COLUMN IF NOT EXISTS virtual_occurrences BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE recurrence_group ADD COLUMN IF NOT EXISTS calendar_id VARCHAR(255) REFERENCES calendar (id);
+ALTER TABLE recurrence_group ADD COLUMN IF NOT EXISTS start_date DATE;
+ALTER TABLE recurrence_group ADD COLUMN IF NOT EXISTS start_time TIME(6);
+ALTER TABLE recurrence_group ADD COLUMN IF NOT EXISTS end_time TIME(6);
+ALTER TABLE recurrence_group ADD COLUMN IF NOT EXISTS maximum_capacity INTEGER;
+ALTER TABLE recurrence_group ADD COLUMN IF NOT EXISTS price INTEGER;
+ALTER TABLE recurrence_group ADD COLUMN IF NOT EXISTS discount_price INTEGER;
+ALTER TABLE recurrence_group ADD COLUMN IF NOT EXISTS title VARCHAR(255);
+ALTER TABLE recurrence_group ADD COLUMN IF NOT EXISTS description VARCHAR(255);
+
+CREATE TABLE IF NOT EXISTS recurrence_group_excluded_date
+(
+    recurrence_group_id VARCHAR(255) NOT NULL REFERENCES recurrence_group (id),
+    excluded_date       DATE         NOT NULL,
+    PRIMARY KEY (recurrence_group_id, excluded_date)
+);
+
+-- series created before the rules were stored take their rule from their first occurrence
+UPDATE recurrence_group g
+SET (calendar_id, start_date, start_time, end_time, maximum_capacity, price, discount_price, title, description) =
+        (SELECT e.calendar_id, e.date, e.start_time, e.end_time, e.maximum_capacity, e.price, e.discount_price, e.title, e.description
+         FROM event e
+         WHERE e.recurrence_group_id = g.id
+         ORDER BY e.date
+         FETCH FIRST ROW ONLY)
+WHERE g.calendar_id IS NULL
+  AND EXISTS (SELECT 1 FROM event e WHERE e.recurrence_group_id = g.id);
+
+ALTER TABLE event ADD CONSTRAINT IF NOT EXISTS uk_event_recurrence_group_date UNIQUE (recurrence_group_id, date);
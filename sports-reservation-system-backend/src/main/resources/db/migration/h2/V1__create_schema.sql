@@ -0,0 +1,88 @@
+-- Schema of the application as it was generated by Hibernate before migrations were introduced,
+-- production schemas created by Hibernate are baselined at this version and receive all later migrations
+
+CREATE TABLE IF NOT EXISTS app_user
+(
+    id                 VARCHAR(255) NOT NULL PRIMARY KEY,
+    balance            INTEGER      NOT NULL,
+    email              VARCHAR(255) NOT NULL UNIQUE,
+    enabled            BOOLEAN,
+    first_name         VARCHAR(255) NOT NULL,
+    has_daily_discount BOOLEAN      NOT NULL,
+    last_name          VARCHAR(255) NOT NULL,
+    locked             BOOLEAN,
+    password           VARCHAR(255) NOT NULL,
+    role               VARCHAR(255) CHECK (role IN ('USER', 'ADMIN'))
+);
+
+CREATE TABLE IF NOT EXISTS location
+(
+    id   VARCHAR(255) NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS calendar
+(
+    id          VARCHAR(255) NOT NULL PRIMARY KEY,
+    location_id VARCHAR(255) NOT NULL REFERENCES location (id),
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    thumbnail   VARBINARY(1000000000)
+);
+
+CREATE TABLE IF NOT EXISTS recurrence_group
+(
+    id           VARCHAR(255) NOT NULL PRIMARY KEY,
+    repeat_until DATE         NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS recurrence_group_days_of_week
+(
+    recurrence_group_id VARCHAR(255) NOT NULL REFERENCES recurrence_group (id),
+    day_of_week         SMALLINT CHECK (day_of_week BETWEEN 0 AND 6)
+);
+
+CREATE TABLE IF NOT EXISTS event
+(
+    id                  VARCHAR(255) NOT NULL PRIMARY KEY,
+    calendar_id         VARCHAR(255) NOT NULL REFERENCES calendar (id),
+    date                DATE         NOT NULL,
+    day_of_week         INTEGER,
+    start_time          TIME(6)      NOT NULL,
+    end_time            TIME(6)      NOT NULL,
+    maximum_capacity    INTEGER      NOT NULL,
+    price               INTEGER      NOT NULL,
+    discount_price      INTEGER      NOT NULL,
+    title               VARCHAR(255) NOT NULL,
+    description         VARCHAR(255),
+    recurrence_group_id VARCHAR(255) REFERENCES recurrence_group (id)
+);
+
+CREATE TABLE IF NOT EXISTS reservation
+(
+    id               VARCHAR(255) NOT NULL PRIMARY KEY,
+    discount_applied BOOLEAN      NOT NULL,
+    event_id         VARCHAR(255) NOT NULL REFERENCES event (id),
+    owner_id         VARCHAR(255) NOT NULL REFERENCES app_user (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_token
+(
+    id               VARCHAR(255) NOT NULL PRIMARY KEY,
+    token            VARCHAR(255) NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    expires_at       TIMESTAMP(6) NOT NULL,
+    confirmed_at     TIMESTAMP(6),
+    token_type       VARCHAR(255) NOT NULL CHECK (token_type IN ('REGISTRATION', 'PASSWORD_RESET')),
+    encoded_password VARCHAR(255),
+    user_id          VARCHAR(255) REFERENCES app_user (id)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_token
+(
+    id         VARCHAR(255) NOT NULL PRIMARY KEY,
+    token      VARCHAR(1000),
+    created_at TIMESTAMP(6),
+    used_at    TIMESTAMP(6),
+    expires_at TIMESTAMP(6),
+    user_id    VARCHAR(255) REFERENCES app_user (id)
+);
@@ -0,0 +1,27 @@
+-- Indexes for the hot query paths, see SchemaIndexCheck for the list verified at startup
+
+-- calendar detail, overlap checks and listing of events of a calendar
+CREATE INDEX IF NOT EXISTS idx_event_calendar_date_start ON event (calendar_id, date, start_time);
+-- listing of events of all calendars ordered by date, start time and id
+CREATE INDEX IF NOT EXISTS idx_event_date_start_id ON event (date, start_time, id);
+-- recurrence_group_id is the leading column of uk_event_recurrence_group_date, no separate index is needed
+
+-- duplicate reservation check and reservations of a user
+CREATE INDEX IF NOT EXISTS idx_reservation_owner_event ON reservation (owner_id, event_id);
+-- reservations of an event and reserved count checks
+CREATE INDEX IF NOT EXISTS idx_reservation_event ON reservation (event_id);
+
+-- days of a series, also makes replayed seed data idempotent
+CREATE UNIQUE INDEX IF NOT EXISTS uk_recurrence_group_day ON recurrence_group_days_of_week (recurrence_group_id, day_of_week);
+CREATE INDEX IF NOT EXISTS idx_recurrence_group_calendar ON recurrence_group (calendar_id);
+
+-- token lookups
+CREATE UNIQUE INDEX IF NOT EXISTS uk_user_token_token ON user_token (token);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_refresh_token_token ON refresh_token (token);
+CREATE INDEX IF NOT EXISTS idx_user_token_user ON user_token (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user ON refresh_token (user_id);
+
+-- listing of users ordered by first name and id
+CREATE INDEX IF NOT EXISTS idx_app_user_first_name_id ON app_user (first_name, id);
+
+CREATE INDEX IF NOT EXISTS idx_balance_transaction_user_created ON balance_transaction (user_id, created_at);
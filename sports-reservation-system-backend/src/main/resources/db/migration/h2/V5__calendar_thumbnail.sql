@@ -0,0 +1,27 @@
+-- Thumbnails are moved out of the calendar row, so calendars are read without them.
+-- Calendar keeps only checksum of its thumbnail, used in thumbnail urls and as ETag.
+
+CREATE TABLE IF NOT EXISTS calendar_thumbnail
+(
+    calendar_id  VARCHAR(255)          NOT NULL PRIMARY KEY,
+    content      VARBINARY(1000000000) NOT NULL,
+    content_type VARCHAR(255)          NOT NULL,
+    CONSTRAINT fk_calendar_thumbnail_calendar FOREIGN KEY (calendar_id) REFERENCES calendar (id) ON DELETE CASCADE
+);
+
+ALTER TABLE calendar ADD COLUMN IF NOT EXISTS thumbnail_checksum VARCHAR(64);
+
+INSERT INTO calendar_thumbnail (calendar_id, content, content_type)
+SELECT id,
+       thumbnail,
+       CASE
+           WHEN SUBSTRING(thumbnail FROM 1 FOR 4) = X'89504E47' THEN 'image/png'
+           WHEN SUBSTRING(thumbnail FROM 1 FOR 3) = X'FFD8FF' THEN 'image/jpeg'
+           ELSE 'application/octet-stream'
+       END
+FROM calendar
+WHERE thumbnail IS NOT NULL;
+
+UPDATE calendar SET thumbnail_checksum = LOWER(RAWTOHEX(HASH('SHA-256', thumbnail))) WHERE thumbnail IS NOT NULL;
+
+ALTER TABLE calendar DROP COLUMN thumbnail;
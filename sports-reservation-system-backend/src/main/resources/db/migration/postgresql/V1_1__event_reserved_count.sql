@@ -0,0 +1,6 @@
+-- Seats of an event are tracked by a counter changed only by conditional updates,
+-- schemas baselined at V1 get the counter reconciled from their reservations
+
+ALTER TABLE event ADD COLUMN IF NOT EXISTS reserved_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE event e SET reserved_count = (SELECT count(*) FROM reservation r WHERE r.event_id = e.id);
@@ -0,0 +1,17 @@
+-- Append-only ledger of balance changes
+
+CREATE TABLE IF NOT EXISTS balance_transaction
+(
+    id         VARCHAR(255) NOT NULL PRIMARY KEY,
+    user_id    VARCHAR(255) NOT NULL REFERENCES app_user (id),
+    amount     INTEGER      NOT NULL,
+    type       VARCHAR(255) NOT NULL CHECK (type IN ('RESERVATION_PAYMENT', 'RESERVATION_REFUND', 'BALANCE_ADJUSTMENT')),
+    reference  VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+-- opening entry of every existing balance, so the ledger of each user sums up to the balance
+INSERT INTO balance_transaction (id, user_id, amount, type, reference, created_at)
+SELECT gen_random_uuid()::text, u.id, u.balance, 'BALANCE_ADJUSTMENT', 'opening balance', CURRENT_TIMESTAMP
+FROM app_user u
+WHERE u.balance <> 0;
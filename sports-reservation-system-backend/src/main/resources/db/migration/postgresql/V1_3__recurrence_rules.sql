@@ -0,0 +1,48 @@
+-- Recurring series are stored as rules, occurrences are materialized from them on demand
+
+ALTER TABLE recurrence_group
+    ADD COLUMN IF NOT EXISTS virtual_occurrences BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN IF NOT EXISTS calendar_id VARCHAR(255) REFERENCES calendar (id),
+    ADD COLUMN IF NOT EXISTS start_date DATE,
+    ADD COLUMN IF NOT EXISTS start_time TIME(6),
+    ADD COLUMN IF NOT EXISTS end_time TIME(6),
+    ADD COLUMN IF NOT EXISTS maximum_capacity INTEGER,
+    ADD COLUMN IF NOT EXISTS price INTEGER,
+    ADD COLUMN IF NOT EXISTS discount_price INTEGER,
+    ADD COLUMN IF NOT EXISTS title VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS description VARCHAR(255);
+
+CREATE TABLE IF NOT EXISTS recurrence_group_excluded_date
+(
+    recurrence_group_id VARCHAR(255) NOT NULL REFERENCES recurrence_group (id),
+    excluded_date       DATE         NOT NULL,
+    PRIMARY KEY (recurrence_group_id, excluded_date)
+);
+
+-- series created before the rules were stored take their rule from their first occurrence
+UPDATE recurrence_group g
+SET calendar_id      = e.calendar_id,
+    start_date       = e.date,
+    start_time       = e.start_time,
+    end_time         = e.end_time,
+    maximum_capacity = e.maximum_capacity,
+    price            = e.price,
+    discount_price   = e.discount_price,
+    title            = e.title,
+    description      = e.description
+FROM (SELECT DISTINCT ON (recurrence_group_id) *
+      FROM event
+      WHERE recurrence_group_id IS NOT NULL
+      ORDER BY recurrence_group_id, date) e
+WHERE e.recurrence_group_id = g.id
+  AND g.calendar_id IS NULL;
+
+DO
+$$
+    BEGIN
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_event_recurrence_group_date') THEN
+            ALTER TABLE event
+                ADD CONSTRAINT uk_event_recurrence_group_date UNIQUE (recurrence_group_id, date);
+        END IF;
+    END
+$$;
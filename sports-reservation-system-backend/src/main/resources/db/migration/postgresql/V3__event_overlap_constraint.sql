@@ -0,0 +1,16 @@
+-- Events of one calendar must not overlap, the constraint holds even for events created concurrently
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE event
+    ADD COLUMN IF NOT EXISTS slot TSRANGE GENERATED ALWAYS AS (tsrange(date + start_time, date + end_time, '[)')) STORED;
+
+DO
+$$
+    BEGIN
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'event_no_overlap') THEN
+            ALTER TABLE event
+                ADD CONSTRAINT event_no_overlap EXCLUDE USING gist (calendar_id WITH =, slot WITH &&);
+        END IF;
+    END
+$$;
@@ -0,0 +1,8 @@
+-- Marker of seed scripts applied to the schema, lets warm starts skip replaying them
+
+CREATE TABLE IF NOT EXISTS seed_version
+(
+    id        INTEGER     NOT NULL PRIMARY KEY,
+    checksum  VARCHAR(64) NOT NULL,
+    seeded_at TIMESTAMP   NOT NULL
+);
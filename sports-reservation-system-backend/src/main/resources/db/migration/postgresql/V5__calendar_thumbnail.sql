@@ -0,0 +1,27 @@
+-- Thumbnails are moved out of the calendar row, so calendars are read without them.
+-- Calendar keeps only checksum of its thumbnail, used in thumbnail urls and as ETag.
+
+CREATE TABLE IF NOT EXISTS calendar_thumbnail
+(
+    calendar_id  VARCHAR(255) NOT NULL PRIMARY KEY REFERENCES calendar (id) ON DELETE CASCADE,
+    content      BYTEA        NOT NULL,
+    content_type VARCHAR(255) NOT NULL
+);
+
+ALTER TABLE calendar ADD COLUMN IF NOT EXISTS thumbnail_checksum VARCHAR(64);
+
+INSERT INTO calendar_thumbnail (calendar_id, content, content_type)
+SELECT id,
+       thumbnail,
+       CASE
+           WHEN substring(thumbnail FROM 1 FOR 4) = '\x89504e47'::bytea THEN 'image/png'
+           WHEN substring(thumbnail FROM 1 FOR 3) = '\xffd8ff'::bytea THEN 'image/jpeg'
+           ELSE 'application/octet-stream'
+       END
+FROM calendar
+WHERE thumbnail IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+UPDATE calendar SET thumbnail_checksum = encode(sha256(thumbnail), 'hex') WHERE thumbnail IS NOT NULL;
+
+ALTER TABLE calendar DROP COLUMN IF EXISTS thumbnail;
@@ -0,0 +1,107 @@
+package com.example.sportsreservationsystembackend;
+
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.model.Location;
+import com.example.sportsreservationsystembackend.repository.CalendarRepository;
+import com.example.sportsreservationsystembackend.repository.EventRepository;
+import com.example.sportsreservationsystembackend.repository.LocationRepository;
+import com.xstejsk.reservationapp.main.rest.model.CreateEventRequest;
+import com.xstejsk.reservationapp.main.rest.model.Recurrence;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * This class represents data shared by integration tests, imported by tests which need it.
+ * Names are random, so tests sharing an application context do not collide.
+ *
+ * @Author Radim Stejskal
+ */
+@TestComponent
+public class TestFixtures {
+
+    private final LocationRepository locationRepository;
+    private final CalendarRepository calendarRepository;
+    private final EventRepository eventRepository;
+
+    public TestFixtures(LocationRepository locationRepository, CalendarRepository calendarRepository, EventRepository eventRepository) {
+        this.locationRepository = locationRepository;
+        this.calendarRepository = calendarRepository;
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * This method stores new calendar in new location
+     * @return saved calendar
+     */
+    public Calendar createCalendar() {
+        Location location = new Location();
+        location.setName("Gym " + UUID.randomUUID());
+        Calendar calendar = new Calendar();
+        calendar.setName("Tennis " + UUID.randomUUID());
+        calendar.setLocation(locationRepository.save(location));
+        return calendarRepository.save(calendar);
+    }
+
+    /**
+     * This method stores single event with capacity 8 directly in the repository, skipping validation of the service
+     * @param calendar calendar of the event
+     * @param date date of the event
+     * @param startTime start time
+     * @param endTime end time
+     * @return saved event
+     */
+    public Event createEvent(Calendar calendar, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return eventRepository.save(event(calendar, date, startTime, endTime));
+    }
+
+    /**
+     * This method returns unsaved single event with capacity 8
+     * @param calendar calendar of the event
+     * @param date date of the event
+     * @param startTime start time
+     * @param endTime end time
+     * @return event
+     */
+    public static Event event(Calendar calendar, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return new Event(calendar, date, startTime, endTime, 8, 200, "Tennis", "", null);
+    }
+
+    /**
+     * This method returns request for single event with capacity 8
+     * @param date date of the event
+     * @param startTime start time
+     * @param endTime end time
+     * @return request
+     */
+    public static CreateEventRequest eventRequest(LocalDate date, String startTime, String endTime) {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle("Tennis");
+        request.setDate(date.toString());
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        request.setPrice(200);
+        request.setMaximumCapacity(8);
+        return request;
+    }
+
+    /**
+     * This method returns request for weekly recurring event from 18:00 to 19:00 with capacity 8
+     * @param from date of the first occurrence
+     * @param until end of the recurrence
+     * @param daysOfWeek days of week, 1 is Monday
+     * @return request
+     */
+    public static CreateEventRequest recurringEventRequest(LocalDate from, LocalDate until, List<Integer> daysOfWeek) {
+        Recurrence recurrence = new Recurrence();
+        recurrence.setDaysOfWeek(daysOfWeek);
+        recurrence.setRepeatUntil(until.toString());
+        CreateEventRequest request = eventRequest(from, "18:00", "19:00");
+        request.setRecurrence(recurrence);
+        return request;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.sportsreservationsystembackend.config.cache;
+
+import com.example.sportsreservationsystembackend.service.impl.CalendarVersionServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ETagFilterTest {
+
+    private static final String BODY = "{\"name\":\"Tennis\"}";
+    private static final String CHANGED_BODY = "{\"name\":\"Squash\"}";
+    private static final long DEEP_VALIDITY_MS = 5000;
+
+    private final AtomicInteger handled = new AtomicInteger();
+    private final AtomicReference<String> body = new AtomicReference<>(BODY);
+    private final AtomicLong now = new AtomicLong(Instant.parse("2026-10-18T10:00:00Z").toEpochMilli());
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    };
+    private final FilterChain chain = (request, response) -> {
+        handled.incrementAndGet();
+        response.getWriter().write(body.get());
+    };
+
+    private CalendarVersionServiceImpl calendarVersionService;
+    private MeterRegistry meterRegistry;
+    private ETagFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        calendarVersionService = new CalendarVersionServiceImpl();
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ETagFilter(calendarVersionService, meterRegistry, DEEP_VALIDITY_MS, clock);
+    }
+
+    @Test
+    void answersCurrentDeepETagWithoutHandlingRequest() throws Exception {
+        MockHttpServletResponse first = get("/api/v1/calendars/calendar", null);
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse second = get("/api/v1/calendars/calendar", eTag);
+
+        assertEquals(200, first.getStatus());
+        assertEquals("no-cache", first.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNotNull(eTag);
+        assertEquals(304, second.getStatus());
+        assertEquals(1, handled.get());
+        assertEquals(1, meterRegistry.get("http.etag.requests").tag("layer", "deep").tag("result", "hit").counter().count());
+        assertEquals(BODY.length(), meterRegistry.get("http.etag.bytes.saved").tag("layer", "deep").counter().count());
+        assertEquals(0.5, meterRegistry.get("http.etag.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void changesDeepETagWhenEventsOfCalendarChange() throws Exception {
+        String calendarETag = get("/api/v1/calendars/calendar", null).getHeader(HttpHeaders.ETAG);
+        String catalogETag = get("/api/v1/calendars", null).getHeader(HttpHeaders.ETAG);
+
+        calendarVersionService.eventsChanged("calendar");
+        body.set(CHANGED_BODY);
+
+        MockHttpServletResponse calendar = get("/api/v1/calendars/calendar", calendarETag);
+        assertEquals(200, calendar.getStatus());
+        assertNotEquals(calendarETag, calendar.getHeader(HttpHeaders.ETAG));
+        assertEquals(304, get("/api/v1/calendars", catalogETag).getStatus());
+        assertEquals(3, handled.get());
+
+        calendarVersionService.calendarChanged("calendar");
+
+        assertEquals(200, get("/api/v1/calendars", catalogETag).getStatus());
+        assertEquals(4, handled.get());
+    }
+
+    @Test
+    void comparesContentWhenVersionChangesWithoutChangingIt() throws Exception {
+        String eTag = get("/api/v1/calendars/calendar", null).getHeader(HttpHeaders.ETAG);
+
+        calendarVersionService.eventsChanged("calendar");
+        MockHttpServletResponse unchanged = get("/api/v1/calendars/calendar", eTag);
+
+        assertEquals(304, unchanged.getStatus());
+        assertEquals(eTag, unchanged.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void revalidatesUnchangedContentAfterValidityWindow() throws Exception {
+        String eTag = get("/api/v1/calendars/calendar", null).getHeader(HttpHeaders.ETAG);
+
+        now.addAndGet(DEEP_VALIDITY_MS);
+        MockHttpServletResponse expired = get("/api/v1/calendars/calendar", eTag);
+        MockHttpServletResponse revalidated = get("/api/v1/calendars/calendar", eTag);
+
+        assertEquals(304, expired.getStatus());
+        assertEquals(eTag, expired.getHeader(HttpHeaders.ETAG));
+        assertEquals(304, revalidated.getStatus());
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void servesChangesOfOtherInstancesAfterValidityWindow() throws Exception {
+        String eTag = get("/api/v1/calendars/calendar", null).getHeader(HttpHeaders.ETAG);
+
+        // a booking on another instance does not move the counters of this one
+        body.set(CHANGED_BODY);
+        MockHttpServletResponse stale = get("/api/v1/calendars/calendar", eTag);
+        now.addAndGet(DEEP_VALIDITY_MS);
+        MockHttpServletResponse expired = get("/api/v1/calendars/calendar", eTag);
+
+        assertEquals(304, stale.getStatus());
+        assertEquals(200, expired.getStatus());
+        assertNotEquals(eTag, expired.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void hashesResponsesWithoutVersion() throws Exception {
+        String eTag = get("/api/v1/calendars/calendar/events", null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse second = get("/api/v1/calendars/calendar/events", eTag);
+
+        assertNotNull(eTag);
+        assertEquals(304, second.getStatus());
+        assertEquals(2, handled.get());
+        assertEquals(1, meterRegistry.get("http.etag.requests").tag("layer", "shallow").tag("result", "hit").counter().count());
+        assertEquals(BODY.length(), meterRegistry.get("http.etag.bytes.saved").tag("layer", "shallow").counter().count());
+    }
+
+    private MockHttpServletResponse get(String path, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
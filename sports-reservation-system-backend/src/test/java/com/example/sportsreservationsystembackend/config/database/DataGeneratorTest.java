@@ -0,0 +1,107 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import com.example.sportsreservationsystembackend.service.config.DataGeneratorConfig;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataGeneratorTest {
+
+    private static final String SUMMARY = "SELECT COUNT(*), SUM(reserved_count), SUM(maximum_capacity) FROM event";
+
+    @Test
+    void generatesSameDataForSameSeed() throws SQLException {
+        try (Connection first = migratedDatabase(); Connection second = migratedDatabase()) {
+            long rows = new DataGenerator(config()).generate(first);
+            assertEquals(rows, new DataGenerator(config()).generate(second));
+            assertEquals(queryString(first, SUMMARY), queryString(second, SUMMARY));
+            assertEquals(queryString(first, "SELECT MAX(owner_id) FROM reservation"), queryString(second, "SELECT MAX(owner_id) FROM reservation"));
+        }
+    }
+
+    @Test
+    void keepsReservedCountsAndPaymentsConsistent() throws SQLException {
+        try (Connection connection = migratedDatabase()) {
+            assertTrue(DataGenerator.isEmpty(connection));
+            new DataGenerator(config()).generate(connection);
+
+            assertFalse(DataGenerator.isEmpty(connection));
+            assertEquals(0, queryLong(connection, "SELECT COUNT(*) FROM event e WHERE e.reserved_count > e.maximum_capacity "
+                    + "OR e.reserved_count <> (SELECT COUNT(*) FROM reservation r WHERE r.event_id = e.id)"));
+            assertEquals(queryLong(connection, "SELECT COUNT(*) FROM reservation"), queryLong(connection, "SELECT COUNT(*) FROM balance_transaction"));
+            assertEquals(0, queryLong(connection, "SELECT COUNT(*) FROM event a JOIN event b ON a.calendar_id = b.calendar_id "
+                    + "AND a.date = b.date AND a.id <> b.id AND a.start_time < b.end_time AND b.start_time < a.end_time"));
+            assertEquals(0, queryLong(connection, "SELECT COUNT(*) FROM (SELECT owner_id, event_id FROM reservation "
+                    + "GROUP BY owner_id, event_id HAVING COUNT(*) > 1) duplicates"));
+        }
+    }
+
+    @Test
+    void skewsEventsTowardsHotCalendars() throws SQLException {
+        try (Connection connection = migratedDatabase()) {
+            new DataGenerator(config()).generate(connection);
+
+            long hottest = queryLong(connection, "SELECT COUNT(*) FROM event e JOIN calendar c ON c.id = e.calendar_id WHERE c.name = 'Kalendář 0'");
+            long coldest = queryLong(connection, "SELECT COUNT(*) FROM event e JOIN calendar c ON c.id = e.calendar_id WHERE c.name = 'Kalendář 9'");
+            assertTrue(hottest > 2 * coldest, "hottest " + hottest + ", coldest " + coldest);
+        }
+    }
+
+    @Test
+    void leavesSchemaEmptyWhenGenerationFails() throws SQLException {
+        try (Connection connection = migratedDatabase()) {
+            try (Statement statement = connection.createStatement()) {
+                // refresh tokens are generated last, after users and events were committed
+                statement.execute("ALTER TABLE refresh_token ADD CONSTRAINT ck_no_first_token CHECK (token <> 'datagen-refresh-token-0')");
+            }
+
+            assertThrows(SQLException.class, () -> new DataGenerator(config()).generate(connection));
+
+            assertTrue(DataGenerator.isEmpty(connection));
+            assertEquals(0, queryLong(connection, "SELECT COUNT(*) FROM app_user"));
+        }
+    }
+
+    private static DataGeneratorConfig config() {
+        DataGeneratorConfig config = new DataGeneratorConfig();
+        config.setSeed(7);
+        config.setUsers(200);
+        config.setCalendars(10);
+        config.setPastDays(10);
+        config.setFutureDays(10);
+        config.setBatchSize(100);
+        return config;
+    }
+
+    private static Connection migratedDatabase() throws SQLException {
+        String url = "jdbc:h2:mem:datagen-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        return DriverManager.getConnection(url, "sa", "");
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        return Long.parseLong(queryString(connection, sql));
+    }
+
+    private static String queryString(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            StringBuilder row = new StringBuilder(resultSet.getString(1));
+            for (int column = 2; column <= resultSet.getMetaData().getColumnCount(); column++) {
+                row.append(',').append(resultSet.getString(column));
+            }
+            return row.toString();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import com.example.sportsreservationsystembackend.TestFixtures;
+import com.example.sportsreservationsystembackend.exceptions.OverlappingEventsException;
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.repository.EventRepository;
+import com.example.sportsreservationsystembackend.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.example.sportsreservationsystembackend.TestFixtures.eventRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import(TestFixtures.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventOverlapConstraintTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private final LocalDate date = LocalDate.now().plusDays(3);
+
+    @Autowired
+    private EventOverlapConstraint eventOverlapConstraint;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void rejectsOverlappingEventsWrittenPastApplicationChecks() {
+        assertTrue(eventOverlapConstraint.isEnforced());
+        Calendar calendar = fixtures.createCalendar();
+        eventRepository.saveAndFlush(event(calendar, "10:00", "11:00"));
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> eventRepository.saveAndFlush(event(calendar, "10:30", "11:30")));
+
+        assertTrue(EventOverlapConstraint.isViolatedBy(exception));
+        eventRepository.saveAndFlush(event(calendar, "11:00", "12:00"));
+        eventRepository.saveAndFlush(event(fixtures.createCalendar(), "10:00", "11:00"));
+    }
+
+    @Test
+    void acceptsOnlyOneOfConcurrentOverlappingEvents() throws Exception {
+        Calendar calendar = fixtures.createCalendar();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Callable<Object> create = () -> {
+                start.await();
+                return eventService.createEvent(calendar.getId(), eventRequest(date, "18:00", "19:00"));
+            };
+            List<Future<Object>> results = List.of(executor.submit(create), executor.submit(create),
+                    executor.submit(create), executor.submit(create));
+            start.countDown();
+
+            int created = 0;
+            for (Future<Object> result : results) {
+                try {
+                    result.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(OverlappingEventsException.class, e.getCause());
+                }
+            }
+            assertEquals(1, created);
+            assertEquals(1, eventRepository.findAllByCalendarIdAndDateBetweenOrderByDateAsc(calendar.getId(), date, date).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Event event(Calendar calendar, String startTime, String endTime) {
+        return TestFixtures.event(calendar, date, LocalTime.parse(startTime), LocalTime.parse(endTime));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class SchemaIndexCheckTest {
+
+    @Autowired
+    private SchemaIndexCheck schemaIndexCheck;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migratedSchemaContainsIndexesOfHotQueryPaths() {
+        assertNotNull(flyway.info().current());
+        assertEquals(0, flyway.info().pending().length);
+        assertTrue(schemaIndexCheck.findMissingIndexes().isEmpty());
+    }
+
+    @Test
+    void reportsDroppedIndex() {
+        jdbcTemplate.execute("DROP INDEX idx_app_user_first_name_id");
+        try {
+            assertEquals(1, schemaIndexCheck.findMissingIndexes().size());
+        } finally {
+            jdbcTemplate.execute("CREATE INDEX idx_app_user_first_name_id ON app_user (first_name, id)");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.sportsreservationsystembackend.config.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeedScriptLoaderTest {
+
+    private final SeedScriptLoader loader = new SeedScriptLoader(2);
+
+    @Test
+    void mergesConsecutiveInsertsIntoSameTable() {
+        List<String> merged = loader.merge(List.of(
+                "INSERT INTO location (id, name) VALUES ('1', 'Hall (A)') ON CONFLICT DO NOTHING",
+                "INSERT INTO location (id, name) VALUES ('2', 'Hall B') ON CONFLICT DO NOTHING",
+                "INSERT INTO location (id, name) VALUES ('3', 'Hall C') ON CONFLICT DO NOTHING",
+                "INSERT INTO calendar (id, name) VALUES ('4', 'Tennis') ON CONFLICT DO NOTHING"));
+
+        assertEquals(List.of(
+                "INSERT INTO location (id, name) VALUES ('1', 'Hall (A)'), ('2', 'Hall B') ON CONFLICT DO NOTHING",
+                "INSERT INTO location (id, name) VALUES ('3', 'Hall C') ON CONFLICT DO NOTHING",
+                "INSERT INTO calendar (id, name) VALUES ('4', 'Tennis') ON CONFLICT DO NOTHING"), merged);
+    }
+
+    @Test
+    void keepsOrderAroundOtherStatements() {
+        List<String> merged = loader.merge(List.of(
+                "INSERT INTO event (id) VALUES ('1')",
+                "UPDATE event SET reserved_count = 1",
+                "INSERT INTO event (id) VALUES ('2')",
+                "INSERT INTO event (id) VALUES ('3') ON CONFLICT DO NOTHING"));
+
+        assertEquals(List.of(
+                "INSERT INTO event (id) VALUES ('1')",
+                "UPDATE event SET reserved_count = 1",
+                "INSERT INTO event (id) VALUES ('2')",
+                "INSERT INTO event (id) VALUES ('3') ON CONFLICT DO NOTHING"), merged);
+    }
+}
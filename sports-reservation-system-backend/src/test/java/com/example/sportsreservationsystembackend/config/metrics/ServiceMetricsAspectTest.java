@@ -0,0 +1,84 @@
+package com.example.sportsreservationsystembackend.config.metrics;
+
+import com.example.sportsreservationsystembackend.exceptions.EventFullException;
+import com.example.sportsreservationsystembackend.service.ReservationService;
+import com.xstejsk.reservationapp.main.rest.model.ReservationDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationService target;
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = Mockito.mock(ReservationService.class);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        reservationService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void timesSuccessfulCalls() {
+        when(target.create("calendar", "event")).thenReturn(new ReservationDTO());
+
+        reservationService.create("calendar", "event");
+        reservationService.create("calendar", "event");
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.TIMER_NAME)
+                .tags("service", "ReservationService", "method", "create", "outcome", ServiceMetricsAspect.SUCCESS)
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void tagsFailedCallsWithException() {
+        when(target.create("calendar", "event")).thenThrow(new EventFullException("Event is full"));
+
+        assertThrows(EventFullException.class, () -> reservationService.create("calendar", "event"));
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.TIMER_NAME)
+                .tags("service", "ReservationService", "method", "create", "outcome", "EventFullException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void countsCallsInFlight() {
+        AtomicReference<Double> duringCall = new AtomicReference<>();
+        when(target.delete("reservation")).thenAnswer(invocation -> {
+            duringCall.set(inFlight("delete"));
+            return new ReservationDTO();
+        });
+
+        reservationService.delete("reservation");
+
+        assertEquals(1.0, duringCall.get());
+        assertEquals(0.0, inFlight("delete"));
+    }
+
+    private double inFlight(String method) {
+        Gauge gauge = meterRegistry.find(ServiceMetricsAspect.IN_FLIGHT_NAME)
+                .tags("service", "ReservationService", "method", method)
+                .gauge();
+        assertNotNull(gauge);
+        return gauge.value();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.sportsreservationsystembackend.config.security;
+
+import com.example.sportsreservationsystembackend.model.AppUser;
+import com.example.sportsreservationsystembackend.model.UserRole;
+import com.example.sportsreservationsystembackend.repository.UserRepository;
+import com.example.sportsreservationsystembackend.service.config.AuthCacheConfig;
+import com.example.sportsreservationsystembackend.utils.JwtUtil;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthCachesTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthCacheConfig authCacheConfig = new AuthCacheConfig();
+
+    @Test
+    void verifiesTokenSignatureOnlyOnce() {
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.verifyToken("token")).thenReturn(Jwts.claims()
+                .setSubject("user@test.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000)));
+        TokenVerificationCache tokenVerificationCache = new TokenVerificationCache(jwtUtil, authCacheConfig, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("user@test.com", tokenVerificationCache.getUsername("token"));
+        }
+
+        verify(jwtUtil, times(1)).verifyToken("token");
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "auth.tokens").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "auth.tokens").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void doesNotCacheRejectedTokens() {
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.verifyToken("expired")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+        TokenVerificationCache tokenVerificationCache = new TokenVerificationCache(jwtUtil, authCacheConfig, meterRegistry);
+
+        assertThrows(ExpiredJwtException.class, () -> tokenVerificationCache.getUsername("expired"));
+        assertThrows(ExpiredJwtException.class, () -> tokenVerificationCache.getUsername("expired"));
+
+        verify(jwtUtil, times(2)).verifyToken("expired");
+    }
+
+    @Test
+    void loadsPrincipalAgainAfterInvalidation() {
+        UserRepository userRepository = mock(UserRepository.class);
+        AppUser appUser = new AppUser();
+        appUser.setEmail("user@test.com");
+        appUser.setRole(UserRole.USER);
+        appUser.setEnabled(true);
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(appUser));
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(userRepository, authCacheConfig, meterRegistry);
+
+        userPrincipalCache.getPrincipal("user@test.com");
+        userPrincipalCache.getPrincipal("user@test.com");
+        verify(userRepository, times(1)).findByEmail("user@test.com");
+
+        appUser.setRole(UserRole.ADMIN);
+        userPrincipalCache.invalidate("user@test.com");
+        AuthenticatedUser principal = userPrincipalCache.getPrincipal("user@test.com");
+
+        assertEquals(UserRole.ADMIN, principal.getRole());
+        assertEquals(UserRole.ADMIN.getName(), principal.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(2)).findByEmail("user@test.com");
+    }
+
+    @Test
+    void doesNotCacheUnknownUsers() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail("unknown@test.com")).thenReturn(Optional.empty());
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(userRepository, authCacheConfig, meterRegistry);
+
+        assertThrows(UsernameNotFoundException.class, () -> userPrincipalCache.getPrincipal("unknown@test.com"));
+        assertThrows(UsernameNotFoundException.class, () -> userPrincipalCache.getPrincipal("unknown@test.com"));
+
+        verify(userRepository, times(2)).findByEmail("unknown@test.com");
+    }
+}
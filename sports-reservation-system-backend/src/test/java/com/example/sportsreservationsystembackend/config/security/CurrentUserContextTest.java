@@ -0,0 +1,97 @@
+package com.example.sportsreservationsystembackend.config.security;
+
+import com.example.sportsreservationsystembackend.model.AppUser;
+import com.example.sportsreservationsystembackend.model.UserRole;
+import com.example.sportsreservationsystembackend.repository.UserRepository;
+import com.example.sportsreservationsystembackend.utils.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.sportsreservationsystembackend.config.security.SqlStatementRecorder")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class CurrentUserContextTest {
+
+    private static final String PASSWORD = "oldPassword1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private AppUser user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = new AppUser();
+        user.setFirstName("Context");
+        user.setLastName("User");
+        user.setEmail(UUID.randomUUID() + "@context.test");
+        user.setEnabled(true);
+        user.setLocked(false);
+        user.setRole(UserRole.USER);
+        user.setPassword(bCryptPasswordEncoder.encode(PASSWORD));
+        user = userRepository.save(user);
+        token = "Bearer " + jwtUtil.generateToken(user, false);
+    }
+
+    @Test
+    void discountEndpointLoadsUserOnce() throws Exception {
+        updateDiscount();
+
+        // previously: the filter and getCurrentUser each selected the user by email
+        SqlStatementRecorder.clear();
+        updateDiscount();
+
+        assertEquals(1, SqlStatementRecorder.userSelects(), SqlStatementRecorder.statements().toString());
+    }
+
+    @Test
+    void changePasswordLoadsUserOnce() throws Exception {
+        updateDiscount();
+
+        // previously: one select by email in the filter and three more in changePassword
+        SqlStatementRecorder.clear();
+        mockMvc.perform(put("/api/v1/users/{userId}/password", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"oldPassword\": \"" + PASSWORD + "\", \"newPassword\": \"newPassword1\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, SqlStatementRecorder.userSelects(), SqlStatementRecorder.statements().toString());
+        assertTrue(bCryptPasswordEncoder.matches("newPassword1", userRepository.findById(user.getId()).orElseThrow().getPassword()));
+    }
+
+    private void updateDiscount() throws Exception {
+        mockMvc.perform(put("/api/v1/users/{userId}/discount", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"discountActive\": true}"))
+                .andExpect(status().isOk());
+    }
+}
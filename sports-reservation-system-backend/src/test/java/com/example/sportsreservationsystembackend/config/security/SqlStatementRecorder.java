@@ -0,0 +1,36 @@
+package com.example.sportsreservationsystembackend.config.security;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement prepared by hibernate, registered through
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    static long userSelects() {
+        return STATEMENTS.stream()
+                .map(String::toLowerCase)
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from app_user "))
+                .count();
+    }
+}
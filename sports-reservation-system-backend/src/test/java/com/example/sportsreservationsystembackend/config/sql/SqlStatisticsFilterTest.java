@@ -0,0 +1,104 @@
+package com.example.sportsreservationsystembackend.config.sql;
+
+import com.example.sportsreservationsystembackend.TestFixtures;
+import com.example.sportsreservationsystembackend.exceptions.QueryBudgetExceededException;
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.service.SqlStatisticsService;
+import com.example.sportsreservationsystembackend.service.model.HandlerSqlStatistics;
+import com.example.sportsreservationsystembackend.service.model.RequestSqlStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "sql.statistics.fail-on-exceeded-budget=true",
+        "sql.statistics.budgets[CalendarController.getAllCalendars]=1"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Import(TestFixtures.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class SqlStatisticsFilterTest {
+
+    private static final String GET_CALENDAR_BY_ID = "CalendarController.getCalendarById";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatisticsService sqlStatisticsService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void calendarDetailStatementsDoNotGrowWithEvents() throws Exception {
+        Calendar calendar = fixtures.createCalendar();
+        LocalDate date = LocalDate.now().plusDays(2);
+        createEvents(calendar, date, 1);
+        RequestSqlStatistics single = getCalendar(calendar, date);
+
+        createEvents(calendar, date.plusDays(1), 10);
+        RequestSqlStatistics many = getCalendar(calendar, date);
+
+        assertTrue(single.getStatements() > 0, single.toString());
+        assertEquals(single.getStatements(), many.getStatements(), many.toString());
+        assertEquals(single.getCollectionFetches(), many.getCollectionFetches(), many.toString());
+        HandlerSqlStatistics statistics = sqlStatisticsService.getStatistics().stream()
+                .filter(handler -> handler.getHandler().equals(GET_CALENDAR_BY_ID))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(statistics.getRequests() >= 2);
+        assertTrue(statistics.getMaxStatements() >= many.getStatements());
+    }
+
+    @Test
+    void failsRequestOverQueryBudget() {
+        fixtures.createCalendar();
+
+        Exception exception = assertThrows(Exception.class, () -> mockMvc.perform(get("/api/v1/calendars")));
+
+        assertTrue(causedByExceededBudget(exception), exception.toString());
+    }
+
+    private RequestSqlStatistics getCalendar(Calendar calendar, LocalDate from) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/calendars/{calendarId}", calendar.getId())
+                        .param("eventsFrom", from.toString())
+                        .param("eventsTo", from.plusDays(7).toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(GET_CALENDAR_BY_ID, result.getRequest().getAttribute(SqlStatisticsFilter.HANDLER_ATTRIBUTE));
+        return (RequestSqlStatistics) result.getRequest().getAttribute(SqlStatisticsFilter.STATISTICS_ATTRIBUTE);
+    }
+
+    private void createEvents(Calendar calendar, LocalDate date, int count) {
+        for (int i = 0; i < count; i++) {
+            LocalTime start = LocalTime.of(6 + i, 0);
+            fixtures.createEvent(calendar, date, start, start.plusHours(1));
+        }
+    }
+
+    private static boolean causedByExceededBudget(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueryBudgetExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.sportsreservationsystembackend.config.startup;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Starts the built jar in separate JVMs and compares time to healthy /actuator/health of the optimized
+ * startup modes with the jar started as before. Run by gradle startupTest, the AOT mode needs -Paot.
+ * The application runs on in-memory H2 so the test does not need a database.
+ */
+@EnabledIfSystemProperty(named = "startup.jar", matches = ".+")
+class StartupTimeRegressionTest {
+
+    private static final String MAIN_CLASS = "com.example.sportsreservationsystembackend.Application";
+    private static final int RUNS = 3;
+    private static final Duration HEALTH_TIMEOUT = Duration.ofMinutes(2);
+
+    @TempDir
+    static Path workDir;
+
+    private static Path jar;
+    private static long jarStartup;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @BeforeAll
+    static void extractJar() throws IOException {
+        jar = Paths.get(System.getProperty("startup.jar"));
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements(); ) {
+                ZipEntry entry = entries.nextElement();
+                Path target = workDir.resolve("app").resolve(entry.getName()).normalize();
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                        Files.copy(inputStream, target);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void aotProcessedJarStartsFaster() throws Exception {
+        assumeTrue(Boolean.getBoolean("startup.aot"), "jar was built without -Paot");
+
+        long aotStartup = medianStartup(List.of("-Dspring.aot.enabled=true", "-jar", jar.toString()));
+
+        assertTrue(aotStartup < jarStartup(), "AOT processed jar started in " + aotStartup + " ms, plain jar in " + jarStartup + " ms");
+    }
+
+    @Test
+    void classDataSharingArchiveStartsFaster() throws Exception {
+        Path archive = workDir.resolve("app.jsa");
+        Process training = start(List.of("-XX:ArchiveClassesAtExit=" + archive, "-cp", explodedClasspath(), MAIN_CLASS,
+                "--startup.exit-when-ready=true"), freePort());
+        assertTrue(training.waitFor(HEALTH_TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        assertEquals(0, training.exitValue());
+        assertTrue(Files.exists(archive));
+
+        long cdsStartup = medianStartup(List.of("-XX:SharedArchiveFile=" + archive, "-cp", explodedClasspath(), MAIN_CLASS));
+
+        assertTrue(cdsStartup < jarStartup(), "Class data sharing started in " + cdsStartup + " ms, plain jar in " + jarStartup + " ms");
+    }
+
+    private long jarStartup() throws Exception {
+        if (jarStartup == 0) {
+            jarStartup = medianStartup(List.of("-jar", jar.toString()));
+        }
+        return jarStartup;
+    }
+
+    private long medianStartup(List<String> command) throws Exception {
+        List<Long> startups = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            int port = freePort();
+            long start = System.nanoTime();
+            Process process = start(command, port);
+            try {
+                awaitHealthy(process, port);
+                startups.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } finally {
+                process.destroy();
+                process.waitFor(30, TimeUnit.SECONDS);
+            }
+        }
+        Collections.sort(startups);
+        return startups.get(RUNS / 2);
+    }
+
+    private Process start(List<String> command, int port) throws IOException {
+        List<String> arguments = new ArrayList<>();
+        arguments.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        arguments.addAll(command);
+        arguments.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--database.seed-locations="));
+        return new ProcessBuilder(arguments)
+                .directory(workDir.resolve("app").toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("startup-" + port + ".log").toFile())
+                .start();
+    }
+
+    private void awaitHealthy(Process process, int port) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1)).GET().build();
+        long deadline = System.nanoTime() + HEALTH_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline && process.isAlive()) {
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // the server is not accepting connections yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IOException("Application did not become healthy, see " + workDir.resolve("startup-" + port + ".log"));
+    }
+
+    private static String explodedClasspath() {
+        Path app = workDir.resolve("app");
+        return app.resolve("BOOT-INF/classes") + File.pathSeparator + app.resolve("BOOT-INF/lib") + File.separator + "*";
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
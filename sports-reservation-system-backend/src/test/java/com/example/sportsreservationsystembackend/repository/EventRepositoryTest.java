@@ -4,12 +4,15 @@ import com.example.sportsreservationsystembackend.model.Calendar;
 import com.example.sportsreservationsystembackend.model.Event;
 import com.example.sportsreservationsystembackend.model.Location;
 import com.example.sportsreservationsystembackend.model.RecurrenceGroup;
+import com.example.sportsreservationsystembackend.service.model.EventSummary;
+import com.example.sportsreservationsystembackend.service.model.RecurrenceDay;
 import junit.framework.TestCase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.time.DayOfWeek;
@@ -21,6 +24,7 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -44,7 +48,7 @@ class EventRepositoryTest {
     private LocationRepository locationRepository;
 
     @Test
-    void findOverlappingEventsForSingleEvent_endsBefore() {
+    void existsOverlappingEvent_endsBefore() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent = new Event();
@@ -57,18 +61,18 @@ class EventRepositoryTest {
         before.setStartTime(LocalTime.parse("09:00:00"));
         before.setEndTime(LocalTime.parse("10:00:00"));
         before.setDate(date);
-        assertTrue(eventRepository
-                .findOverlappingEventsForSingleEvent(
+        assertFalse(eventRepository
+                .existsOverlappingEvent(
                         calendarId,
                         null,
                         before.getDate(),
                         before.getStartTime(),
-                        before.getEndTime()).isEmpty());
+                        before.getEndTime()));
     }
 
 
     @Test
-    void findOverlappingEventsForSingleEvent_startsBeforeEndsDuring() {
+    void existsOverlappingEvent_startsBeforeEndsDuring() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent = new Event();
@@ -81,17 +85,17 @@ class EventRepositoryTest {
         beforeAndDuring.setStartTime(LocalTime.parse("09:00:00"));
         beforeAndDuring.setEndTime(LocalTime.parse("10:30:00"));
         beforeAndDuring.setDate(date);
-        assertEquals(1, eventRepository
-                .findOverlappingEventsForSingleEvent(
+        assertTrue(eventRepository
+                .existsOverlappingEvent(
                         calendarId,
                         null,
                         beforeAndDuring.getDate(),
                         beforeAndDuring.getStartTime(),
-                        beforeAndDuring.getEndTime()).size());
+                        beforeAndDuring.getEndTime()));
     }
 
     @Test
-    void findOverlappingEventsForSingleEvent_startsDuringEndsDuring() {
+    void existsOverlappingEvent_startsDuringEndsDuring() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent = new Event();
@@ -104,18 +108,18 @@ class EventRepositoryTest {
         during.setStartTime(LocalTime.parse("10:10:00"));
         during.setEndTime(LocalTime.parse("10:50:00"));
         during.setDate(date);
-        assertEquals(1, eventRepository
-                .findOverlappingEventsForSingleEvent(
+        assertTrue(eventRepository
+                .existsOverlappingEvent(
                         calendarId,
                         null,
                         during.getDate(),
                         during.getStartTime(),
-                        during.getEndTime()).size());
+                        during.getEndTime()));
 
     }
 
     @Test
-    void findOverlappingEventsForSingleEvent_startsDuringEndsAfter() {
+    void existsOverlappingEvent_startsDuringEndsAfter() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent = new Event();
@@ -128,18 +132,18 @@ class EventRepositoryTest {
         duringAndAfter.setStartTime(LocalTime.parse("10:00:00"));
         duringAndAfter.setEndTime(LocalTime.parse("12:00:00"));
         duringAndAfter.setDate(date);
-        assertEquals(1, eventRepository
-                .findOverlappingEventsForSingleEvent(
+        assertTrue(eventRepository
+                .existsOverlappingEvent(
                         calendarId,
                         null,
                         duringAndAfter.getDate(),
                         duringAndAfter.getStartTime(),
-                        duringAndAfter.getEndTime()).size());
+                        duringAndAfter.getEndTime()));
 
     }
 
     @Test
-    void findOverlappingEventsForSingleEvent_startsAfter() {
+    void existsOverlappingEvent_startsAfter() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent = new Event();
@@ -152,17 +156,17 @@ class EventRepositoryTest {
         beforeAndAfter.setStartTime(LocalTime.parse("11:00:00"));
         beforeAndAfter.setEndTime(LocalTime.parse("12:00:00"));
         beforeAndAfter.setDate(date);
-        assertEquals(0, eventRepository
-                .findOverlappingEventsForSingleEvent(
+        assertFalse(eventRepository
+                .existsOverlappingEvent(
                         calendarId,
                         null,
                         beforeAndAfter.getDate(),
                         beforeAndAfter.getStartTime(),
-                        beforeAndAfter.getEndTime()).size());
+                        beforeAndAfter.getEndTime()));
     }
 
     @Test
-    void findOverlappingEventsForSingleEvent_covers() {
+    void existsOverlappingEvent_covers() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent = new Event();
@@ -175,17 +179,17 @@ class EventRepositoryTest {
         covers.setStartTime(LocalTime.parse("09:00:00"));
         covers.setEndTime(LocalTime.parse("12:00:00"));
         covers.setDate(date);
-        assertEquals(1, eventRepository
-                .findOverlappingEventsForSingleEvent(
+        assertTrue(eventRepository
+                .existsOverlappingEvent(
                         calendarId,
                         null,
                         covers.getDate(),
                         covers.getStartTime(),
-                        covers.getEndTime()).size());
+                        covers.getEndTime()));
     }
 
     @Test
-    void findOverlappingEventsForSingleEvent_matches() {
+    void existsOverlappingEvent_matches() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent = new Event();
@@ -198,17 +202,17 @@ class EventRepositoryTest {
         covers.setStartTime(LocalTime.parse("10:00:00"));
         covers.setEndTime(LocalTime.parse("11:00:00"));
         covers.setDate(date);
-        assertEquals(1, eventRepository
-                .findOverlappingEventsForSingleEvent(
+        assertTrue(eventRepository
+                .existsOverlappingEvent(
                         calendarId,
                         null,
                         covers.getDate(),
                         covers.getStartTime(),
-                        covers.getEndTime()).size());
+                        covers.getEndTime()));
     }
 
     @Test
-    void findOverlappingEventsForSingleEvent_inBetweenEvents() {
+    void existsOverlappingEvent_inBetweenEvents() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent1 = new Event();
@@ -227,17 +231,17 @@ class EventRepositoryTest {
         inBetween.setStartTime(LocalTime.parse("11:00:00"));
         inBetween.setEndTime(LocalTime.parse("12:00:00"));
         inBetween.setDate(date);
-        assertEquals(0, eventRepository
-                .findOverlappingEventsForSingleEvent(
+        assertFalse(eventRepository
+                .existsOverlappingEvent(
                         calendarId,
                         null,
                         inBetween.getDate(),
                         inBetween.getStartTime(),
-                        inBetween.getEndTime()).size());
+                        inBetween.getEndTime()));
     }
 
     @Test
-    void findOverlappingEventsForRecurringEvent_covers() {
+    void existsOverlappingRecurringEvent_covers() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent = new Event();
@@ -246,17 +250,17 @@ class EventRepositoryTest {
         fillNonTimeData(savedEvent);
         eventRepository.save(savedEvent);
 
-        assertFalse(eventRepository.findOverlappingEventsForRecurringEvent(
+        assertTrue(eventRepository.existsOverlappingRecurringEvent(
                 calendarId,
                 date.minusDays(7),
                 date.plusDays(7),
                 LocalTime.parse("10:00:00"),
                 LocalTime.parse("11:00:00"),
-                Set.of(1, 2, 3, 4, 5, 6, 7)).isEmpty());
+                Set.of(1, 2, 3, 4, 5, 6, 7)));
     }
 
     @Test
-    void findOverlappingEventsForRecurringEvent_coversAnotherCalendar() {
+    void existsOverlappingRecurringEvent_coversAnotherCalendar() {
         String calendarId = calendarRepository.findAll().get(1).getId();
 
         Event savedEvent = new Event();
@@ -265,17 +269,17 @@ class EventRepositoryTest {
         fillNonTimeData(savedEvent);
         eventRepository.save(savedEvent);
 
-        assertTrue(eventRepository.findOverlappingEventsForRecurringEvent(
+        assertFalse(eventRepository.existsOverlappingRecurringEvent(
                 calendarId,
                 date.minusDays(7),
                 date.plusDays(7),
                 LocalTime.parse("10:00:00"),
                 LocalTime.parse("11:00:00"),
-                Set.of(1, 2, 3, 4, 5, 6, 7)).isEmpty());
+                Set.of(1, 2, 3, 4, 5, 6, 7)));
     }
 
     @Test
-    void findOverlappingEventsForRecurringEvent_noCollisions() {
+    void existsOverlappingRecurringEvent_noCollisions() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent = new Event();
@@ -284,17 +288,17 @@ class EventRepositoryTest {
         fillNonTimeData(savedEvent);
         eventRepository.save(savedEvent);
 
-        assertTrue(eventRepository.findOverlappingEventsForRecurringEvent(
+        assertFalse(eventRepository.existsOverlappingRecurringEvent(
                 calendarId,
                 date.minusDays(7),
                 date.plusDays(7),
                 LocalTime.parse("11:00:00"),
                 LocalTime.parse("12:00:00"),
-                Set.of(date.getDayOfWeek().getValue())).isEmpty());
+                Set.of(date.getDayOfWeek().getValue())));
     }
 
     @Test
-    void findOverlappingEventsForRecurringEvent_sameDay() {
+    void existsOverlappingRecurringEvent_sameDay() {
         String calendarId = calendarRepository.findAll().get(0).getId();
 
         Event savedEvent = new Event();
@@ -303,13 +307,13 @@ class EventRepositoryTest {
         fillNonTimeData(savedEvent);
         eventRepository.save(savedEvent);
 
-        assertFalse(eventRepository.findOverlappingEventsForRecurringEvent(
+        assertTrue(eventRepository.existsOverlappingRecurringEvent(
                 calendarId,
                 date.minusDays(7),
                 date.plusDays(7),
                 LocalTime.parse("10:30:00"),
                 LocalTime.parse("12:00:00"),
-                Set.of(date.getDayOfWeek().getValue())).isEmpty());
+                Set.of(date.getDayOfWeek().getValue())));
     }
 
     @Test
@@ -357,6 +361,95 @@ class EventRepositoryTest {
         assertEquals(3, eventRepository.findAllByCalendarIdAndDateBetweenOrderByDateAsc(calendar.getId(), date , date.plusDays(7)).size());
     }
 
+    @Test
+    void findSummariesByCalendarId() {
+        Calendar calendar = calendarRepository.findAll().get(1);
+
+        Event later = new Event();
+        later.setStartTime(LocalTime.parse("14:00:00"));
+        later.setEndTime(LocalTime.parse("15:30:00"));
+        fillNonTimeData(later);
+        later.setCalendar(calendar);
+        eventRepository.save(later);
+
+        Event earlier = new Event();
+        earlier.setStartTime(LocalTime.parse("09:00:00"));
+        earlier.setEndTime(LocalTime.parse("10:00:00"));
+        fillNonTimeData(earlier);
+        earlier.setCalendar(calendar);
+        eventRepository.save(earlier);
+
+        Event outOfRange = new Event();
+        outOfRange.setStartTime(LocalTime.parse("09:00:00"));
+        outOfRange.setEndTime(LocalTime.parse("10:00:00"));
+        fillNonTimeData(outOfRange);
+        outOfRange.setDate(date.plusDays(8));
+        outOfRange.setCalendar(calendar);
+        eventRepository.save(outOfRange);
+
+        List<EventSummary> summaries = eventRepository.findSummariesByCalendarId(calendar.getId(), date, date.plusDays(7));
+
+        assertEquals(List.of(earlier.getId(), later.getId()), summaries.stream().map(EventSummary::getId).toList());
+        assertEquals(4, summaries.get(0).getSpacesAvailable());
+        assertEquals(LocalTime.parse("15:30:00"), summaries.get(1).getEndTime());
+    }
+
+    @Test
+    void findSummariesByCalendarId_readsRecurrence() {
+        Calendar calendar = calendarRepository.findAll().get(1);
+        RecurrenceGroup recurrenceGroup = new RecurrenceGroup();
+        recurrenceGroup.setDaysOfWeek(List.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY));
+        recurrenceGroup.setRepeatUntil(date.plusWeeks(2));
+        recurrenceGroupRepository.save(recurrenceGroup);
+
+        Event recurring = new Event();
+        recurring.setStartTime(LocalTime.parse("10:00:00"));
+        recurring.setEndTime(LocalTime.parse("11:00:00"));
+        fillNonTimeData(recurring);
+        recurring.setCalendar(calendar);
+        recurring.setRecurrenceGroup(recurrenceGroup);
+        eventRepository.save(recurring);
+
+        Event single = new Event();
+        single.setStartTime(LocalTime.parse("12:00:00"));
+        single.setEndTime(LocalTime.parse("13:00:00"));
+        fillNonTimeData(single);
+        single.setCalendar(calendar);
+        eventRepository.save(single);
+
+        List<EventSummary> summaries = eventRepository.findSummariesByCalendarId(calendar.getId(), date, date);
+
+        assertEquals(List.of(recurring.getId(), single.getId()), summaries.stream().map(EventSummary::getId).toList());
+        assertEquals(recurrenceGroup.getId(), summaries.get(0).getRecurrenceGroupId());
+        assertEquals(date.plusWeeks(2), summaries.get(0).getRepeatUntil());
+        assertNull(summaries.get(1).getRecurrenceGroupId());
+        assertEquals(Set.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY),
+                Set.copyOf(recurrenceGroupRepository.findDaysOfWeek(Set.of(recurrenceGroup.getId())).stream()
+                        .map(RecurrenceDay::getDayOfWeek).toList()));
+    }
+
+    @Test
+    void findAllAfter() {
+        Calendar calendar = calendarRepository.findAll().get(1);
+        for (String startTime : List.of("12:00:00", "10:00:00", "10:00:00", "11:00:00")) {
+            Event event = new Event();
+            event.setStartTime(LocalTime.parse(startTime));
+            event.setEndTime(LocalTime.parse(startTime).plusMinutes(30));
+            fillNonTimeData(event);
+            event.setCalendar(calendar);
+            eventRepository.save(event);
+        }
+        List<Event> all = eventRepository.findAllInCalendarAfter(calendar.getId(), date.minusDays(1), LocalTime.MIN, "", PageRequest.of(0, 10));
+        assertEquals(4, all.size());
+
+        List<Event> page = eventRepository.findAllInCalendarAfter(calendar.getId(), all.get(1).getDate(), all.get(1).getStartTime(), all.get(1).getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(all.get(2).getId(), all.get(3).getId()), page.stream().map(Event::getId).toList());
+        assertEquals(all.get(0).getId(), eventRepository.findAllAfter(date, LocalTime.MIN, "", PageRequest.of(0, 1000)).stream()
+                .filter(event -> event.getCalendar().getId().equals(calendar.getId())).findFirst().orElseThrow().getId());
+        assertTrue(eventRepository.findAllInCalendarAfter(calendar.getId(), date.plusDays(1), LocalTime.MIN, "", PageRequest.of(0, 10)).isEmpty());
+    }
+
     @Test
     public void saveGroup() {
         RecurrenceGroup recurrenceGroup = new RecurrenceGroup();
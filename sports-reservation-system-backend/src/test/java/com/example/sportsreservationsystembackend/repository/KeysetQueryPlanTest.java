@@ -0,0 +1,61 @@
+package com.example.sportsreservationsystembackend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class KeysetQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void seeksEventsByDate() {
+        String plan = explain(EventRepository.FIND_ALL_AFTER, keyset("eventId"));
+
+        assertTrue(plan.contains("idx_event_date_start_id: "), plan);
+    }
+
+    @Test
+    void seeksEventsOfCalendarByCalendarAndDate() {
+        Map<String, Object> parameters = keyset("eventId");
+        parameters.put("calendarId", "calendar");
+
+        String plan = explain(EventRepository.FIND_ALL_IN_CALENDAR_AFTER, parameters);
+
+        assertTrue(plan.contains("idx_event_calendar_date_start: "), plan);
+    }
+
+    @Test
+    void seeksReservationsOfOwnerByOwner() {
+        Map<String, Object> parameters = keyset("reservationId");
+        parameters.put("ownerId", "owner");
+
+        String plan = explain(ReservationKeysetRepositoryImpl.findAllAfterSql(false, true, false), parameters);
+
+        assertTrue(plan.contains("idx_reservation_owner_event: "), plan);
+    }
+
+    // H2 lists conditions of the index after a colon, an index without them is only scanned in its order
+    private String explain(String sql, Map<String, Object> parameters) {
+        return new NamedParameterJdbcTemplate(jdbcTemplate).queryForObject("EXPLAIN " + sql, parameters, String.class).toLowerCase();
+    }
+
+    private static Map<String, Object> keyset(String idParameter) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("date", LocalDate.now());
+        parameters.put("startTime", LocalTime.NOON);
+        parameters.put(idParameter, "");
+        return parameters;
+    }
+}
@@ -75,6 +75,41 @@ class ReservationRepositoryTest {
 
     }
 
+    @Test
+    void findAllAfter() {
+        addCalendar();
+        Event event = new Event();
+        event.setStartTime(LocalTime.parse("10:00:00"));
+        event.setEndTime(LocalTime.parse("11:00:00"));
+        fillNonTimeData(event);
+        event.setDate(date.plusDays(3));
+        eventRepository.save(event);
+
+        AppUser user1 = addFirstUser();
+        AppUser user2 = addSecondUser();
+
+        Reservation reservation1 = new Reservation();
+        reservation1.setEvent(event);
+        reservation1.setOwner(user1);
+
+        Reservation reservation2 = new Reservation();
+        reservation2.setEvent(event);
+        reservation2.setOwner(user2);
+
+        reservationRepository.saveAll(List.of(reservation1, reservation2));
+
+        List<Reservation> all = reservationRepository.findAllAfter(
+                event.getCalendar().getId(), null, event.getId(), date, LocalTime.MIN, "", 10);
+        assertEquals(2, all.size());
+
+        List<Reservation> next = reservationRepository.findAllAfter(
+                null, null, event.getId(), event.getDate(), event.getStartTime(), all.get(0).getId(), 10);
+        assertEquals(List.of(all.get(1).getId()), next.stream().map(Reservation::getId).toList());
+
+        List<Reservation> own = reservationRepository.findAllAfter(null, user1.getId(), null, date, LocalTime.MIN, "", 10);
+        assertEquals(List.of(reservation1.getId()), own.stream().map(Reservation::getId).toList());
+    }
+
     @Test
     void findAllByFilters_noUser() {
         addCalendar();
@@ -0,0 +1,44 @@
+package com.example.sportsreservationsystembackend.rest.api.mapper;
+
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.rest.mapper.PageMapper;
+import com.xstejsk.reservationapp.main.rest.model.EventsPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class PageMapperTest {
+
+    @Autowired
+    private PageMapper pageMapper;
+
+    @Test
+    void toEventsPage() {
+        Event event = new Event();
+        event.setId("event-id");
+        event.setTitle("Tennis");
+        event.setDate(LocalDate.parse("2021-05-20"));
+        event.setStartTime(LocalTime.parse("10:00"));
+        event.setEndTime(LocalTime.parse("11:00"));
+
+        EventsPage eventsPage = pageMapper.toEventsPage(new PageImpl<>(List.of(event), PageRequest.of(2, 5), 11));
+
+        assertEquals(2, eventsPage.getNumber());
+        assertEquals(5, eventsPage.getSize());
+        assertEquals(3, eventsPage.getTotalPages());
+        assertEquals(11L, eventsPage.getTotalElements());
+        assertEquals(1, eventsPage.getContent().size());
+        assertEquals("event-id", eventsPage.getContent().get(0).getId());
+        assertNull(eventsPage.getContinuationToken());
+    }
+}
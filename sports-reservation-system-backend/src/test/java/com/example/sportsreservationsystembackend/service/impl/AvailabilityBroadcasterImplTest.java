@@ -0,0 +1,142 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.TestFixtures;
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.service.AvailabilityBroadcaster;
+import com.example.sportsreservationsystembackend.service.EventService;
+import com.example.sportsreservationsystembackend.service.config.AvailabilityStreamConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Import(TestFixtures.class)
+class AvailabilityBroadcasterImplTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AvailabilityBroadcaster availabilityBroadcaster;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void streamsAvailabilityChangesOfCalendar() throws Exception {
+        Calendar calendar = fixtures.createCalendar();
+        Event event = fixtures.createEvent(calendar, LocalDate.now().plusDays(2), LocalTime.parse("10:00"), LocalTime.parse("11:00"));
+        int subscribers = availabilityBroadcaster.getSubscriberCount();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/calendars/{calendarId}/stream", calendar.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(subscribers + 1, availabilityBroadcaster.getSubscriberCount());
+
+        eventService.reserveSpace(event.getId());
+        String content = awaitContent(result.getResponse(), "event:" + AvailabilityBroadcasterImpl.AVAILABILITY_EVENT);
+        assertTrue(content.contains("\"eventId\":\"" + event.getId() + "\""), content);
+        assertTrue(content.contains("\"spacesAvailable\":7"), content);
+        assertFalse(content.contains(calendar.getId()), content);
+
+        availabilityBroadcaster.eventsChanged(calendar.getId());
+        awaitContent(result.getResponse(), "event:" + AvailabilityBroadcasterImpl.RESYNC_EVENT);
+    }
+
+    @Test
+    void rejectsStreamOfUnknownCalendar() throws Exception {
+        mockMvc.perform(get("/api/v1/calendars/{calendarId}/stream", UUID.randomUUID().toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void evictsStalledSubscriberWithoutHoldingUpOthers() throws Exception {
+        AvailabilityStreamConfig config = new AvailabilityStreamConfig();
+        config.setWriters(1);
+        config.setWriteTimeoutMs(200);
+        BlockingQueue<SseEmitter.SseEventBuilder> delivered = new LinkedBlockingQueue<>();
+        AtomicBoolean stalledClient = new AtomicBoolean(true);
+        AvailabilityBroadcasterImpl broadcaster = new AvailabilityBroadcasterImpl(config, new SimpleMeterRegistry()) {
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                boolean stalled = stalledClient.getAndSet(false);
+                return new SseEmitter(timeoutMs) {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        if (!stalled) {
+                            delivered.add(builder);
+                            return;
+                        }
+                        try {
+                            // the client never reads, so the write blocks until it is interrupted
+                            new CountDownLatch(1).await();
+                        } catch (InterruptedException e) {
+                            throw new IOException(e);
+                        }
+                    }
+                };
+            }
+        };
+        broadcaster.start();
+        try {
+            broadcaster.subscribe("calendar");
+            broadcaster.subscribe("calendar");
+
+            broadcaster.eventsChanged("calendar");
+
+            assertNotNull(delivered.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+            long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            while (broadcaster.getSubscriberCount() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(1, broadcaster.getSubscriberCount());
+        } finally {
+            broadcaster.stop();
+        }
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.exceptions.InsufficientFundsException;
+import com.example.sportsreservationsystembackend.model.AppUser;
+import com.example.sportsreservationsystembackend.model.BalanceTransaction;
+import com.example.sportsreservationsystembackend.model.BalanceTransactionType;
+import com.example.sportsreservationsystembackend.model.UserRole;
+import com.example.sportsreservationsystembackend.repository.BalanceTransactionRepository;
+import com.example.sportsreservationsystembackend.repository.UserRepository;
+import com.example.sportsreservationsystembackend.service.BalanceLedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BalanceLedgerServiceImplTest {
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BalanceTransactionRepository balanceTransactionRepository;
+
+    @Test
+    void concurrentDebitsNeverOverdraw() throws Exception {
+        AppUser user = addUser("concurrent@ledger.test", 1000);
+
+        int threads = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger charged = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    start.await();
+                    balanceLedgerService.debit(user, 100, BalanceTransactionType.RESERVATION_PAYMENT, "event");
+                    charged.incrementAndGet();
+                } catch (InsufficientFundsException e) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(10, charged.get());
+        assertEquals(threads - 10, rejected.get());
+        assertEquals(0, userRepository.findById(user.getId()).orElseThrow().getBalance());
+        List<BalanceTransaction> history = balanceTransactionRepository.findAllByUserIdOrderByCreatedAtDesc(user.getId());
+        assertEquals(10, history.size());
+        assertEquals(-1000, history.stream().mapToInt(BalanceTransaction::getAmount).sum());
+    }
+
+    @Test
+    void creditAndAdjustmentAreRecorded() {
+        AppUser user = addUser("history@ledger.test", 50);
+
+        assertThrows(InsufficientFundsException.class,
+                () -> balanceLedgerService.debit(user, 100, BalanceTransactionType.RESERVATION_PAYMENT, "event"));
+        balanceLedgerService.credit(user, 100, BalanceTransactionType.RESERVATION_REFUND, "event");
+        balanceLedgerService.setBalance(user.getId(), 500);
+
+        AppUser stored = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(500, stored.getBalance());
+        List<BalanceTransaction> history = balanceTransactionRepository.findAllByUserIdOrderByCreatedAtDesc(user.getId());
+        assertEquals(2, history.size());
+        assertEquals(450, history.stream().mapToInt(BalanceTransaction::getAmount).sum());
+    }
+
+    @Test
+    void regularSaveDoesNotOverwriteBalance() {
+        AppUser user = addUser("stale@ledger.test", 300);
+        AppUser stale = userRepository.findById(user.getId()).orElseThrow();
+
+        balanceLedgerService.debit(user, 100, BalanceTransactionType.RESERVATION_PAYMENT, "event");
+        stale.setFirstName("Renamed");
+        userRepository.save(stale);
+
+        assertEquals(200, userRepository.findById(user.getId()).orElseThrow().getBalance());
+    }
+
+    private AppUser addUser(String email, int balance) {
+        AppUser user = new AppUser();
+        user.setFirstName("Ledger");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setEnabled(true);
+        user.setLocked(false);
+        user.setRole(UserRole.USER);
+        user.setPassword("some password");
+        user.setBalance(balance);
+        return userRepository.save(user);
+    }
+}
@@ -4,6 +4,8 @@ import com.example.sportsreservationsystembackend.model.Calendar;
 import com.example.sportsreservationsystembackend.repository.CalendarRepository;
 import com.example.sportsreservationsystembackend.rest.mapper.CalendarMapper;
 import com.example.sportsreservationsystembackend.rest.mapper.PageMapper;
+import com.example.sportsreservationsystembackend.service.CalendarThumbnailService;
+import com.example.sportsreservationsystembackend.service.EventIntervalIndex;
 import com.example.sportsreservationsystembackend.service.EventService;
 import com.example.sportsreservationsystembackend.service.LocationService;
 import com.xstejsk.reservationapp.main.rest.model.CalendarDTO;
@@ -45,9 +47,15 @@ class CalendarServiceImplTest {
     @Mock
     private PageMapper pageMapper;
 
+    @Mock
+    private EventIntervalIndex eventIntervalIndex;
+
+    @Mock
+    private CalendarThumbnailService calendarThumbnailService;
+
     @BeforeEach
     void setUp() {
-        calendarService = new CalendarServiceImpl(locationService, calendarRepository, eventService, calendarMapper, pageMapper);
+        calendarService = new CalendarServiceImpl(locationService, calendarRepository, eventService, calendarMapper, pageMapper, eventIntervalIndex, calendarThumbnailService, new CalendarVersionServiceImpl());
     }
 
     @Test
@@ -56,7 +64,6 @@ class CalendarServiceImplTest {
         when(calendarMapper.calendarToCalendarDTO(Mockito.any())).thenReturn(new CalendarDTO());
         Calendar savedCalendar = new Calendar();
         savedCalendar.setName("test-calendar");
-        savedCalendar.setThumbnail("test-thumbnail".getBytes());
 
         when(calendarMapper.createCalendarRequestToCalendar(Mockito.any())).thenReturn(savedCalendar);
         LocalTime now = LocalTime.parse("10:00:00");
@@ -69,8 +76,7 @@ class CalendarServiceImplTest {
         calendarService.create(createCalendarRequest);
         Mockito.verify(calendarRepository).save(calendarArgumentCaptor.capture());
         Calendar calendar = calendarArgumentCaptor.getValue();
-
-
+        Mockito.verify(calendarThumbnailService).setThumbnail(Mockito.any(), Mockito.eq(createCalendarRequest.getThumbnail()));
 
         assertEquals(savedCalendar, calendar);
     }
@@ -103,7 +109,7 @@ class CalendarServiceImplTest {
     void updateCalendarDetails() {
         Calendar oldCalendar = new Calendar();
         oldCalendar.setName("old-calendar");
-        oldCalendar.setThumbnail("old-thumbnail".getBytes());
+        oldCalendar.setThumbnailChecksum("old-checksum");
         oldCalendar.setId("uuid");
 
         when(calendarRepository.findById(Mockito.any())).thenReturn(java.util.Optional.of(oldCalendar));
@@ -116,11 +122,12 @@ class CalendarServiceImplTest {
         calendarService.update("uuid", updateCalendarDetailsRequest);
         Mockito.verify(calendarRepository).save(calendarArgumentCaptor.capture());
         Calendar actual = calendarArgumentCaptor.getValue();
+        Mockito.verify(calendarThumbnailService).setThumbnail(oldCalendar, updateCalendarDetailsRequest.getThumbnail());
 
         Calendar expected = new Calendar();
         expected.setId("uuid");
         expected.setName("new-calendar");
-        expected.setThumbnail("new-thumbnail".getBytes());
+        expected.setThumbnailChecksum("old-checksum");
 
         assertEquals(actual, expected);
     }
@@ -129,7 +136,7 @@ class CalendarServiceImplTest {
     void updateWithAllEmptyFields() {
         Calendar oldCalendar = new Calendar();
         oldCalendar.setName("old-calendar");
-        oldCalendar.setThumbnail("old-thumbnail".getBytes());
+        oldCalendar.setThumbnailChecksum("old-checksum");
         oldCalendar.setId("uuid");
 
         when(calendarRepository.findById(Mockito.any())).thenReturn(java.util.Optional.of(oldCalendar));
@@ -0,0 +1,76 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.exceptions.ResourceNotFoundException;
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.CalendarThumbnail;
+import com.example.sportsreservationsystembackend.repository.CalendarRepository;
+import com.example.sportsreservationsystembackend.repository.CalendarThumbnailRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarThumbnailServiceImplTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+
+    @Mock
+    private CalendarRepository calendarRepository;
+
+    @Mock
+    private CalendarThumbnailRepository calendarThumbnailRepository;
+
+    private CalendarThumbnailServiceImpl calendarThumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        calendarThumbnailService = new CalendarThumbnailServiceImpl(calendarRepository, calendarThumbnailRepository);
+    }
+
+    @Test
+    void storesThumbnailApartFromCalendar() {
+        Calendar calendar = new Calendar();
+        calendar.setId("uuid");
+
+        calendarThumbnailService.setThumbnail(calendar, PNG);
+
+        ArgumentCaptor<CalendarThumbnail> thumbnailCaptor = ArgumentCaptor.forClass(CalendarThumbnail.class);
+        Mockito.verify(calendarThumbnailRepository).save(thumbnailCaptor.capture());
+        assertEquals("uuid", thumbnailCaptor.getValue().getCalendarId());
+        assertEquals("image/png", thumbnailCaptor.getValue().getContentType());
+        assertEquals(64, calendar.getThumbnailChecksum().length());
+        assertEquals("/api/v1/calendars/uuid/thumbnail?v=" + calendar.getThumbnailChecksum().substring(0, 16),
+                calendarThumbnailService.getThumbnailUrl(calendar));
+    }
+
+    @Test
+    void removesThumbnailWhenContentIsEmpty() {
+        Calendar calendar = new Calendar();
+        calendar.setId("uuid");
+        calendar.setThumbnailChecksum("checksum");
+
+        calendarThumbnailService.setThumbnail(calendar, new byte[0]);
+
+        Mockito.verify(calendarThumbnailRepository).deleteById("uuid");
+        assertNull(calendar.getThumbnailChecksum());
+        assertNull(calendarThumbnailService.getThumbnailUrl(calendar));
+    }
+
+    @Test
+    void calendarWithoutThumbnailIsNotFound() {
+        when(calendarRepository.findThumbnailChecksumById("uuid")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> calendarThumbnailService.getChecksum("uuid"));
+    }
+}
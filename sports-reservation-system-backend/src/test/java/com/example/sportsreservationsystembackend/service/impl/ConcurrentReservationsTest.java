@@ -0,0 +1,168 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.exceptions.EventFullException;
+import com.example.sportsreservationsystembackend.model.AppUser;
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.model.Location;
+import com.example.sportsreservationsystembackend.model.UserRole;
+import com.example.sportsreservationsystembackend.repository.CalendarRepository;
+import com.example.sportsreservationsystembackend.repository.EventRepository;
+import com.example.sportsreservationsystembackend.repository.LocationRepository;
+import com.example.sportsreservationsystembackend.repository.ReservationRepository;
+import com.example.sportsreservationsystembackend.repository.UserRepository;
+import com.example.sportsreservationsystembackend.rest.mapper.PageMapper;
+import com.example.sportsreservationsystembackend.rest.mapper.ReservationsMapper;
+import com.example.sportsreservationsystembackend.service.BalanceLedgerService;
+import com.example.sportsreservationsystembackend.service.EventService;
+import com.example.sportsreservationsystembackend.service.NotificationService;
+import com.example.sportsreservationsystembackend.service.ReservationService;
+import com.example.sportsreservationsystembackend.service.UserService;
+import com.example.sportsreservationsystembackend.service.config.PaginationConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ConcurrentReservationsTest {
+
+    private static final int CAPACITY = 5;
+    private static final int USERS = 40;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationsMapper reservationsMapper;
+
+    @Autowired
+    private PageMapper pageMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    private final ThreadLocal<AppUser> currentUser = new ThreadLocal<>();
+
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        UserService userService = Mockito.mock(UserService.class);
+        when(userService.getCurrentUser()).thenAnswer(invocation -> currentUser.get());
+        NotificationService notificationService = Mockito.mock(NotificationService.class);
+        reservationService = new ReservationServiceImpl(eventService, userService, reservationRepository, reservationsMapper, pageMapper, notificationService, balanceLedgerService, new PaginationConfig(), new CalendarVersionServiceImpl());
+    }
+
+    @Test
+    void concurrentReservationsDoNotExceedCapacity() throws Exception {
+        Event event = addEvent();
+        List<AppUser> users = addUsers();
+
+        ExecutorService executor = Executors.newFixedThreadPool(USERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (AppUser user : users) {
+            futures.add(executor.submit(() -> {
+                currentUser.set(user);
+                try {
+                    start.await();
+                    reservationService.create(event.getCalendar().getId(), event.getId());
+                    created.incrementAndGet();
+                } catch (EventFullException e) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    currentUser.remove();
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(CAPACITY, created.get());
+        assertEquals(USERS - CAPACITY, rejected.get());
+        assertEquals(CAPACITY, eventRepository.findById(event.getId()).orElseThrow().getReservedCount());
+        assertEquals(CAPACITY, reservationRepository.count());
+    }
+
+    private Event addEvent() {
+        Location location = new Location();
+        location.setName("Concurrency location");
+
+        Calendar calendar = new Calendar();
+        calendar.setName("Concurrency calendar");
+        calendar.setLocation(locationRepository.save(location));
+        calendar = calendarRepository.save(calendar);
+
+        Event event = new Event();
+        event.setStartTime(LocalTime.of(9, 0, 0));
+        event.setEndTime(LocalTime.of(10, 0, 0));
+        event.setDate(LocalDate.now().plusDays(1));
+        event.setPrice(100);
+        event.setDiscountPrice(0);
+        event.setMaximumCapacity(CAPACITY);
+        event.setCalendar(calendar);
+        return eventRepository.save(event);
+    }
+
+    private List<AppUser> addUsers() {
+        List<AppUser> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            AppUser user = new AppUser();
+            user.setFirstName("User");
+            user.setLastName("Number" + i);
+            user.setEmail("user" + i + "@concurrency.test");
+            user.setEnabled(true);
+            user.setLocked(false);
+            user.setRole(UserRole.USER);
+            user.setPassword("some password");
+            user.setHasDailyDiscount(false);
+            user.setBalance(1000);
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+}
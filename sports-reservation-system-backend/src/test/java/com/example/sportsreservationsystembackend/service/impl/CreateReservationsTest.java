@@ -17,10 +17,12 @@ import com.example.sportsreservationsystembackend.repository.ReservationReposito
 import com.example.sportsreservationsystembackend.repository.UserRepository;
 import com.example.sportsreservationsystembackend.rest.mapper.PageMapper;
 import com.example.sportsreservationsystembackend.rest.mapper.ReservationsMapper;
+import com.example.sportsreservationsystembackend.service.BalanceLedgerService;
 import com.example.sportsreservationsystembackend.service.EventService;
 import com.example.sportsreservationsystembackend.service.NotificationService;
 import com.example.sportsreservationsystembackend.service.ReservationService;
 import com.example.sportsreservationsystembackend.service.UserService;
+import com.example.sportsreservationsystembackend.service.config.PaginationConfig;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -70,6 +72,9 @@ public class CreateReservationsTest {
     @Mock
     private NotificationService notificationService;
 
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -83,7 +88,7 @@ public class CreateReservationsTest {
 
     @BeforeEach
     void setUp(){
-         reservationService = new ReservationServiceImpl(eventService, userService, reservationRepository, reservationsMapper, pageMapper, notificationService);
+         reservationService = new ReservationServiceImpl(eventService, userService, reservationRepository, reservationsMapper, pageMapper, notificationService, balanceLedgerService, new PaginationConfig(), new CalendarVersionServiceImpl());
     }
 
 
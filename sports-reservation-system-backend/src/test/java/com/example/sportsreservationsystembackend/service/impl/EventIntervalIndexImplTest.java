@@ -0,0 +1,113 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.repository.EventRepository;
+import com.example.sportsreservationsystembackend.service.model.EventIndexReport;
+import com.example.sportsreservationsystembackend.service.model.EventInterval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventIntervalIndexImplTest {
+
+    private static final String CALENDAR_ID = "calendar";
+    private static final LocalDate MONDAY = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventIntervalIndexImpl eventIntervalIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(eventRepository.findIntervalsFrom(any())).thenReturn(List.of(
+                interval("monday", MONDAY, "10:00", "11:00"),
+                interval("wednesday", MONDAY.plusDays(2), "18:00", "19:30")));
+        eventIntervalIndex = new EventIntervalIndexImpl(eventRepository);
+        eventIntervalIndex.rebuild();
+    }
+
+    @Test
+    void findsOverlapOnSameDay() {
+        assertTrue(eventIntervalIndex.findOverlap(CALENDAR_ID, null, MONDAY, time("10:30"), time("12:00")).isPresent());
+        assertFalse(eventIntervalIndex.findOverlap(CALENDAR_ID, null, MONDAY, time("11:00"), time("12:00")).isPresent());
+        assertFalse(eventIntervalIndex.findOverlap(CALENDAR_ID, "monday", MONDAY, time("10:30"), time("12:00")).isPresent());
+        assertFalse(eventIntervalIndex.findOverlap("other", null, MONDAY, time("10:30"), time("12:00")).isPresent());
+    }
+
+    @Test
+    void findsOverlapOfRecurringEvent() {
+        LocalDate until = MONDAY.plusWeeks(4);
+
+        assertEquals("wednesday", eventIntervalIndex.findOverlap(CALENDAR_ID, MONDAY, until, time("19:00"), time("20:00"),
+                EnumSet.of(DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY)).orElseThrow().getEventId());
+        assertFalse(eventIntervalIndex.findOverlap(CALENDAR_ID, MONDAY, until, time("19:00"), time("20:00"),
+                EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.FRIDAY)).isPresent());
+        assertFalse(eventIntervalIndex.findOverlap(CALENDAR_ID, MONDAY.plusDays(3), until, time("19:00"), time("20:00"),
+                EnumSet.of(DayOfWeek.WEDNESDAY)).isPresent());
+    }
+
+    @Test
+    void keepsIndexInSyncWithChanges() {
+        Event event = event("friday", MONDAY.plusDays(4), "08:00", "09:00");
+
+        eventIntervalIndex.add(event);
+        assertTrue(eventIntervalIndex.findOverlap(CALENDAR_ID, null, MONDAY.plusDays(4), time("08:30"), time("09:30")).isPresent());
+
+        eventIntervalIndex.remove(event);
+        assertFalse(eventIntervalIndex.findOverlap(CALENDAR_ID, null, MONDAY.plusDays(4), time("08:30"), time("09:30")).isPresent());
+
+        eventIntervalIndex.removeCalendar(CALENDAR_ID);
+        assertFalse(eventIntervalIndex.findOverlap(CALENDAR_ID, null, MONDAY, time("10:30"), time("12:00")).isPresent());
+    }
+
+    @Test
+    void reportsDifferencesFromDatabase() {
+        when(eventRepository.findIntervalsFrom(any())).thenReturn(List.of(
+                interval("monday", MONDAY, "10:00", "11:30"),
+                interval("thursday", MONDAY.plusDays(3), "18:00", "19:30")));
+
+        EventIndexReport report = eventIntervalIndex.verify();
+
+        assertFalse(report.isConsistent());
+        assertEquals(List.of("thursday"), report.getMissingEventIds());
+        assertEquals(List.of("wednesday"), report.getStaleEventIds());
+        assertEquals(List.of("monday"), report.getMismatchedEventIds());
+
+        eventIntervalIndex.rebuild();
+        assertTrue(eventIntervalIndex.verify().isConsistent());
+    }
+
+    private static EventInterval interval(String eventId, LocalDate date, String startTime, String endTime) {
+        return new EventInterval(eventId, CALENDAR_ID, date, time(startTime), time(endTime));
+    }
+
+    private static Event event(String eventId, LocalDate date, String startTime, String endTime) {
+        Calendar calendar = new Calendar();
+        calendar.setId(CALENDAR_ID);
+        Event event = new Event(calendar, date, time(startTime), time(endTime), 10, 100, "Event", "", null);
+        event.setId(eventId);
+        return event;
+    }
+
+    private static LocalTime time(String time) {
+        return LocalTime.parse(time);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.service.config.MailDispatchConfig;
+import com.example.sportsreservationsystembackend.service.model.OutgoingEmail;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailDispatchServiceImplTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MailDispatchServiceImpl mailDispatchService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        mailDispatchService.stop();
+    }
+
+    @Test
+    void sendsQueuedEmailsInBatches() throws Exception {
+        RecordingMailSender mailSender = new RecordingMailSender(null);
+        mailDispatchService = new MailDispatchServiceImpl(mailSender, config(100, 5), meterRegistry);
+        mailDispatchService.start();
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(mailDispatchService.dispatch(new OutgoingEmail("user" + i + "@test.com", "subject", "<p>body</p>")));
+        }
+
+        awaitSent(50);
+        assertEquals(50, mailSender.batches.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(mailSender.batches.stream().allMatch(size -> size <= 5));
+        assertEquals(0, meterRegistry.get("mail.dispatch.queue.depth").gauge().value());
+        assertEquals(0, meterRegistry.get("mail.dispatch.failed").counter().count());
+        assertEquals(50, meterRegistry.get("mail.dispatch.latency").timer().count());
+    }
+
+    @Test
+    void sendsOnCallingThreadWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingMailSender mailSender = new RecordingMailSender(release);
+        mailDispatchService = new MailDispatchServiceImpl(mailSender, config(2, 1), meterRegistry);
+        mailDispatchService.start();
+
+        assertTrue(mailDispatchService.dispatch(new OutgoingEmail("first@test.com", "subject", "body")));
+        mailSender.sending.await(5, TimeUnit.SECONDS);
+        assertTrue(mailDispatchService.dispatch(new OutgoingEmail("second@test.com", "subject", "body")));
+        assertTrue(mailDispatchService.dispatch(new OutgoingEmail("third@test.com", "subject", "body")));
+        CompletableFuture<Boolean> fourth = CompletableFuture.supplyAsync(
+                () -> mailDispatchService.dispatch(new OutgoingEmail("fourth@test.com", "subject", "body")));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("mail.dispatch.overflow").counter().count() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, meterRegistry.get("mail.dispatch.overflow").counter().count());
+        assertFalse(fourth.isDone());
+
+        release.countDown();
+        assertTrue(fourth.get(5, TimeUnit.SECONDS));
+        awaitSent(4);
+    }
+
+    @Test
+    void countsFailedEmails() throws Exception {
+        RecordingMailSender mailSender = new RecordingMailSender(null);
+        mailSender.failing = true;
+        mailDispatchService = new MailDispatchServiceImpl(mailSender, config(10, 10), meterRegistry);
+        mailDispatchService.start();
+
+        mailDispatchService.dispatch(new OutgoingEmail("user@test.com", "subject", "body"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("mail.dispatch.failed").counter().count() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, meterRegistry.get("mail.dispatch.failed").counter().count());
+        assertEquals(0, meterRegistry.get("mail.dispatch.sent").counter().count());
+    }
+
+    private void awaitSent(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("mail.dispatch.sent").counter().count() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, meterRegistry.get("mail.dispatch.sent").counter().count());
+    }
+
+    private MailDispatchConfig config(int queueCapacity, int batchSize) {
+        MailDispatchConfig config = new MailDispatchConfig();
+        config.setQueueCapacity(queueCapacity);
+        config.setBatchSize(batchSize);
+        config.setWorkers(1);
+        config.setOfferTimeoutMs(10);
+        return config;
+    }
+
+    /**
+     * In-memory stand-in for the SMTP server, records sizes of sent batches
+     */
+    private static class RecordingMailSender implements JavaMailSender {
+
+        private final List<Integer> batches = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private volatile boolean failing;
+
+        RecordingMailSender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public MimeMessage createMimeMessage() {
+            return new MimeMessage(Session.getInstance(new Properties()));
+        }
+
+        @Override
+        public MimeMessage createMimeMessage(InputStream contentStream) {
+            return createMimeMessage();
+        }
+
+        @Override
+        public void send(MimeMessage mimeMessage) {
+            send(new MimeMessage[]{mimeMessage});
+        }
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                throw new MailSendException("SMTP server unavailable");
+            }
+            batches.add(mimeMessages.length);
+        }
+
+        @Override
+        public void send(MimeMessagePreparator mimeMessagePreparator) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessagePreparator... mimeMessagePreparators) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(SimpleMailMessage simpleMessage) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
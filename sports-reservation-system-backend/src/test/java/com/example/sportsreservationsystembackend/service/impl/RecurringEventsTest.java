@@ -0,0 +1,76 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.TestFixtures;
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.repository.EventRepository;
+import com.example.sportsreservationsystembackend.service.EventService;
+import com.xstejsk.reservationapp.main.rest.model.EventDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static com.example.sportsreservationsystembackend.TestFixtures.recurringEventRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Import(TestFixtures.class)
+class RecurringEventsTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void createsTwoYearWorkdaySeries() {
+        Calendar calendar = fixtures.createCalendar();
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate until = from.plusYears(2);
+        List<Integer> workdays = List.of(1, 2, 3, 4, 5);
+        long expected = from.datesUntil(until).filter(day -> day.getDayOfWeek().getValue() <= 5).count();
+
+        List<EventDTO> created = eventService.createEvent(calendar.getId(), recurringEventRequest(from, until, workdays));
+
+        assertEquals(expected, created.size());
+        List<Event> stored = eventRepository.findAllByCalendarIdAndDateBetweenOrderByDateAsc(calendar.getId(), from, until);
+        assertEquals(expected, stored.size());
+        String recurrenceGroupId = stored.get(0).getRecurrenceGroup().getId();
+        for (Event event : stored) {
+            assertTrue(event.getDate().getDayOfWeek().getValue() <= 5);
+            assertEquals(event.getDate().getDayOfWeek().getValue(), event.getDayOfWeek());
+            assertEquals(LocalTime.parse("18:00"), event.getStartTime());
+            assertEquals(8, event.getSpacesAvailable());
+            assertEquals(recurrenceGroupId, event.getRecurrenceGroup().getId());
+        }
+        assertEquals(created.get(0).getId(), stored.get(0).getId());
+    }
+
+    @Test
+    void createsYearLongSeriesForEachWeekday() {
+        Calendar calendar = fixtures.createCalendar();
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate until = from.plusYears(1);
+
+        for (DayOfWeek day : DayOfWeek.values()) {
+            long expected = from.datesUntil(until).filter(date -> date.getDayOfWeek() == day).count();
+            List<EventDTO> created = eventService.createEvent(calendar.getId(), recurringEventRequest(from, until, List.of(day.getValue())));
+            assertEquals(expected, created.size());
+        }
+        assertEquals(from.datesUntil(until).count(),
+                eventRepository.findAllByCalendarIdAndDateBetweenOrderByDateAsc(calendar.getId(), from, until).size());
+    }
+}
@@ -17,10 +17,12 @@ import com.example.sportsreservationsystembackend.repository.ReservationReposito
 import com.example.sportsreservationsystembackend.repository.UserRepository;
 import com.example.sportsreservationsystembackend.rest.mapper.PageMapper;
 import com.example.sportsreservationsystembackend.rest.mapper.ReservationsMapper;
+import com.example.sportsreservationsystembackend.service.BalanceLedgerService;
 import com.example.sportsreservationsystembackend.service.EventService;
 import com.example.sportsreservationsystembackend.service.NotificationService;
 import com.example.sportsreservationsystembackend.service.ReservationService;
 import com.example.sportsreservationsystembackend.service.UserService;
+import com.example.sportsreservationsystembackend.service.config.PaginationConfig;
 import org.junit.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -83,6 +85,9 @@ class ReservationServiceImplTest {
     @Mock
     private NotificationService notificationService;
 
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -92,7 +97,7 @@ class ReservationServiceImplTest {
     @Autowired
     private LocationRepository locationRepository;
 
-    ReservationService reservationService = new ReservationServiceImpl(eventService, userService, reservationRepository, reservationsMapper, pageMapper, notificationService);
+    ReservationService reservationService = new ReservationServiceImpl(eventService, userService, reservationRepository, reservationsMapper, pageMapper, notificationService, balanceLedgerService, new PaginationConfig(), new CalendarVersionServiceImpl());
 
     @Test
     void createReservations() {
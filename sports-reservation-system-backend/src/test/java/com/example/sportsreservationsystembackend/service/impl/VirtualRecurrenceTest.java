@@ -0,0 +1,188 @@
+package com.example.sportsreservationsystembackend.service.impl;
+
+import com.example.sportsreservationsystembackend.TestFixtures;
+import com.example.sportsreservationsystembackend.exceptions.PastEventException;
+import com.example.sportsreservationsystembackend.model.Calendar;
+import com.example.sportsreservationsystembackend.model.Event;
+import com.example.sportsreservationsystembackend.model.RecurrenceGroup;
+import com.example.sportsreservationsystembackend.repository.EventRepository;
+import com.example.sportsreservationsystembackend.repository.RecurrenceGroupRepository;
+import com.example.sportsreservationsystembackend.service.EventService;
+import com.example.sportsreservationsystembackend.service.model.EventSummary;
+import com.xstejsk.reservationapp.main.rest.model.CreateEventRequest;
+import com.xstejsk.reservationapp.main.rest.model.EventDTO;
+import com.xstejsk.reservationapp.main.rest.model.EventsPage;
+import com.xstejsk.reservationapp.main.rest.model.UpdateEventRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static com.example.sportsreservationsystembackend.TestFixtures.recurringEventRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "events.recurrence.virtual-occurrences=true")
+@AutoConfigureTestDatabase
+@Import(TestFixtures.class)
+class VirtualRecurrenceTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RecurrenceGroupRepository recurrenceGroupRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void storesOnlyRuleOfSeries() {
+        Calendar calendar = fixtures.createCalendar();
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate until = from.plusYears(2);
+        long expected = from.datesUntil(until).filter(day -> day.getDayOfWeek().getValue() <= 5).count();
+
+        List<EventDTO> created = eventService.createEvent(calendar.getId(), workdays(from, until));
+
+        assertEquals(expected, created.size());
+        assertTrue(eventRepository.findAllByCalendarIdAndDateBetweenOrderByDateAsc(calendar.getId(), from, until).isEmpty());
+        List<EventSummary> week = eventService.getEventsByCalendarId(calendar.getId(), from, from.plusDays(6));
+        assertEquals(5, week.size());
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY),
+                week.get(0).getDaysOfWeek().stream().sorted().toList());
+        assertEquals(until, week.get(0).getRepeatUntil());
+        assertTrue(eventService.calendarContainsFutureEvents(calendar.getId()));
+    }
+
+    @Test
+    void pagesThroughVirtualOccurrences() {
+        Calendar calendar = fixtures.createCalendar();
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate until = from.plusWeeks(4);
+        long expected = from.datesUntil(until).filter(day -> day.getDayOfWeek().getValue() <= 5).count();
+        eventService.createEvent(calendar.getId(), workdays(from, until));
+
+        EventsPage first = eventService.getAll(from, calendar.getId(), 0, 7, null);
+        EventsPage second = eventService.getAll(from, calendar.getId(), null, 7, first.getContinuationToken());
+
+        assertEquals(expected, first.getTotalElements());
+        assertEquals(7, first.getContent().size());
+        assertEquals(7, second.getContent().size());
+        assertTrue(LocalDate.parse(first.getContent().get(6).getDate()).isBefore(LocalDate.parse(second.getContent().get(0).getDate())));
+    }
+
+    @Test
+    void materializesAndExcludesOccurrences() {
+        Calendar calendar = fixtures.createCalendar();
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate until = from.plusWeeks(2);
+        List<EventDTO> created = eventService.createEvent(calendar.getId(), workdays(from, until));
+        String materializedId = created.get(0).getId();
+        String deletedId = created.get(1).getId();
+
+        Event event = eventService.getEventById(calendar.getId(), materializedId);
+        Event again = eventService.getEventById(calendar.getId(), materializedId);
+        eventService.deleteEvent(deletedId);
+
+        assertNotEquals(materializedId, event.getId());
+        assertEquals(event.getId(), again.getId());
+        assertEquals(1, eventRepository.findAllByCalendarIdAndDateBetweenOrderByDateAsc(calendar.getId(), from, until).size());
+        List<EventSummary> events = eventService.getEventsByCalendarId(calendar.getId(), from, until);
+        assertEquals(created.size() - 1, events.size());
+        assertTrue(events.stream().anyMatch(summary -> summary.getId().equals(event.getId())));
+        assertFalse(events.stream().anyMatch(summary -> summary.getId().equals(materializedId)));
+        assertFalse(events.stream().anyMatch(summary -> summary.getId().equals(deletedId)));
+    }
+
+    @Test
+    void countsAndListsOccurrencesOfOpenWindow() {
+        Calendar calendar = fixtures.createCalendar();
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate until = from.plusWeeks(3).plusDays(2);
+        List<EventDTO> created = eventService.createEvent(calendar.getId(), workdays(from, until));
+        eventService.getEventById(calendar.getId(), created.get(0).getId());
+        eventService.deleteEvent(created.get(1).getId());
+
+        List<EventSummary> events = eventService.getEventsByCalendarId(calendar.getId(), null, null);
+        EventsPage page = eventService.getAll(null, calendar.getId(), 0, 5, null);
+
+        assertEquals(created.size() - 1, events.size());
+        assertEquals(created.size() - 1, page.getTotalElements());
+    }
+
+    @Test
+    void findsFutureOccurrencesAfterOccurrencesEarlierToday() {
+        Calendar calendar = fixtures.createCalendar();
+        dailySeries(calendar);
+        dailySeries(calendar);
+
+        assertTrue(eventService.calendarContainsFutureEvents(calendar.getId()));
+    }
+
+    @Test
+    void updatesSeriesWithoutStoringOccurrence() {
+        Calendar calendar = fixtures.createCalendar();
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate until = from.plusWeeks(1);
+        List<EventDTO> created = eventService.createEvent(calendar.getId(), workdays(from, until));
+        UpdateEventRequest request = new UpdateEventRequest();
+        request.setTitle("Squash");
+        request.setDescription("");
+        request.setUpdateSeries(true);
+
+        eventService.updateEvent(created.get(0).getId(), request);
+
+        assertTrue(eventRepository.findAllByCalendarIdAndDateBetweenOrderByDateAsc(calendar.getId(), from, until).isEmpty());
+        assertTrue(eventService.getEventsByCalendarId(calendar.getId(), from, until).stream()
+                .allMatch(event -> "Squash".equals(event.getTitle())));
+    }
+
+    @Test
+    void rejectsDeletingPastOccurrence() {
+        RecurrenceGroup group = dailySeries(fixtures.createCalendar());
+
+        assertThrows(PastEventException.class, () -> eventService.deleteEvent(group.getId() + "_" + LocalDate.now()));
+    }
+
+    @Test
+    void rejectsDeepOffsetPageOfVirtualOccurrences() {
+        Calendar calendar = fixtures.createCalendar();
+        LocalDate from = LocalDate.now().plusDays(1);
+        eventService.createEvent(calendar.getId(), workdays(from, from.plusWeeks(1)));
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.getAll(from, calendar.getId(), 10_001, 1, null));
+    }
+
+    private RecurrenceGroup dailySeries(Calendar calendar) {
+        // the first occurrence started at midnight, so it is already over
+        RecurrenceGroup group = new RecurrenceGroup();
+        group.setVirtualOccurrences(true);
+        group.setCalendar(calendar);
+        group.setDaysOfWeek(List.of(DayOfWeek.values()));
+        group.setStartDate(LocalDate.now());
+        group.setRepeatUntil(LocalDate.now().plusWeeks(1));
+        group.setStartTime(LocalTime.MIDNIGHT);
+        group.setEndTime(LocalTime.MIDNIGHT.plusMinutes(1));
+        group.setMaximumCapacity(8);
+        group.setPrice(200);
+        group.setTitle("Tennis");
+        return recurrenceGroupRepository.save(group);
+    }
+
+    private static CreateEventRequest workdays(LocalDate from, LocalDate until) {
+        return recurringEventRequest(from, until, List.of(1, 2, 3, 4, 5));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContinuationTokenTest {
+
+    @Test
+    void decodesEncodedValues() {
+        String token = ContinuationToken.encode(ContinuationToken.EVENTS, LocalDate.of(2023, 9, 1), LocalTime.of(10, 30), "event-id");
+
+        ContinuationToken decoded = ContinuationToken.decode(ContinuationToken.EVENTS, token, 3);
+
+        assertEquals(LocalDate.of(2023, 9, 1), decoded.getDate(0));
+        assertEquals(LocalTime.of(10, 30), decoded.getTime(1));
+        assertEquals("event-id", decoded.getString(2));
+    }
+
+    @Test
+    void rejectsTokenOfAnotherListing() {
+        String token = ContinuationToken.encode(ContinuationToken.USERS, "Radim", "user-id");
+
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode(ContinuationToken.EVENTS, token, 3));
+    }
+
+    @Test
+    void rejectsNullSortKey() {
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.encode(ContinuationToken.USERS, null, "user-id"));
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        String token = ContinuationToken.encode(ContinuationToken.USERS, "Radim", "user-id");
+
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode(ContinuationToken.USERS, "not a token", 2));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode(ContinuationToken.USERS, "", 2));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode(ContinuationToken.USERS, token, 3));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode(ContinuationToken.USERS, token.substring(0, token.length() - 3), 2));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import io.micrometer.core.instrument.util.IOUtils;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class EmailTemplateTest {
+
+    private final EmailFormatter emailFormatter = new EmailFormatter.Builder()
+            .recipientName("Radime")
+            .link("http://localhost/confirm?token=abc")
+            .linkExpiration("30")
+            .password("secret")
+            .eventName("Tenis")
+            .eventDate("2024-05-14")
+            .eventTime("18:00")
+            .locationName("Tenisová hala")
+            .build();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "templates/RegistrationEmailTemplate.html",
+            "templates/ReservationConfirmationTemplate.html",
+            "templates/ReservationDeletionTemplate.html",
+            "templates/ResetPasswordTemplate.html"
+    })
+    void precompiledTemplateRendersSameBody(String path) {
+        String body = IOUtils.toString(getClass().getClassLoader().getResourceAsStream(path), StandardCharsets.UTF_8);
+
+        String rendered = emailFormatter.formatEmail(EmailTemplate.compile(body));
+
+        assertEquals(emailFormatter.formatEmail(body), rendered);
+        assertFalse(rendered.contains("{recipient}"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "no placeholders {at all}", "{link}", "{link}{link}", "{{recipient}}", "{eventName"})
+    void handlesEdgeCases(String body) {
+        assertEquals(emailFormatter.formatEmail(body), emailFormatter.formatEmail(EmailTemplate.compile(body)));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.sportsreservationsystembackend.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class NotificationsUtilTest {
+
+    private static final String ALPHABET = "aábcčdďeéěfghiíjklmnňoópqrřsštťuúůvwxyýzž";
+    // letters the rules compare at the fourth and fifth position from the end, 'q' stands for any other letter,
+    // ' ' at the fifth position produces four letter names
+    private static final String FOURTH_LAST = "aámoršeufilgztsnq";
+    private static final String FIFTH_LAST = " ymupjveoq";
+
+    private final VocativeSuffixTrie vocativeRules = new VocativeSuffixTrie();
+    private final List<String> mismatches = new ArrayList<>();
+
+    @ParameterizedTest
+    @CsvSource({
+            "Radim, Radime",
+            "Petr, Petře",
+            "PETR, PETŘE",
+            "Tomáš, Tomáši",
+            "Jiří, Jiří",
+            "Ondřej, Ondřeji",
+            "Zdeněk, Zdeňku",
+            "Marek, Marku",
+            "Pavel, Pavle",
+            "Karel, Karle",
+            "Kateřina, Kateřino",
+            "Marie, Marie",
+            "Lucie, Lucie",
+            "Jan, Jane",
+            "Eva, Evo"
+    })
+    void returnsVocativeOfCommonNames(String name, String expected) {
+        assertEquals(expected, NotificationsUtil.vocative(name));
+    }
+
+    @Test
+    void matchesReferenceForAllSuffixes() {
+        for (char fifth : FIFTH_LAST.toCharArray()) {
+            for (char fourth : FOURTH_LAST.toCharArray()) {
+                String prefix = fifth == ' ' ? String.valueOf(fourth) : "" + fifth + fourth;
+                for (char third : ALPHABET.toCharArray()) {
+                    for (char second : ALPHABET.toCharArray()) {
+                        for (char last : ALPHABET.toCharArray()) {
+                            compare(prefix + third + second + last);
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void matchesReferenceForUpperCaseLetters() {
+        for (String prefix : List.of("Ma", "MA", "ma", "mA")) {
+            for (char third : ALPHABET.toCharArray()) {
+                for (char second : ALPHABET.toCharArray()) {
+                    for (char last : ALPHABET.toCharArray()) {
+                        char[] suffix = {third, second, last};
+                        for (int mask = 0; mask < 8; mask++) {
+                            StringBuilder name = new StringBuilder(prefix);
+                            for (int i = 0; i < suffix.length; i++) {
+                                name.append((mask & (1 << i)) != 0 ? Character.toUpperCase(suffix[i]) : suffix[i]);
+                            }
+                            compare(name.toString());
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void matchesReferenceForSeventhLastLetter() {
+        for (char seventh : ALPHABET.toCharArray()) {
+            for (char fifth : ALPHABET.toCharArray()) {
+                for (char fourth : ALPHABET.toCharArray()) {
+                    compare("" + seventh + "x" + fifth + fourth + "nne");
+                }
+            }
+        }
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void handlesShortNames() {
+        assertEquals("Jane", NotificationsUtil.vocative("Jan"));
+        assertEquals("Anno", NotificationsUtil.vocative("Anne"));
+        assertEquals("Jo", NotificationsUtil.vocative("Jo"));
+        assertEquals("", NotificationsUtil.vocative(""));
+        for (char first : ALPHABET.toCharArray()) {
+            for (char last : ALPHABET.toCharArray()) {
+                assertDoesNotThrow(() -> NotificationsUtil.vocative("" + first + last));
+            }
+            assertDoesNotThrow(() -> NotificationsUtil.vocative(String.valueOf(first)));
+        }
+    }
+
+    @Test
+    void servesRepeatedNamesFromCache() {
+        String vocative = NotificationsUtil.vocative("Bohuslav");
+
+        assertEquals(VocativeReference.vocative("Bohuslav"), vocative);
+        assertSame(vocative, NotificationsUtil.vocative("Bohuslav"));
+    }
+
+    private void compare(String name) {
+        String expected;
+        try {
+            expected = VocativeReference.vocative(name);
+        } catch (StringIndexOutOfBoundsException e) {
+            // reference implementation can not handle names shorter than the inspected suffix
+            return;
+        }
+        String actual = vocativeRules.vocative(name);
+        if (!expected.equals(actual) && mismatches.size() < 20) {
+            mismatches.add(name + ": expected " + expected + " but was " + actual);
+        }
+    }
+}